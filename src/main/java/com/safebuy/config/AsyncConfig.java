@@ -0,0 +1,82 @@
+package com.safebuy.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+// 요청 스레드(Tomcat worker) 밖에서 실행할 작업용 executor 설정
+@Configuration
+public class AsyncConfig {
+
+    // 리콜 데이터 수집 작업 전용 (동시에 하나만 실행)
+    // 종료 시 대기하지 않음: 중단된 작업은 저널에 RUNNING으로 남아 다음 실행에서 재개됨
+    @Bean(name = "ingestionExecutor")
+    public ThreadPoolTaskExecutor ingestionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("recall-ingest-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    // 수집이 끝난 뒤 대체 상품 미리 조회 전용 (동시에 하나만 실행, 1건까지 대기)
+    // 수집 스레드와 나눠서 미리 조회 중에도 새 수집 작업을 바로 시작할 수 있게 함
+    // 대기 중인 미리 조회가 이미 있으면 거절 (대기 중인 쪽이 실행될 때 최신 리콜을 다시 조회하므로)
+    @Bean(name = "prewarmExecutor")
+    public ThreadPoolTaskExecutor prewarmExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("alt-prewarm-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    // 대체 상품 키워드별 네이버 검색 병렬 호출용 (요청 경로에서 사용)
+    // 큐가 가득 차면 거절 → 그 lane의 키워드는 마감 시간을 넘긴 것과 같게 결과 없이 처리
+    // (요청 스레드에서 직접 실행하면 lane이 끝날 때까지 마감 시간과 관계없이 요청이 묶임)
+    @Bean(name = "alternativesExecutor")
+    public ThreadPoolTaskExecutor alternativesExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(16);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("alt-search-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // 점진적 검색(/recalls/search/stream)에서 리콜 응답을 먼저 보낸 뒤 대체 상품을 찾는 작업용
+    // 키워드 병렬 검색(alternativesExecutor)과 풀을 나눠서 서로의 스레드를 기다리며 막히지 않도록 함
+    @Bean(name = "progressiveSearchExecutor")
+    public ThreadPoolTaskExecutor progressiveSearchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("search-progressive-");
+        executor.initialize();
+        return executor;
+    }
+
+    // hedged request(첫 호출 + 중복 호출) 실행용 (요청 스레드는 먼저 끝난 결과만 기다림)
+    // 큐 없이 스레드가 모두 사용 중이면 거절 → Hedger가 중복 호출 없이 요청 스레드에서 직접 실행
+    @Bean(name = "hedgeExecutor")
+    public ThreadPoolTaskExecutor hedgeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(64);
+        executor.setMaxPoolSize(64);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("hedged-call-");
+        executor.initialize();
+        return executor;
+    }
+}
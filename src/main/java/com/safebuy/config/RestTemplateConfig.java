@@ -1,20 +1,180 @@
 package com.safebuy.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safebuy.monitoring.SearchMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactoryBuilder;
+import org.apache.hc.client5.http.ssl.TrustAllStrategy;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.ssl.SSLContexts;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 외부 호출용 HTTP 클라이언트 설정
+// - 모든 RestTemplate은 Apache HttpClient 5 연결 풀을 사용 (keep-alive 재사용 → 호출마다 TCP/TLS 핸드셰이크 반복 없음)
+// - 호스트(route)별 연결 수 상한: OpenAI/네이버가 서로의 연결을 다 쓰지 않도록 나눔
+// - 풀 상태(전체/호스트별 leased·pending·available)는 Micrometer로 노출
+// - RestTemplateBuilder로 만들어서 http.client.requests 메트릭(호스트/상태별 지연 시간)도 함께 기록됨
+// - RestTemplate(classic) 경로는 HTTP/1.1만 지원하므로 HTTP/2 대신 연결 재사용으로 핸드셰이크를 줄임
 @Configuration
+@Slf4j
 public class RestTemplateConfig {
 
+    // 연결 수립 대기 상한
+    @Value("${safebuy.http.connect-timeout-ms:3000}")
+    private int connectTimeoutMs;
+
+    // 응답 대기 상한: 이미지 분석(gpt-4o vision)이 가장 느린 호출이므로 그 기준
+    @Value("${safebuy.http.read-timeout-ms:30000}")
+    private int readTimeoutMs;
+
+    // 풀에서 연결을 빌려오기까지 기다리는 상한 (풀이 가득 찬 경우)
+    @Value("${safebuy.http.pool.acquire-timeout-ms:2000}")
+    private int acquireTimeoutMs;
+
+    @Value("${safebuy.http.pool.max-total:200}")
+    private int maxTotal;
+
+    // 아래 호스트 외의 기본 호스트별 상한
+    @Value("${safebuy.http.pool.max-per-route:20}")
+    private int maxPerRoute;
+
+    // OpenAI 호스트 상한 (OpenAI bulkhead 동시 호출 수 합계보다 크게)
+    @Value("${safebuy.http.pool.openai-max-per-route:64}")
+    private int openaiMaxPerRoute;
+
+    // 네이버 쇼핑 호스트 상한 (alternativesExecutor 스레드 수보다 크게)
+    @Value("${safebuy.http.pool.naver-max-per-route:32}")
+    private int naverMaxPerRoute;
+
+    // 서버가 Keep-Alive 헤더를 주지 않을 때 유휴 연결을 재사용할 시간
+    @Value("${safebuy.http.pool.keep-alive-seconds:60}")
+    private int keepAliveSeconds;
+
+    // 연결 최대 수명 (DNS 변경/로드밸런서 재분배 반영)
+    @Value("${safebuy.http.pool.time-to-live-seconds:300}")
+    private int timeToLiveSeconds;
+
+    @Value("${spring.ai.openai.base-url:https://api.openai.com}")
+    private String openaiBaseUrl;
+
+    @Value("${shop.base-url:https://openapi.naver.com}")
+    private String naverBaseUrl;
+
+    // 공공데이터(리콜) API: 응답이 크고 느리므로 타임아웃을 따로 둠
+    @Value("${safebuy.http.recall.connect-timeout-ms:30000}")
+    private int recallConnectTimeoutMs;
+
+    @Value("${safebuy.http.recall.read-timeout-ms:60000}")
+    private int recallReadTimeoutMs;
+
+    // OpenAI/네이버 등 검색 경로의 외부 호출
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    @Primary
+    public RestTemplate restTemplate(RestTemplateBuilder builder, SearchMetrics searchMetrics) {
+        PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setConnPoolPolicy(PoolReusePolicy.LIFO) // 최근에 쓴 연결부터 재사용 → 유휴 연결이 자연스럽게 만료됨
+                .setDefaultSocketConfig(socketConfig())
+                .setDefaultConnectionConfig(connectionConfig(connectTimeoutMs, readTimeoutMs))
+                .build();
+
+        Map<String, HttpRoute> routes = new LinkedHashMap<>();
+        routes.put("openai", routeOf(openaiBaseUrl));
+        routes.put("naver", routeOf(naverBaseUrl));
+        pool.setMaxPerRoute(routes.get("openai"), openaiMaxPerRoute);
+        pool.setMaxPerRoute(routes.get("naver"), naverMaxPerRoute);
+        searchMetrics.registerHttpPool("default", pool, routes);
+
+        log.info("[HttpClient] 연결 풀 - 전체 {}, 호스트별 기본 {}, openai({}) {}, naver({}) {}",
+                maxTotal, maxPerRoute, routes.get("openai").getTargetHost(), openaiMaxPerRoute,
+                routes.get("naver").getTargetHost(), naverMaxPerRoute);
+        return builder.requestFactory(() -> requestFactory(pool)).build();
+    }
+
+    // 리콜 공공데이터 API 전용 (consumer.go.kr 인증서 체인 문제로 인증서/호스트명 검증을 하지 않는 별도 풀)
+    // 검증 우회는 이 클라이언트에만 적용 (JVM 전역 HttpsURLConnection 기본값은 건드리지 않음)
+    @Bean(name = "recallRestTemplate")
+    public RestTemplate recallRestTemplate(RestTemplateBuilder builder, SearchMetrics searchMetrics)
+            throws GeneralSecurityException {
+        PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(4)
+                .setMaxConnPerRoute(4)
+                .setSSLSocketFactory(SSLConnectionSocketFactoryBuilder.create()
+                        .setSslContext(SSLContexts.custom().loadTrustMaterial(TrustAllStrategy.INSTANCE).build())
+                        .setHostnameVerifier(NoopHostnameVerifier.INSTANCE)
+                        .build())
+                .setDefaultSocketConfig(socketConfig())
+                .setDefaultConnectionConfig(connectionConfig(recallConnectTimeoutMs, recallReadTimeoutMs))
+                .build();
+        searchMetrics.registerHttpPool("recall", pool, Map.of());
+        return builder.requestFactory(() -> requestFactory(pool)).build();
     }
 
     @Bean
     public ObjectMapper objectMapper() {
         return new ObjectMapper();
     }
+
+    // 내부 메서드
+
+    private HttpComponentsClientHttpRequestFactory requestFactory(PoolingHttpClientConnectionManager pool) {
+        CloseableHttpClient client = HttpClients.custom()
+                .setConnectionManager(pool)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(acquireTimeoutMs))
+                        .setConnectionKeepAlive(TimeValue.ofSeconds(keepAliveSeconds))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(keepAliveSeconds))
+                .build();
+        return new HttpComponentsClientHttpRequestFactory(client);
+    }
+
+    private SocketConfig socketConfig() {
+        return SocketConfig.custom()
+                .setSoKeepAlive(true)
+                .setTcpNoDelay(true)
+                .build();
+    }
+
+    private ConnectionConfig connectionConfig(int connectMs, int readMs) {
+        return ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectMs))
+                .setSocketTimeout(Timeout.ofMilliseconds(readMs))
+                .setTimeToLive(TimeValue.ofSeconds(timeToLiveSeconds))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2)) // 2초 이상 쉰 연결은 빌려주기 전에 끊김 여부 확인
+                .build();
+    }
+
+    // 기본 URL → 풀의 route 키 (포트가 없으면 스킴 기본 포트, https는 secure route)
+    private HttpRoute routeOf(String baseUrl) {
+        URI uri = URI.create(baseUrl);
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() > 0 ? uri.getPort() : (secure ? 443 : 80);
+        return new HttpRoute(new HttpHost(uri.getScheme(), uri.getHost(), port), null, secure);
+    }
 }
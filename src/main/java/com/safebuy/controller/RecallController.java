@@ -1,8 +1,10 @@
 package com.safebuy.controller;
 
+import com.safebuy.dto.IngestionJobStatusResponse;
 import com.safebuy.dto.ProductSearchRequest;
 import com.safebuy.dto.ProductSearchResponse;
 import com.safebuy.service.ProductSearchService;
+import com.safebuy.service.RecallIngestionJobService;
 import com.safebuy.service.RecallService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +13,10 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.net.URI;
 
 /* 상태 코드 정책 */
 // 200 OK: 리콜 DB에서 매칭된 제품이 존재 (riskScore >= 1, riskLevel != "없음")
@@ -24,118 +30,111 @@ import org.springframework.web.multipart.MultipartFile;
 @Slf4j
 public class RecallController {
 
-    private final RecallService recallService;
     private final ProductSearchService productSearchService;
+    private final RecallIngestionJobService ingestionJobService;
+    private final RecallService recallService;
 
+    // 점진적 검색 연결 유지 시간 (대체 상품 조회가 이보다 길어지면 연결 종료)
+    private static final long SEARCH_STREAM_TIMEOUT_MS = 30_000L;
+
+    // 수집 작업 요청: 작업을 백그라운드에 등록하고 작업 ID를 바로 반환 (진행 상황은 /recalls/jobs/{jobId})
+    // 기본은 증분 동기화, full=true 로 호출하면 전체 재동기화
+    // 이미 실행 중인 작업이 있으면 새로 만들지 않고 그 작업 정보를 반환
     @PostMapping("/updateAll")
-    public ResponseEntity<String> updateAll() {
+    public ResponseEntity<IngestionJobStatusResponse> updateAll(
+            @RequestParam(value = "full", defaultValue = "false") boolean full) {
         try {
-            log.info("해외리콜 전체 데이터 업데이트 요청 받음");
-            recallService.updateAllData();
-            return ResponseEntity.ok("해외 리콜 전체 데이터 업데이트 완료!");
+            RecallService.SyncMode mode = full ? RecallService.SyncMode.FULL : RecallService.SyncMode.INCREMENTAL;
+            log.info("해외리콜 데이터 업데이트 요청 받음 (mode={})", mode);
+
+            return accepted(ingestionJobService.submit(mode));
+        } catch (RecallService.ResumableJobConflictException e) {
+            return conflict(e);
         } catch (Exception e) {
-            log.error("해외리콜 데이터 업데이트 실패", e);
+            log.error("해외리콜 데이터 업데이트 요청 실패", e);
             return ResponseEntity.internalServerError()
-                    .body("업데이트 실패: " + e.getMessage());
+                    .body(IngestionJobStatusResponse.builder()
+                            .message("업데이트 요청 실패: " + e.getMessage())
+                            .build());
         }
     }
 
-    @GetMapping("/status")
-    public ResponseEntity<String> getStatus() {
-        return ResponseEntity.ok("해외리콜 API 서비스가 정상적으로 실행 중입니다.");
-    }
-
-    @GetMapping("/test")
-    public ResponseEntity<String> testApi() {
+    // dump import 요청: 로컬 dump 파일(.xml / .xml.gz)을 외부 API 호출 없이 같은 저장 경로로 적재
+    // path는 dump 디렉터리(recall.dump.dir) 기준 상대 경로 (디렉터리 또는 파일, 쉼표로 여러 개 지정 가능)
+    // dump 파일은 recall.dump.capture-enabled=true 상태의 실시간 동기화로 만들 수 있음
+    @PostMapping("/import")
+    public ResponseEntity<IngestionJobStatusResponse> importDump(
+            @RequestParam(value = "path", required = false) String path) {
         try {
-            // SSL 우회 설정
-            disableSSLVerification();
-
-            // 간단한 테스트 API 호출
-            String testUrl = "https://www.consumer.go.kr/openapi/recall/contents/index.do?serviceKey=S54NVI2HQL&pageNo=1&cntPerPage=1&cntntsId=0501";
-
-            java.net.URL url = new java.net.URL(testUrl);
-            java.net.HttpURLConnection connection = (java.net.HttpURLConnection) url.openConnection();
-
-            // 브라우저와 동일한 헤더 설정
-            connection.setRequestMethod("GET");
-            connection.setRequestProperty("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8,application/json");
-            connection.setRequestProperty("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
-            connection.setRequestProperty("Accept-Language", "ko-KR,ko;q=0.9,en;q=0.8");
-            connection.setRequestProperty("Accept-Encoding", "gzip, deflate, br");
-            connection.setRequestProperty("Connection", "keep-alive");
-            connection.setRequestProperty("Upgrade-Insecure-Requests", "1");
-            connection.setConnectTimeout(30000);
-            connection.setReadTimeout(60000);
-
-            int responseCode = connection.getResponseCode();
-            String response = "응답 코드: " + responseCode;
-
-            if (responseCode == 200) {
-                java.io.InputStream inputStream = connection.getInputStream();
-                String content = new String(inputStream.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
-                inputStream.close();
-                response += "\n응답 길이: " + content.length();
-                response += "\n응답 내용 (처음 200자): " + content.substring(0, Math.min(200, content.length()));
-            } else {
-                response += "\n오류 메시지: " + connection.getResponseMessage();
-                try {
-                    java.io.InputStream errorStream = connection.getErrorStream();
-                    if (errorStream != null) {
-                        String errorContent = new String(errorStream.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
-                        response += "\n오류 내용: " + errorContent;
-                    }
-                } catch (Exception e) {
-                    response += "\n오류 스트림 읽기 실패: " + e.getMessage();
-                }
-            }
-
-            connection.disconnect();
-            return ResponseEntity.ok(response);
+            log.info("리콜 dump import 요청 받음 (path={})", path);
+            return accepted(ingestionJobService.submitImport(path));
+        } catch (RecallService.ResumableJobConflictException e) {
+            return conflict(e);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(IngestionJobStatusResponse.builder()
+                            .message(e.getMessage())
+                            .build());
         } catch (Exception e) {
-            return ResponseEntity.ok("테스트 실패: " + e.getMessage());
+            log.error("리콜 dump import 요청 실패", e);
+            return ResponseEntity.internalServerError()
+                    .body(IngestionJobStatusResponse.builder()
+                            .message("import 요청 실패: " + e.getMessage())
+                            .build());
         }
     }
 
-    //SSL 인증서 검증을 우회하는 설정
-    private void disableSSLVerification() {
-        try {
-            // 모든 인증서를 신뢰하는 TrustManager 생성
-            javax.net.ssl.TrustManager[] trustAllCerts = new javax.net.ssl.TrustManager[]{
-                    new javax.net.ssl.X509TrustManager() {
-                        public java.security.cert.X509Certificate[] getAcceptedIssuers() {
-                            return new java.security.cert.X509Certificate[0];
-                        }
-
-                        public void checkClientTrusted(java.security.cert.X509Certificate[] certs, String authType) {
-                            // 모든 클라이언트 인증서 신뢰
-                        }
-
-                        public void checkServerTrusted(java.security.cert.X509Certificate[] certs, String authType) {
-                            // 모든 서버 인증서 신뢰
-                        }
-                    }
-            };
+    // 작업 등록 결과를 202 + 진행 상황 URL로 응답
+    private ResponseEntity<IngestionJobStatusResponse> accepted(RecallIngestionJobService.SubmitResult result) {
+        IngestionJobStatusResponse status = ingestionJobService.getStatus(result.jobId())
+                .orElseGet(() -> IngestionJobStatusResponse.builder().jobId(result.jobId()).build());
+        status.setMessage(result.merged()
+                ? "이미 실행 중인 수집 작업(mode=" + status.getSyncMode() + ")이 있어 해당 작업으로 합류했습니다."
+                : "수집 작업이 등록되었습니다. (mode=" + status.getSyncMode() + ")");
 
-            // SSL 컨텍스트 초기화 (TLS 사용)
-            javax.net.ssl.SSLContext sc = javax.net.ssl.SSLContext.getInstance("TLS");
-            sc.init(null, trustAllCerts, new java.security.SecureRandom());
-            javax.net.ssl.HttpsURLConnection.setDefaultSSLSocketFactory(sc.getSocketFactory());
+        return ResponseEntity.accepted()
+                .location(URI.create("/recalls/jobs/" + result.jobId()))
+                .body(status);
+    }
 
-            // 호스트명 검증 비활성화
-            javax.net.ssl.HttpsURLConnection.setDefaultHostnameVerifier(new javax.net.ssl.HostnameVerifier() {
-                public boolean verify(String hostname, javax.net.ssl.SSLSession session) {
-                    return true;
-                }
-            });
+    // 다른 모드의 재개 대상 작업이 남아 있음 → 409 + 그 작업의 진행 상황 (요청한 작업은 만들지 않음)
+    private ResponseEntity<IngestionJobStatusResponse> conflict(RecallService.ResumableJobConflictException e) {
+        Long jobId = e.getJob().getId();
+        IngestionJobStatusResponse status = ingestionJobService.getStatus(jobId)
+                .orElseGet(() -> IngestionJobStatusResponse.builder().jobId(jobId).build());
+        status.setMessage(e.getMessage());
 
-            // 시스템 속성 설정으로 추가 보안 검증 우회
-            System.setProperty("com.sun.net.ssl.checkRevocation", "false");
-            System.setProperty("sun.security.ssl.allowUnsafeRenegotiation", "true");
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .location(URI.create("/recalls/jobs/" + jobId))
+                .body(status);
+    }
 
-        } catch (Exception e) {
-            // 로그 없이 조용히 처리
-        }
+    // 가장 최근 수집 작업의 진행 상황 (완료/실패/남은 페이지, 처리 속도, ETA)
+    @GetMapping("/jobs/latest")
+    public ResponseEntity<IngestionJobStatusResponse> getLatestJob() {
+        return ingestionJobService.getLatestStatus()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // 특정 수집 작업의 진행 상황
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<IngestionJobStatusResponse> getJob(@PathVariable Long jobId) {
+        return ingestionJobService.getStatus(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<String> getStatus() {
+        return ResponseEntity.ok("해외리콜 API 서비스가 정상적으로 실행 중입니다.");
+    }
+
+    @GetMapping("/test")
+    public ResponseEntity<String> testApi() {
+        // 간단한 테스트 API 호출 (수집과 같은 연결 풀/헤더 사용)
+        String testUrl = "https://www.consumer.go.kr/openapi/recall/contents/index.do?serviceKey=S54NVI2HQL&pageNo=1&cntPerPage=1&cntntsId=0501";
+        return ResponseEntity.ok(recallService.probe(testUrl));
     }
 
     // 제품 검색 엔드포인트
@@ -218,4 +217,63 @@ public class RecallController {
                             .build());
         }
     }
+
+    // 점진적 제품 검색 엔드포인트 (Server-Sent Events)
+    // - 파라미터는 /search와 동일
+    // - 이벤트 순서: recall(리콜 매칭/위험도, 매칭 시 alternativesPending=true) → alternatives(대체 상품 리스트)
+    //   매칭 실패/입력 오류면 recall 이벤트 하나로 끝남, 대체 상품 조회 실패 시 alternatives 대신 error 이벤트
+    // - recall 이벤트는 DB 단계가 끝나는 즉시 전송되므로 첫 응답 시간에 네이버 호출 시간이 포함되지 않음
+    @PostMapping(
+            value = "/search/stream",
+            consumes = {MediaType.MULTIPART_FORM_DATA_VALUE},
+            produces = {MediaType.TEXT_EVENT_STREAM_VALUE}
+    )
+    public SseEmitter searchProductStream(
+            @RequestParam(value = "productName", required = false) String productName,
+            @RequestParam(value = "manufacturer", required = false) String manufacturer,
+            @RequestParam(value = "modelName", required = false) String modelName,
+            @RequestParam(value = "image", required = false) MultipartFile image) {
+
+        SseEmitter emitter = new SseEmitter(SEARCH_STREAM_TIMEOUT_MS);
+        log.info("점진적 제품 검색 요청 수신 - 제품명: {}, 제조사: {}, 모델명: {}, 이미지: {}",
+                productName, manufacturer, modelName, image != null ? "있음" : "없음");
+
+        try {
+            ProductSearchRequest request = new ProductSearchRequest();
+            request.setProductName(productName);
+            request.setManufacturer(manufacturer);
+            request.setModelName(modelName);
+            request.setImage(image);
+
+            // 리콜 매칭/위험도까지는 요청 스레드에서 처리 (업로드 이미지는 요청이 끝나기 전에 읽어야 함)
+            ProductSearchService.ProgressiveSearch result = productSearchService.searchProgressive(request);
+            // 핸들러가 반환되기 전에 보낸 이벤트는 반환 직후 바로 전송됨
+            emitter.send(SseEmitter.event().name("recall").data(result.recall(), MediaType.APPLICATION_JSON));
+
+            if (result.alternatives() == null) {
+                emitter.complete();
+                return emitter;
+            }
+
+            result.alternatives().whenComplete((alternatives, error) -> {
+                try {
+                    if (error != null) {
+                        log.error("점진적 검색 - 대체 상품 조회 실패", error);
+                        emitter.send(SseEmitter.event().name("error").data("대체 상품 조회에 실패했습니다."));
+                    } else {
+                        emitter.send(SseEmitter.event().name("alternatives").data(alternatives, MediaType.APPLICATION_JSON));
+                    }
+                    emitter.complete();
+                } catch (IOException | IllegalStateException e) {
+                    // 클라이언트가 먼저 연결을 끊었거나 타임아웃으로 이미 종료된 경우
+                    log.debug("점진적 검색 - 이벤트 전송 실패: {}", e.getMessage());
+                    emitter.completeWithError(e);
+                }
+            });
+        } catch (Exception e) {
+            log.error("점진적 제품 검색 중 서버 오류 발생", e);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
 }
@@ -0,0 +1,38 @@
+package com.safebuy.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 리콜 데이터 수집 작업 진행 상황 응답
+@Data
+@Builder
+public class IngestionJobStatusResponse {
+    private Long jobId;                 // 작업 ID
+    private String syncMode;            // 동기화 방식 (FULL / INCREMENTAL / IMPORT)
+    private String sourcePath;          // IMPORT 작업의 dump 경로
+    private String status;              // 작업 상태 (RUNNING / PARTIAL / COMPLETED / FAILED)
+    private int allCnt;                 // 작업 생성 시점 전체 건수
+    private int totalPages;             // 작업 생성 시점 전체 페이지 수
+    private int plannedPages;           // 처리 대상 페이지 수
+    private long pagesCompleted;        // 완료 페이지 수
+    private long pagesFailed;           // 실패 페이지 수 (다음 실행에서 재시도)
+    private long pagesPending;          // 남은 페이지 수
+    private long pagesSkipped;          // 증분 조기 종료로 건너뛴 페이지 수
+    private long rowsSaved;             // 저장한 행 수 (신규 + 변경)
+    private long rowsInserted;          // 신규 행 수
+    private long rowsUpdated;           // 변경 행 수
+    private long rowsSkipped;           // 내용이 같아 건너뛴 행 수
+    private int resumeCount;            // 재개 횟수
+    private List<Integer> failedPages;  // 실패한 페이지 번호 목록
+    private String lastError;           // 마지막 오류 메시지
+    private boolean running;            // 현재 이 서버에서 실행 중인지 여부
+    private Double rowsPerSecond;       // 처리 속도 (신규+변경+동일 행 / 초)
+    private Long etaSeconds;            // 남은 예상 시간 (실행 중일 때만)
+    private String message;             // 요청 처리 결과 메시지
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+}
@@ -1,5 +1,6 @@
 package com.safebuy.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.Builder;
 
@@ -19,6 +20,10 @@ public class ProductSearchResponse {
     // 대체 상품 추천 리스트
     private List<AlternativeProductDto> alternatives;
 
+    // 점진적 검색에서 대체 상품을 아직 찾는 중이면 true (일반 검색 응답에는 포함되지 않음)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean alternativesPending;
+
     private String riskLevel; // 위험 점수 (0~100)
     private int riskScore; // 위험 단계 (고위험/중위험/저위험/없음)
 }
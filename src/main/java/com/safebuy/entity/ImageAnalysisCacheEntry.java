@@ -0,0 +1,33 @@
+package com.safebuy.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// 이미지 분석(LLM) 결과 캐시 항목
+// 같은 이미지(sha256) 또는 거의 같은 이미지(dHash 해밍 거리 이내)가 다시 올라오면 저장된 결과를 재사용
+@Entity
+@Table(name = "image_analysis_cache", indexes = @Index(name = "idx_image_cache_last_used", columnList = "last_used_at"))
+@Data
+public class ImageAnalysisCacheEntry {
+
+    @Id
+    @Column(name = "sha256", length = 64)
+    private String sha256;                   // 원본 이미지 바이트의 SHA-256
+
+    @Column(name = "dhash")
+    private Long dhash;                      // 64비트 지각 해시 (디코딩할 수 없는 형식이면 null)
+
+    @Column(name = "result_json", columnDefinition = "TEXT")
+    private String resultJson;               // {"productName":"","manufacturer":"","modelName":""}
+
+    @Column(name = "hit_count")
+    private long hitCount;                   // 재사용 횟수
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_used_at")
+    private LocalDateTime lastUsedAt;        // 마지막 저장/재사용 시각, touch-interval 단위로 갱신 (상한 초과 시 오래된 것부터 삭제)
+}
@@ -0,0 +1,27 @@
+package com.safebuy.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// 리콜 제품별로 미리 조회해 둔 대체 상품 목록
+// 수집 직후 최신 리콜에 대해 AlternativePrewarmService가 채우고, 검색 시 네이버 호출보다 먼저 조회됨
+@Entity
+@Table(name = "recall_alternatives")
+@Data
+public class RecallAlternative {
+
+    @Id
+    @Column(name = "recall_sn")
+    private String recallSn;                 // 리콜번호 (recall_products.recall_sn)
+
+    @Column(name = "alternatives_json", columnDefinition = "TEXT")
+    private String alternativesJson;         // List<AlternativeProductDto> JSON
+
+    @Column(name = "item_count")
+    private int itemCount;                   // 대체 상품 수
+
+    @Column(name = "fetched_at")
+    private LocalDateTime fetchedAt;         // 네이버에서 조회한 시각
+}
@@ -0,0 +1,85 @@
+package com.safebuy.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// 리콜 데이터 수집(동기화) 작업 1회 실행 단위
+// 페이지별 진행 상황은 RecallIngestionPage에 저장되며, 중단/부분 실패한 작업은 다음 실행에서 이어서 처리됨
+@Entity
+@Table(name = "recall_ingestion_jobs")
+@Data
+public class RecallIngestionJob {
+
+    public enum Status {
+        QUEUED,     // 생성됨, 아직 페이지 계획 전
+        RUNNING,    // 실행 중 (서버가 중간에 내려가면 이 상태로 남음 → 다음 실행에서 재개)
+        PARTIAL,    // 끝까지 돌았지만 실패한 페이지가 남음 → 다음 실행에서 실패 페이지 재시도
+        COMPLETED,  // 모든 페이지 처리 완료
+        FAILED      // 재개 한도를 넘겨 포기한 작업
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "sync_mode", length = 20)
+    private String syncMode;                 // FULL / INCREMENTAL / IMPORT
+
+    @Column(name = "source_path", columnDefinition = "TEXT")
+    private String sourcePath;               // IMPORT 작업의 dump 경로 (dump 디렉터리 기준 상대 경로)
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20)
+    private Status status;
+
+    @Column(name = "all_cnt")
+    private int allCnt;                      // 작업 생성 시점의 전체 건수
+
+    @Column(name = "total_pages")
+    private int totalPages;                  // 작업 생성 시점의 전체 페이지 수
+
+    @Column(name = "planned_pages")
+    private int plannedPages;                // 이번 작업에서 처리할 페이지 수 (증분이면 totalPages보다 작음)
+
+    @Column(name = "pages_completed")
+    private int pagesCompleted;
+
+    @Column(name = "pages_failed")
+    private int pagesFailed;
+
+    @Column(name = "rows_saved")
+    private long rowsSaved;                  // 실제로 쓴 행 수 (신규 + 변경)
+
+    @Column(name = "rows_inserted")
+    private long rowsInserted;               // 새로 저장한 행 수
+
+    @Column(name = "rows_updated")
+    private long rowsUpdated;                // 내용이 바뀌어 다시 저장한 행 수
+
+    @Column(name = "rows_skipped")
+    private long rowsSkipped;                // 내용 지문이 같아 건너뛴 행 수
+
+    @Column(name = "resume_count")
+    private int resumeCount;                 // 재개된 횟수
+
+    @Column(name = "newest_recall_sn")
+    private String newestRecallSn;           // 작업 중 본 가장 최신 리콜 (완료 시 체크포인트로 반영)
+
+    @Column(name = "newest_recall_publict_bgnde", length = 50)
+    private String newestRecallPublictBgnde;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,49 @@
+package com.safebuy.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// 수집 작업의 페이지별 진행 기록 (job_id + page_no 유일)
+@Entity
+@Table(name = "recall_ingestion_pages",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ingestion_page", columnNames = {"job_id", "page_no"}),
+        indexes = @Index(name = "idx_ingestion_page_status", columnList = "job_id, status"))
+@Data
+public class RecallIngestionPage {
+
+    public enum Status {
+        PENDING,    // 아직 처리 안 됨 (또는 처리 도중 중단됨)
+        COMPLETED,  // 저장 완료
+        FAILED,     // 재시도 초과 등으로 실패 → 다음 실행에서 재시도
+        SKIPPED     // 증분 동기화 조기 종료로 처리할 필요가 없어진 페이지
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "page_no", nullable = false)
+    private int pageNo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20)
+    private Status status;
+
+    @Column(name = "attempts")
+    private int attempts;                    // 누적 시도 횟수 (실행 간 합산)
+
+    @Column(name = "saved_rows")
+    private int savedRows;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,34 @@
+package com.safebuy.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// 리콜 제품의 모델명 정보(modl_nm_info)에서 뽑은 개별 모델번호/GTIN (code + recall_sn 유일)
+// 수집 시 RecallModelCodeWriter가 변경된 리콜 단위로 다시 채우고, RecallCodeIndex가 메모리 해시맵으로 올려서 정확 일치 조회에 사용
+@Entity
+@Table(name = "recall_model_codes",
+        uniqueConstraints = @UniqueConstraint(name = "uk_recall_model_code", columnNames = {"code", "recall_sn"}),
+        indexes = @Index(name = "idx_recall_model_code_sn", columnList = "recall_sn"))
+@Data
+public class RecallModelCode {
+
+    public enum Kind {
+        MODEL,  // 영문+숫자 모델번호 (대문자, 하이픈 제거)
+        GTIN    // 체크 디지트가 맞는 바코드 숫자 (GTIN-14로 0 채움)
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "recall_sn", nullable = false)
+    private String recallSn;                 // 리콜번호 (recall_products.recall_sn)
+
+    @Column(name = "code", nullable = false, length = 32)
+    private String code;                     // 정규화된 코드 (ProductCodeExtractor.normalize)
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", length = 10)
+    private Kind kind;
+}
@@ -31,4 +31,7 @@ public class RecallProduct {
 
     @Column(name = "category", length = 50)
     private String category;             // 제품 카테고리 (식품, 가구, 스포츠, 육아, 가전, 생활/건강, 디지털)
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;          // 내용 지문 (SHA-256, 수집 시 변경 여부 판단용)
 }
@@ -0,0 +1,37 @@
+package com.safebuy.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// 리콜 데이터 동기화 체크포인트 (단일 행)
+// 증분 동기화 시 "어디까지 받아왔는지"를 판단하는 기준으로 사용
+@Entity
+@Table(name = "recall_sync_checkpoint")
+@Data
+public class RecallSyncCheckpoint {
+    public static final long SINGLETON_ID = 1L;
+
+    @Id
+    @Column(name = "id")
+    private Long id = SINGLETON_ID;
+
+    @Column(name = "last_recall_sn")
+    private String lastRecallSn;             // 마지막으로 확인한 최신 리콜번호
+
+    @Column(name = "last_recall_publict_bgnde", length = 50)
+    private String lastRecallPublictBgnde;   // 마지막으로 확인한 최신 리콜 공표시작일
+
+    @Column(name = "total_count")
+    private int totalCount;                  // 마지막 동기화 시점의 전체 건수(allCnt)
+
+    @Column(name = "total_pages")
+    private int totalPages;                  // 마지막 동기화 시점의 전체 페이지 수
+
+    @Column(name = "sync_mode", length = 20)
+    private String syncMode;                 // 마지막 동기화 방식 (FULL / INCREMENTAL)
+
+    @Column(name = "synced_at")
+    private LocalDateTime syncedAt;          // 마지막 동기화 완료 시각
+}
@@ -0,0 +1,75 @@
+package com.safebuy.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// 현재 스레드에서 실행된 JDBC statement 수/시간을 세는 범위(scope)
+// - StatementCountingDataSource가 모든 execute* 호출을 record로 넘김 (범위가 없으면 ThreadLocal 조회 한 번으로 끝남)
+// - 범위는 중첩 가능 (안쪽 범위에서 기록된 쿼리는 바깥 범위에도 합산)
+// 사용: try (QueryCounter queries = QueryCounter.open()) { ... queries.count() ... }
+public final class QueryCounter implements AutoCloseable {
+
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+
+    // SQL별 실행 횟수는 이 개수까지만 보관 (동적 SQL이 많은 경우 메모리 방어)
+    private static final int MAX_DISTINCT_STATEMENTS = 100;
+
+    private final QueryCounter parent;
+    private int count;
+    private long nanos;
+    private final Map<String, Integer> statements = new LinkedHashMap<>();
+
+    private QueryCounter(QueryCounter parent) {
+        this.parent = parent;
+    }
+
+    public static QueryCounter open() {
+        QueryCounter counter = new QueryCounter(CURRENT.get());
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    @Override
+    public void close() {
+        if (parent != null) {
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    // 파라미터 sql: 실행된 SQL (알 수 없으면 null), nanos: 실행 시간
+    public static void record(String sql, long nanos) {
+        for (QueryCounter c = CURRENT.get(); c != null; c = c.parent) {
+            c.add(sql, nanos);
+        }
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    // 실행 횟수가 많은 SQL 상위 limit개 ("3x select ..." 형식, N+1 확인용)
+    public String topStatements(int limit) {
+        return statements.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(limit)
+                .map(e -> e.getValue() + "x " + e.getKey())
+                .collect(Collectors.joining(" | "));
+    }
+
+    // 내부 메서드
+    private void add(String sql, long elapsed) {
+        count++;
+        nanos += elapsed;
+        String key = sql != null ? sql : "(unknown)";
+        if (statements.containsKey(key) || statements.size() < MAX_DISTINCT_STATEMENTS) {
+            statements.merge(key, 1, Integer::sum);
+        }
+    }
+}
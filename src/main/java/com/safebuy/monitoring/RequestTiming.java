@@ -0,0 +1,97 @@
+package com.safebuy.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// 요청 1건 동안의 단계별 소요 시간을 모아 Server-Timing 헤더 값으로 만드는 컨텍스트
+// - ServerTimingFilter가 대상 요청에서만 시작/종료하며, 시작되지 않은 요청에서는 record/describe가 ThreadLocal 조회 한 번으로 끝남
+// - 같은 이름으로 여러 번 기록하면 시간을 합산하고 호출 횟수를 셈 (예: 키워드별 네이버 호출)
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private static final class Entry {
+        long nanos;
+        int count;
+        String desc;
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(); // 기록 순서 유지
+
+    private RequestTiming() {
+    }
+
+    /* 컨텍스트 시작/종료 (ServerTimingFilter에서만 사용) */
+
+    public static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    // 현재 요청의 컨텍스트 (비활성화 상태면 null)
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /* 기록 메서드 (컨텍스트가 없으면 아무것도 하지 않음) */
+
+    public static void record(String name, long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) timing.add(name, nanos);
+    }
+
+    // 파라미터 desc: 단계 설명 (예: cache hit / cache miss)
+    public static void describe(String name, String desc) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) timing.setDesc(name, desc);
+    }
+
+    // 다른 스레드에서 실행할 작업에 현재 요청의 컨텍스트를 전달 (컨텍스트가 없으면 그대로 반환)
+    public static Runnable propagate(Runnable task) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) return task;
+        return () -> {
+            RequestTiming previous = CURRENT.get();
+            CURRENT.set(timing);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) CURRENT.set(previous); else CURRENT.remove();
+            }
+        };
+    }
+
+    // Server-Timing 헤더 값: name;desc="..";dur=12.3, ...
+    public synchronized String toHeaderValue() {
+        StringBuilder sb = new StringBuilder();
+        entries.forEach((name, e) -> {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(name);
+            String desc = e.desc != null ? e.desc : (e.count > 1 ? e.count + " calls" : null);
+            if (desc != null) {
+                sb.append(";desc=\"").append(desc.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+            }
+            if (e.count > 0) {
+                sb.append(";dur=").append(String.format(Locale.ROOT, "%.1f", e.nanos / 1e6));
+            }
+        });
+        return sb.toString();
+    }
+
+    // 내부 메서드
+    private synchronized void add(String name, long nanos) {
+        Entry e = entries.computeIfAbsent(name, k -> new Entry());
+        e.nanos += nanos;
+        e.count++;
+    }
+
+    private synchronized void setDesc(String name, String desc) {
+        entries.computeIfAbsent(name, k -> new Entry()).desc = desc;
+    }
+}
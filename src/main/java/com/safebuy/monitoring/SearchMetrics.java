@@ -0,0 +1,289 @@
+package com.safebuy.monitoring;
+
+import com.safebuy.resilience.Bulkhead;
+import com.safebuy.resilience.CircuitBreaker;
+import com.safebuy.resilience.Hedger;
+import com.safebuy.util.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.core5.pool.ConnPoolControl;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+// 제품 검색 파이프라인의 단계별 지연 시간/캐시/후보 수/DB 쿼리 수 메트릭 (Micrometer)
+// Actuator의 /actuator/prometheus 로 노출됨 (단계별 시간은 RequestTiming에도 기록되어 Server-Timing 헤더로 나감)
+// - safebuy_search_stage_seconds{stage=...}       : 단계별 소요 시간 (히스토그램 → p99 계산 가능)
+// - safebuy_search_requests_total{result=...}     : 검색 결과별 요청 수
+// - safebuy_search_cache_total{cache,field,result}: 캐시 hit/miss
+// - safebuy_cache_size / safebuy_cache_hit_ratio{cache}: 캐시 크기와 누적 적중률
+// - safebuy_singleflight_coalesced_total{name}    : 동시 요청 합치기로 외부 호출을 아낀 횟수
+// - safebuy_search_candidates{kind=built|searched}: 요청당 후보 조합 수 / 실제 DB 검색한 후보 수
+// - safebuy_search_db_queries                     : 요청당 JDBC statement 수 (StatementCountingDataSource 기준)
+// - safebuy_search_db_seconds                     : 요청당 JDBC statement 실행 시간 합계
+// - safebuy_search_db_budget_exceeded_total       : 쿼리 예산(safebuy.search.query-budget) 초과 요청 수
+// - safebuy_image_payload_bytes{kind=original|sent}: 업로드 이미지 원본 크기 / 전처리 후 LLM으로 보낸 크기
+// - safebuy_bulkhead_active / _waiting{name}      : 외부 호출 bulkhead별 실행 중 / 대기 중 호출 수
+// - safebuy_bulkhead_queue_wait_seconds{name}     : bulkhead 자리를 얻기까지(또는 포기하기까지) 기다린 시간
+// - safebuy_bulkhead_rejected_total{name,reason}  : 자리를 얻지 못해 fallback으로 넘어간 호출 수
+// - safebuy_circuit_state{name}                   : 서킷 브레이커 상태 (0=closed, 1=open, 2=half_open)
+// - safebuy_circuit_failure_rate / _slow_call_rate{name}: 최근 호출 중 실패 / 느린 호출 비율
+// - safebuy_circuit_transitions_total{name,state} : 상태 전환 횟수
+// - safebuy_circuit_rejected_total{name}          : 회로가 열려 있어 호출 없이 fallback으로 넘어간 수
+// - safebuy_hedge_delay_seconds{name}             : 중복 호출을 보내기까지의 대기 시간 (최근 p95)
+// - safebuy_hedge_requests_total{name,outcome}    : 중복 호출 sent/won, 생략 사유(budget_exhausted/bulkhead_full/executor_full)
+// - httpcomponents_httpclient_pool_*{httpclient}  : HTTP 연결 풀 전체 leased/pending/available/max
+// - safebuy_http_pool_leased / _pending{client,route}: 호스트별 사용 중 연결 수 / 연결을 기다리는 요청 수
+@Component
+public class SearchMetrics {
+
+    // 검색 파이프라인 단계 (tag 값은 소문자 snake_case)
+    public enum Stage {
+        IMAGE_ANALYSIS("image_analysis"),
+        IMAGE_PREPROCESS("image_preprocess"),
+        LOCAL_EXTRACTION("local_extraction"),
+        NORMALIZE("normalize"),
+        CODE_LOOKUP("code_lookup"),
+        EXPAND_PRODUCT("expand_product"),
+        EXPAND_MANUFACTURER("expand_manufacturer"),
+        EXPAND_MODEL("expand_model"),
+        CANDIDATE_SEARCH("candidate_search"),
+        FALLBACK_SCAN("fallback_scan"),
+        ALTERNATIVES("alternatives"),
+        TOTAL("total");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+
+        public String tag() {
+            return tag;
+        }
+    }
+
+    // 검색 결과 구분
+    public enum Result {
+        FOUND("found"), PARTIAL("partial"), NOT_FOUND("not_found"), INVALID("invalid"), ERROR("error");
+
+        private final String tag;
+
+        Result(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<Result, Counter> resultCounters = new EnumMap<>(Result.class);
+    private final DistributionSummary candidatesBuilt;
+    private final DistributionSummary candidatesSearched;
+    private final DistributionSummary dbQueries;
+    private final Timer dbTime;
+    private final Counter queryBudgetExceeded;
+    private final DistributionSummary imageOriginalBytes;
+    private final DistributionSummary imageSentBytes;
+    private final Map<String, Timer> bulkheadWaitTimers = new ConcurrentHashMap<>();
+
+    public SearchMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        // 요청마다 찾아 쓰지 않도록 미리 등록
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("safebuy.search.stage")
+                    .description("검색 파이프라인 단계별 소요 시간")
+                    .tag("stage", stage.tag())
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        for (Result result : Result.values()) {
+            resultCounters.put(result, Counter.builder("safebuy.search.requests")
+                    .description("검색 결과별 요청 수")
+                    .tag("result", result.tag)
+                    .register(registry));
+        }
+        this.candidatesBuilt = candidateSummary("built");
+        this.candidatesSearched = candidateSummary("searched");
+        this.dbQueries = DistributionSummary.builder("safebuy.search.db.queries")
+                .description("검색 요청당 DB 쿼리 수")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.dbTime = Timer.builder("safebuy.search.db")
+                .description("검색 요청당 DB 쿼리 실행 시간 합계")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.queryBudgetExceeded = Counter.builder("safebuy.search.db.budget.exceeded")
+                .description("쿼리 예산을 초과한 검색 요청 수")
+                .register(registry);
+        this.imageOriginalBytes = imagePayloadSummary("original");
+        this.imageSentBytes = imagePayloadSummary("sent");
+    }
+
+    public void recordStage(Stage stage, long nanos) {
+        stageTimers.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+        RequestTiming.record(stage.tag(), nanos);
+    }
+
+    public void recordResult(Result result) {
+        resultCounters.get(result).increment();
+    }
+
+    public void recordCandidates(int built, int searched) {
+        candidatesBuilt.record(built);
+        candidatesSearched.record(searched);
+    }
+
+    public void recordDbQueries(int count, long nanos) {
+        dbQueries.record(count);
+        dbTime.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordQueryBudgetExceeded() {
+        queryBudgetExceeded.increment();
+    }
+
+    public void recordImagePayload(long originalBytes, long sentBytes) {
+        imageOriginalBytes.record(originalBytes);
+        imageSentBytes.record(sentBytes);
+    }
+
+    // 로컬 추출(바코드/OCR) 결과 구분: barcode/ocr = 딕셔너리와 일치해서 LLM 생략, unmatched = 후보는 있었으나 불일치, none = 후보 없음
+    public void recordLocalExtraction(String outcome) {
+        registry.counter("safebuy.image.local_extraction", "outcome", outcome).increment();
+    }
+
+    // 파라미터 cache: 캐시 이름(enhancer 등), field: 검색 필드 (없으면 ANY)
+    public void recordCache(String cache, String field, boolean hit) {
+        registry.counter("safebuy.search.cache", "cache", cache, "field", field, "result", hit ? "hit" : "miss")
+                .increment();
+    }
+
+    // 캐시 크기/적중률 gauge 등록 (캐시를 가진 서비스에서 초기화 시 호출)
+    public <T> void registerCache(String cache, T owner, ToDoubleFunction<T> size, ToDoubleFunction<T> hitRatio) {
+        Gauge.builder("safebuy.cache.size", owner, size)
+                .description("캐시 항목 수")
+                .tag("cache", cache)
+                .register(registry);
+        Gauge.builder("safebuy.cache.hit.ratio", owner, hitRatio)
+                .description("캐시 누적 적중률 (0~1)")
+                .tag("cache", cache)
+                .register(registry);
+    }
+
+    public void registerSingleFlight(String name, SingleFlight<?, ?> flight) {
+        FunctionCounter.builder("safebuy.singleflight.coalesced", flight, SingleFlight::coalescedCount)
+                .description("실행 중인 동일 요청에 합류한 횟수")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    public void registerBulkhead(Bulkhead bulkhead) {
+        Gauge.builder("safebuy.bulkhead.active", bulkhead, Bulkhead::activeCount)
+                .description("bulkhead에서 실행 중인 외부 호출 수")
+                .tag("name", bulkhead.name())
+                .register(registry);
+        Gauge.builder("safebuy.bulkhead.waiting", bulkhead, Bulkhead::waitingCount)
+                .description("bulkhead 자리를 기다리는 호출 수")
+                .tag("name", bulkhead.name())
+                .register(registry);
+        Gauge.builder("safebuy.bulkhead.limit", bulkhead, Bulkhead::maxConcurrent)
+                .description("bulkhead 최대 동시 호출 수")
+                .tag("name", bulkhead.name())
+                .register(registry);
+    }
+
+    public void registerCircuitBreaker(CircuitBreaker breaker) {
+        Gauge.builder("safebuy.circuit.state", breaker, b -> b.state().ordinal())
+                .description("서킷 브레이커 상태 (0=closed, 1=open, 2=half_open)")
+                .tag("name", breaker.name())
+                .register(registry);
+        Gauge.builder("safebuy.circuit.failure.rate", breaker, CircuitBreaker::failureRate)
+                .description("최근 호출 중 실패 비율 (0~1)")
+                .tag("name", breaker.name())
+                .register(registry);
+        Gauge.builder("safebuy.circuit.slow_call.rate", breaker, CircuitBreaker::slowCallRate)
+                .description("최근 호출 중 느린 호출 비율 (0~1)")
+                .tag("name", breaker.name())
+                .register(registry);
+    }
+
+    public void recordCircuitTransition(String name, CircuitBreaker.State state) {
+        registry.counter("safebuy.circuit.transitions", "name", name,
+                "state", state.name().toLowerCase(Locale.ROOT)).increment();
+    }
+
+    public void recordCircuitRejected(String name) {
+        registry.counter("safebuy.circuit.rejected", "name", name).increment();
+    }
+
+    public void registerHedger(Hedger hedger) {
+        Gauge.builder("safebuy.hedge.delay", hedger, Hedger::delaySeconds)
+                .description("중복 호출을 보내기까지의 대기 시간 (최근 호출 시간 p95)")
+                .tag("name", hedger.name())
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    // 파라미터 outcome: sent / won / budget_exhausted / executor_full
+    public void recordHedge(String name, String outcome) {
+        registry.counter("safebuy.hedge.requests", "name", name, "outcome", outcome).increment();
+    }
+
+    // HTTP 연결 풀 전체 상태 + 지정한 호스트(route)별 사용 중/대기 연결 수
+    public void registerHttpPool(String client, ConnPoolControl<HttpRoute> pool, Map<String, HttpRoute> routes) {
+        new PoolingHttpClientConnectionManagerMetricsBinder(pool, client).bindTo(registry);
+        routes.forEach((name, route) -> {
+            Gauge.builder("safebuy.http.pool.leased", pool, p -> p.getStats(route).getLeased())
+                    .description("호스트별 사용 중인 HTTP 연결 수")
+                    .tags("client", client, "route", name)
+                    .register(registry);
+            Gauge.builder("safebuy.http.pool.pending", pool, p -> p.getStats(route).getPending())
+                    .description("호스트별 연결을 기다리는 요청 수")
+                    .tags("client", client, "route", name)
+                    .register(registry);
+        });
+    }
+
+    public void recordBulkheadWait(String name, long nanos) {
+        bulkheadWaitTimers.computeIfAbsent(name, n -> Timer.builder("safebuy.bulkhead.queue.wait")
+                        .description("bulkhead 자리를 얻기까지 기다린 시간")
+                        .tag("name", n)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // 파라미터 reason: queue_full / timeout / interrupted
+    public void recordBulkheadRejected(String name, String reason) {
+        registry.counter("safebuy.bulkhead.rejected", "name", name, "reason", reason).increment();
+    }
+
+    // 내부 메서드
+    private DistributionSummary candidateSummary(String kind) {
+        return DistributionSummary.builder("safebuy.search.candidates")
+                .description("검색 요청당 후보 조합 수")
+                .tag("kind", kind)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private DistributionSummary imagePayloadSummary(String kind) {
+        return DistributionSummary.builder("safebuy.image.payload")
+                .description("이미지 분석 요청의 이미지 크기")
+                .baseUnit("bytes")
+                .tag("kind", kind)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
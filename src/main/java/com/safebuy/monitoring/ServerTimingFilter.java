@@ -0,0 +1,39 @@
+package com.safebuy.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// /recalls/search 요청에 대해 RequestTiming 컨텍스트를 열고 닫는 필터
+// 헤더는 응답 본문이 쓰이기 직전에 ServerTimingAdvice가 추가함
+// safebuy.server-timing.enabled=false 면 컨텍스트를 만들지 않음
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final String SEARCH_PATH = "/recalls/search";
+
+    @Value("${safebuy.server-timing.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !SEARCH_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTiming.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestTiming.end();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.safebuy.monitoring;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+// 애플리케이션 DataSource를 StatementCountingDataSource로 감싸는 설정
+// safebuy.db.statement-counting.enabled=false 면 감싸지 않음 (이 경우 쿼리 수 메트릭은 0으로 기록됨)
+@Configuration
+public class StatementCountingConfig {
+
+    // BeanPostProcessor는 다른 빈보다 먼저 만들어지므로 static으로 등록하고 Environment만 사용
+    @Bean
+    public static BeanPostProcessor statementCountingPostProcessor(Environment environment) {
+        boolean enabled = environment.getProperty("safebuy.db.statement-counting.enabled", Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
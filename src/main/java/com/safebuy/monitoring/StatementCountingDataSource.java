@@ -0,0 +1,102 @@
+package com.safebuy.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// 실제 DataSource를 감싸서 Statement의 execute* 호출마다 QueryCounter에 횟수/시간을 기록하는 DataSource
+// - JPA(Hibernate), JdbcTemplate 등 어떤 경로로 실행되든 JDBC 단에서 모두 집계됨
+// - DelegatingDataSource를 상속하므로 Actuator의 커넥션 풀 메트릭은 원래 DataSource(Hikari) 기준으로 유지됨
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    // 내부 메서드
+    private static Connection wrapConnection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(
+                StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(target));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    // createStatement / prepareStatement / prepareCall 이 돌려주는 Statement를 감쌈
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementCountingDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                Class<?> type = result instanceof CallableStatement ? CallableStatement.class
+                        : result instanceof PreparedStatement ? PreparedStatement.class
+                        : Statement.class;
+                // prepare 계열은 첫 번째 인자가 SQL
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return Proxy.newProxyInstance(
+                        StatementCountingDataSource.class.getClassLoader(),
+                        new Class<?>[]{type},
+                        new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    // execute / executeQuery / executeUpdate / executeBatch ... 호출 시간 측정
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return StatementCountingDataSource.invoke(target, method, args);
+            }
+            String sql = preparedSql != null ? preparedSql
+                    : (args != null && args.length > 0 && args[0] instanceof String s ? s : null);
+            long start = System.nanoTime();
+            try {
+                return StatementCountingDataSource.invoke(target, method, args);
+            } finally {
+                QueryCounter.record(sql, System.nanoTime() - start);
+            }
+        }
+    }
+}
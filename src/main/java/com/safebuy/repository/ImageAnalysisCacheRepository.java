@@ -0,0 +1,26 @@
+package com.safebuy.repository;
+
+import com.safebuy.entity.ImageAnalysisCacheEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ImageAnalysisCacheRepository extends JpaRepository<ImageAnalysisCacheEntry, String> {
+
+    // 시작 시 메모리로 올릴 최근 사용 항목
+    List<ImageAnalysisCacheEntry> findByOrderByLastUsedAtDesc(Pageable pageable);
+
+    // 재사용 기록 (조회 없이 한 번의 update로 처리)
+    @Modifying
+    @Transactional
+    @Query("update ImageAnalysisCacheEntry e set e.lastUsedAt = :usedAt, e.hitCount = e.hitCount + :hits where e.sha256 = :sha256")
+    int markUsed(@Param("sha256") String sha256, @Param("usedAt") LocalDateTime usedAt, @Param("hits") long hits);
+}
@@ -0,0 +1,21 @@
+package com.safebuy.repository;
+
+import com.safebuy.entity.RecallAlternative;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RecallAlternativeRepository extends JpaRepository<RecallAlternative, String> {
+
+    // 미리 조회 대상 중 아직 유효하고 대체 상품이 minItems개보다 많은 항목의 리콜번호 (다시 조회하지 않기 위함)
+    List<RecallSnView> findByRecallSnInAndFetchedAtAfterAndItemCountGreaterThan(Collection<String> recallSns,
+                                                                               LocalDateTime fetchedAfter, int minItems);
+
+    interface RecallSnView {
+        String getRecallSn();
+    }
+}
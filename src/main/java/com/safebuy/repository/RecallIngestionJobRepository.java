@@ -0,0 +1,18 @@
+package com.safebuy.repository;
+
+import com.safebuy.entity.RecallIngestionJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface RecallIngestionJobRepository extends JpaRepository<RecallIngestionJob, Long> {
+
+    // 주어진 상태 중 가장 최근 작업
+    Optional<RecallIngestionJob> findFirstByStatusInOrderByIdDesc(Collection<RecallIngestionJob.Status> statuses);
+
+    // 가장 최근 작업
+    Optional<RecallIngestionJob> findFirstByOrderByIdDesc();
+}
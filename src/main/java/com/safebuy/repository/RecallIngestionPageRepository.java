@@ -0,0 +1,34 @@
+package com.safebuy.repository;
+
+import com.safebuy.entity.RecallIngestionPage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RecallIngestionPageRepository extends JpaRepository<RecallIngestionPage, Long> {
+
+    // 작업의 특정 상태 페이지들 (페이지 번호 순)
+    List<RecallIngestionPage> findByJobIdAndStatusInOrderByPageNo(Long jobId, Collection<RecallIngestionPage.Status> statuses);
+
+    // 작업의 특정 상태 페이지 수
+    long countByJobIdAndStatus(Long jobId, RecallIngestionPage.Status status);
+
+    // 작업의 특정 상태 페이지 중 기준 시각 이전에 마지막으로 갱신된 페이지 수 (이번 실행에서 아직 다시 시도하지 않은 실패 페이지)
+    long countByJobIdAndStatusAndUpdatedAtBefore(Long jobId, RecallIngestionPage.Status status, LocalDateTime before);
+
+    // 증분 동기화 조기 종료 시 남은 PENDING 페이지를 일괄 SKIPPED 처리
+    @Modifying
+    @Transactional
+    @Query("update RecallIngestionPage p set p.status = :to where p.jobId = :jobId and p.status = :from")
+    int updateStatus(@Param("jobId") Long jobId,
+                     @Param("from") RecallIngestionPage.Status from,
+                     @Param("to") RecallIngestionPage.Status to);
+}
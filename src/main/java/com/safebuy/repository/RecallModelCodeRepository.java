@@ -0,0 +1,19 @@
+package com.safebuy.repository;
+
+import com.safebuy.entity.RecallModelCode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RecallModelCodeRepository extends JpaRepository<RecallModelCode, Long> {
+
+    // 기동 시 메모리 인덱스 적재용: 코드/리콜번호만 조회
+    List<CodeView> findAllBy();
+
+    interface CodeView {
+        String getCode();
+        String getRecallSn();
+    }
+}
@@ -0,0 +1,63 @@
+package com.safebuy.repository;
+
+import com.safebuy.entity.RecallModelCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// recall_model_codes 대량 저장 전용 writer
+// - 리콜 단위로 기존 코드를 지우고 새 코드를 넣음 (모델명 정보가 바뀌면 빠진 코드도 정리되도록)
+// - RecallProductBulkWriter와 같이 JPA를 거치지 않고 JDBC batch로 실행
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class RecallModelCodeWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // DELETE ... IN (...) 한 문장에 담는 리콜 수
+    static final int SNS_PER_DELETE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO recall_model_codes (recall_sn, code, kind) VALUES (?, ?, ?)";
+
+    /* 리콜별 코드 교체 메서드 */
+    // 파라미터 codesBySn: 리콜번호 → 정규화된 코드 집합 (빈 집합이면 해당 리콜의 코드를 모두 삭제)
+    // 리턴값: 저장한 코드 행 수
+    @Transactional
+    public int replaceAll(Map<String, Set<String>> codesBySn) {
+        if (codesBySn == null || codesBySn.isEmpty()) return 0;
+
+        List<String> sns = new ArrayList<>(codesBySn.keySet());
+        for (int from = 0; from < sns.size(); from += SNS_PER_DELETE) {
+            List<String> chunk = sns.subList(from, Math.min(from + SNS_PER_DELETE, sns.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.update("DELETE FROM recall_model_codes WHERE recall_sn IN (" + placeholders + ")", chunk.toArray());
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        codesBySn.forEach((sn, codes) -> {
+            for (String code : codes) {
+                rows.add(new Object[]{sn, code, kindOf(code).name()});
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+
+        log.debug("[ModelCodeWriter] 코드 교체 완료 - recalls={}, codes={}", sns.size(), rows.size());
+        return rows.size();
+    }
+
+    // 정규화된 GTIN은 14자리 숫자, 모델번호는 영문을 반드시 포함
+    private RecallModelCode.Kind kindOf(String code) {
+        return code.chars().allMatch(Character::isDigit) ? RecallModelCode.Kind.GTIN : RecallModelCode.Kind.MODEL;
+    }
+}
@@ -0,0 +1,129 @@
+package com.safebuy.repository;
+
+import com.safebuy.entity.RecallProduct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.List;
+
+// recall_products 대량 저장 전용 writer
+// - RecallProduct는 PK(recallSn)를 직접 지정하므로 JPA saveAll()은 엔티티마다 SELECT 후 INSERT/UPDATE를 개별 실행함
+// - 여기서는 여러 행을 한 문장으로 묶은 upsert를 JDBC batch로 실행해서 왕복 횟수를 줄임
+//   MySQL: INSERT ... VALUES (...),(...) AS new ON DUPLICATE KEY UPDATE (MySQL 8.0.19 이상)
+//   H2   : MERGE INTO ... KEY(recall_sn) VALUES (...),(...)
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class RecallProductBulkWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    // 한 문장에 담는 행 수 (행당 파라미터 9개 → 문장당 4,500개)
+    static final int ROWS_PER_STATEMENT = 500;
+
+    private static final String COLUMNS =
+            "recall_sn, product_nm, bsnm_nm, makr, modl_nm_info, recall_publict_bgnde, shrtcom_cn, category, content_hash";
+    private static final int COLUMN_COUNT = 9;
+
+    private volatile Boolean h2; // DB 종류는 최초 사용 시 1회 확인
+
+    /* 대량 upsert 메서드 */
+    // 파라미터 products: 저장할 리콜 제품 목록 (recallSn 필수)
+    // 리턴값: 전달된 행 수
+    public int upsertAll(List<RecallProduct> products) {
+        if (products == null || products.isEmpty()) return 0;
+
+        List<Object[]> fullChunks = new ArrayList<>();
+        List<RecallProduct> tail = List.of();
+
+        for (int from = 0; from < products.size(); from += ROWS_PER_STATEMENT) {
+            int to = Math.min(from + ROWS_PER_STATEMENT, products.size());
+            List<RecallProduct> chunk = products.subList(from, to);
+            if (chunk.size() == ROWS_PER_STATEMENT) {
+                fullChunks.add(toArgs(chunk));
+            } else {
+                tail = chunk;
+            }
+        }
+
+        // 같은 모양(행 수)의 문장은 하나의 JDBC batch로 전송
+        if (!fullChunks.isEmpty()) {
+            jdbcTemplate.batchUpdate(buildSql(ROWS_PER_STATEMENT), fullChunks);
+        }
+        if (!tail.isEmpty()) {
+            jdbcTemplate.update(buildSql(tail.size()), toArgs(tail));
+        }
+
+        log.debug("[BulkWriter] upsert 완료 - rows={}, statements={}", products.size(), fullChunks.size() + (tail.isEmpty() ? 0 : 1));
+        return products.size();
+    }
+
+    // 내부 메서드
+    private String buildSql(int rows) {
+        StringBuilder sb = new StringBuilder(64 + rows * (COLUMN_COUNT * 2 + 4));
+        if (isH2()) {
+            sb.append("MERGE INTO recall_products (").append(COLUMNS).append(") KEY (recall_sn) VALUES ");
+            appendPlaceholders(sb, rows);
+        } else {
+            // VALUES(col) 참조는 MySQL 8.0.20부터 deprecated → 행 별칭(8.0.19+)으로 새 값을 참조
+            sb.append("INSERT INTO recall_products (").append(COLUMNS).append(") VALUES ");
+            appendPlaceholders(sb, rows);
+            sb.append(" AS new ON DUPLICATE KEY UPDATE")
+                    .append(" product_nm = new.product_nm,")
+                    .append(" bsnm_nm = new.bsnm_nm,")
+                    .append(" makr = new.makr,")
+                    .append(" modl_nm_info = new.modl_nm_info,")
+                    .append(" recall_publict_bgnde = new.recall_publict_bgnde,")
+                    .append(" shrtcom_cn = new.shrtcom_cn,")
+                    .append(" category = new.category,")
+                    .append(" content_hash = new.content_hash");
+        }
+        return sb.toString();
+    }
+
+    private void appendPlaceholders(StringBuilder sb, int rows) {
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("(?,?,?,?,?,?,?,?,?)");
+        }
+    }
+
+    private Object[] toArgs(List<RecallProduct> chunk) {
+        Object[] args = new Object[chunk.size() * COLUMN_COUNT];
+        int i = 0;
+        for (RecallProduct p : chunk) {
+            args[i++] = p.getRecallSn();
+            args[i++] = p.getProductNm();
+            args[i++] = p.getBsnmNm();
+            args[i++] = p.getMakr();
+            args[i++] = p.getModlNmInfo();
+            args[i++] = p.getRecallPublictBgnde();
+            args[i++] = p.getShrtcomCn();
+            args[i++] = p.getCategory();
+            args[i++] = p.getContentHash();
+        }
+        return args;
+    }
+
+    private boolean isH2() {
+        Boolean cached = h2;
+        if (cached == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+                cached = product != null && product.toLowerCase().contains("h2");
+            } catch (Exception e) {
+                log.warn("[BulkWriter] DB 종류 확인 실패 → MySQL 문법 사용: {}", e.getMessage());
+                cached = false;
+            }
+            h2 = cached;
+        }
+        return cached;
+    }
+}
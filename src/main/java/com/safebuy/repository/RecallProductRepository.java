@@ -1,9 +1,11 @@
 package com.safebuy.repository;
 
 import com.safebuy.entity.RecallProduct;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -25,4 +27,15 @@ public interface RecallProductRepository extends JpaRepository<RecallProduct, St
     // 제품명 + 제조사 + 모델명으로 검색
     List<RecallProduct> findByProductNmContainingIgnoreCaseAndMakrContainingIgnoreCaseAndModlNmInfoContainingIgnoreCase(
             String productName, String manufacturer, String modelName);
+
+    // 최신 공표순 리콜 (대체 상품 미리 조회 대상)
+    List<RecallProduct> findByOrderByRecallPublictBgndeDesc(Pageable pageable);
+
+    // 수집 시 변경 여부 판단용: 리콜번호 목록에 해당하는 저장된 내용 지문만 조회
+    List<ContentHashView> findByRecallSnIn(Collection<String> recallSns);
+
+    interface ContentHashView {
+        String getRecallSn();
+        String getContentHash();
+    }
 }
@@ -0,0 +1,9 @@
+package com.safebuy.repository;
+
+import com.safebuy.entity.RecallSyncCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RecallSyncCheckpointRepository extends JpaRepository<RecallSyncCheckpoint, Long> {
+}
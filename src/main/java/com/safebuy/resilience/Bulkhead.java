@@ -0,0 +1,152 @@
+package com.safebuy.resilience;
+
+import com.safebuy.monitoring.RequestTiming;
+import com.safebuy.monitoring.SearchMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// 외부 호출 용도별 동시 실행 수 제한 (세마포어 bulkhead)
+// - 동시에 maxConcurrent개까지만 호출하고, 나머지는 최대 maxQueue개까지 maxWait 동안 순서대로(fair) 대기
+// - 대기열이 가득 찼거나 maxWait 안에 자리를 얻지 못하면 호출하지 않고 fallback 결과를 바로 돌려줌
+//   → 외부 API가 느려져도 요청 스레드(Tomcat worker)가 전부 그 호출에 묶이지 않음
+// - 호출은 요청 스레드에서 그대로 실행 (별도 스레드 풀로 넘기지 않음)
+// - hedge처럼 호출을 다른 스레드에서 실행하는 경우 Permit을 넘겨받아, 마지막 시도가 끝날 때 자리를 반납
+@Slf4j
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+    private final SearchMetrics searchMetrics;
+
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueue, Duration maxWait, SearchMetrics searchMetrics) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.searchMetrics = searchMetrics;
+        this.permits = new Semaphore(maxConcurrent, true);
+        searchMetrics.registerBulkhead(this);
+    }
+
+    /* 자리를 얻으면 call 실행, 못 얻으면 fallback 실행 */
+    // call에서 난 예외는 그대로 전달 (fallback은 자리를 못 얻은 경우에만 사용)
+    public <T> T execute(Supplier<T> call, Supplier<T> fallback) {
+        return executeHolding(permit -> call.get(), fallback);
+    }
+
+    /* execute와 같지만 call에 자리(Permit)를 넘겨줌 */
+    // call이 다른 스레드로 넘긴 시도가 permit.retain()으로 자리를 잡아 두면, 그 시도가 release()할 때까지 자리를 반납하지 않음
+    public <T> T executeHolding(Function<Permit, T> call, Supplier<T> fallback) {
+        long start = System.nanoTime();
+        String rejectReason = acquire();
+        searchMetrics.recordBulkheadWait(name, System.nanoTime() - start);
+
+        if (rejectReason != null) {
+            rejected.incrementAndGet();
+            searchMetrics.recordBulkheadRejected(name, rejectReason);
+            RequestTiming.describe("bulkhead_" + name, rejectReason);
+            log.warn("[Bulkhead] {} 호출 생략({}) - 실행 {}/{}, 대기 {}/{}",
+                    name, rejectReason, activeCount(), maxConcurrent, waiting.get(), maxQueue);
+            return fallback.get();
+        }
+
+        Permit permit = new Permit();
+        try {
+            return call.apply(permit);
+        } finally {
+            permit.release();
+        }
+    }
+
+    /* 대기 없이 자리 1개를 얻음 (hedge 중복 호출용) */
+    // 리턴값: 얻은 자리, 빈 자리가 없거나 먼저 기다리는 호출이 있으면 null (대기열에 들어가지 않고 거절 횟수에도 넣지 않음)
+    public Permit tryAcquire() {
+        try {
+            return permits.tryAcquire(0, TimeUnit.NANOSECONDS) ? new Permit() : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    // 현재 실행 중인 호출 수
+    public int activeCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    // 현재 자리를 기다리는 호출 수
+    public int waitingCount() {
+        return waiting.get();
+    }
+
+    // 자리를 얻지 못해 fallback으로 넘어간 횟수 (누적)
+    public long rejectedCount() {
+        return rejected.get();
+    }
+
+    // 얻은 자리 1개, 잡고 있는 쪽(요청 스레드, 다른 스레드의 시도)이 모두 release()하면 반납
+    public final class Permit {
+
+        private final AtomicInteger holders = new AtomicInteger(1);
+
+        private Permit() {
+        }
+
+        public Bulkhead bulkhead() {
+            return Bulkhead.this;
+        }
+
+        // 자리를 함께 잡을 시도 1건 추가 (그 시도가 끝나면 release() 호출)
+        public void retain() {
+            holders.incrementAndGet();
+        }
+
+        public void release() {
+            if (holders.decrementAndGet() == 0) permits.release();
+        }
+    }
+
+    // 내부 메서드
+
+    // 리턴값: 자리를 얻으면 null, 못 얻으면 사유(queue_full / timeout / interrupted)
+    private String acquire() {
+        try {
+            // 바로 얻을 수 있으면 대기 없이 실행 (fair 세마포어라 먼저 기다리던 호출을 앞지르지 않음)
+            if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) return null;
+
+            if (waiting.incrementAndGet() > maxQueue) {
+                waiting.decrementAndGet();
+                return "queue_full";
+            }
+            try {
+                return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS) ? null : "timeout";
+            } finally {
+                waiting.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        }
+    }
+}
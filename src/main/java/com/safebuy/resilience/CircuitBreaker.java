@@ -0,0 +1,193 @@
+package com.safebuy.resilience;
+
+import com.safebuy.monitoring.RequestTiming;
+import com.safebuy.monitoring.SearchMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// 외부 호출 대상별 서킷 브레이커
+// - CLOSED   : 최근 windowSize건의 결과(실패/느린 호출)를 기록, minimumCalls건 이상 모였을 때
+//              실패율 또는 느린 호출 비율이 기준 이상이면 OPEN
+// - OPEN     : openDuration 동안 호출하지 않고 바로 fallback (상대가 망가졌을 때 요청마다 타임아웃까지 기다리지 않음)
+// - HALF_OPEN: openDuration이 지나면 halfOpenCalls건만 시험 호출, 모두 정상이면 CLOSED, 하나라도 실패/느리면 다시 OPEN
+// - 호출 예외는 실패로 기록하고 fallback 결과를 돌려줌 (호출부의 기존 실패 처리와 같은 값)
+@Slf4j
+public class CircuitBreaker {
+
+    // gauge 값: CLOSED=0, OPEN=1, HALF_OPEN=2
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    // 최근 호출 결과 비트 (실패/느림이 동시에 가능)
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final SearchMetrics searchMetrics;
+
+    // 아래 상태는 모두 this로 동기화 (호출 1건이 수십 ms~수 초라 경합은 무시할 수준)
+    private final byte[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+    private int windowSlow;
+    private State state = State.CLOSED;
+    private long openUntilNanos;
+    private int halfOpenPermits;
+    private int halfOpenSucceeded;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+                          double slowCallRateThreshold, Duration slowCallDuration, Duration openDuration,
+                          int halfOpenCalls, SearchMetrics searchMetrics) {
+        this.name = name;
+        this.window = new byte[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.searchMetrics = searchMetrics;
+        searchMetrics.registerCircuitBreaker(this);
+    }
+
+    /* 회로가 닫혀 있으면 call 실행, 열려 있거나 call이 예외를 던지면 fallback 실행 */
+    public <T> T execute(Supplier<T> call, Supplier<T> fallback) {
+        if (!tryAcquire()) {
+            rejected.incrementAndGet();
+            searchMetrics.recordCircuitRejected(name);
+            RequestTiming.describe("circuit_" + name, "open");
+            return fallback.get();
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = call.get();
+            failed = false;
+            return result;
+        } catch (RuntimeException e) {
+            log.warn("[CircuitBreaker] {} 호출 실패 → fallback: {}", name, e.toString());
+            return fallback.get();
+        } finally {
+            onResult(System.nanoTime() - start, failed);
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public synchronized State state() {
+        // OPEN 유지 시간이 지났으면 다음 호출에서 HALF_OPEN으로 바뀌지만, 관측값은 호출 전까지 OPEN으로 둠
+        return state;
+    }
+
+    // 최근 window 안의 실패율 (0~1, 기록이 없으면 0)
+    public synchronized double failureRate() {
+        return windowCount == 0 ? 0 : (double) windowFailures / windowCount;
+    }
+
+    // 최근 window 안의 느린 호출 비율 (0~1, 기록이 없으면 0)
+    public synchronized double slowCallRate() {
+        return windowCount == 0 ? 0 : (double) windowSlow / windowCount;
+    }
+
+    // 회로가 열려 있어 호출하지 않은 횟수 (누적)
+    public long rejectedCount() {
+        return rejected.get();
+    }
+
+    // 내부 메서드
+
+    private synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openUntilNanos < 0) return false;
+                transition(State.HALF_OPEN);
+                halfOpenPermits = halfOpenCalls - 1;
+                halfOpenSucceeded = 0;
+                return true;
+            default:
+                if (halfOpenPermits <= 0) return false;
+                halfOpenPermits--;
+                return true;
+        }
+    }
+
+    private synchronized void onResult(long nanos, boolean failed) {
+        boolean slow = nanos > slowCallNanos;
+        switch (state) {
+            case CLOSED:
+                record(failed, slow);
+                if (windowCount >= minimumCalls
+                        && (failureRate() >= failureRateThreshold || slowCallRate() >= slowCallRateThreshold)) {
+                    log.warn("[CircuitBreaker] {} 회로 열림 - 최근 {}건 실패율 {}%, 느린 호출 {}%", name, windowCount,
+                            Math.round(failureRate() * 100), Math.round(slowCallRate() * 100));
+                    open();
+                }
+                break;
+            case HALF_OPEN:
+                if (failed || slow) {
+                    log.warn("[CircuitBreaker] {} 시험 호출 {} → 다시 열림", name, failed ? "실패" : "지연");
+                    open();
+                } else if (++halfOpenSucceeded >= halfOpenCalls) {
+                    log.info("[CircuitBreaker] {} 시험 호출 {}건 정상 → 닫힘", name, halfOpenCalls);
+                    resetWindow();
+                    transition(State.CLOSED);
+                }
+                break;
+            default:
+                // 회로가 열리기 전에 시작한 호출의 결과는 무시
+                break;
+        }
+    }
+
+    private void record(boolean failed, boolean slow) {
+        byte outcome = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+        if (windowCount == window.length) {
+            // 가장 오래된 결과를 밀어냄
+            byte evicted = window[windowIndex];
+            if ((evicted & FAILED) != 0) windowFailures--;
+            if ((evicted & SLOW) != 0) windowSlow--;
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = outcome;
+        windowIndex = (windowIndex + 1) % window.length;
+        if (failed) windowFailures++;
+        if (slow) windowSlow++;
+    }
+
+    private void open() {
+        openUntilNanos = System.nanoTime() + openNanos;
+        transition(State.OPEN);
+    }
+
+    private void resetWindow() {
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+        windowSlow = 0;
+    }
+
+    private void transition(State next) {
+        if (state == next) return;
+        state = next;
+        searchMetrics.recordCircuitTransition(name, next);
+    }
+}
@@ -0,0 +1,215 @@
+package com.safebuy.resilience;
+
+import com.safebuy.monitoring.SearchMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// 지연 꼬리(tail latency)를 줄이기 위한 hedged request
+// - 첫 호출이 최근 호출 시간의 p95 안에 끝나지 않으면 같은 호출을 한 번 더 보내고, 먼저 성공한 결과를 사용
+//   → 느린 5%의 호출만 중복되므로 추가 호출은 대략 5% 수준
+// - 추가 호출 수는 토큰 버킷으로 제한 (호출마다 maxHedgeRatio만큼 적립, 중복 호출 1건에 1개 사용)
+//   → 상대 서버 전체가 느려졌을 때 중복 호출로 부하를 두 배로 만들지 않음
+// - 첫 호출이 실패로 끝나면 다시 보내지 않음 (재시도가 아니라 지연 대응용, 실패는 서킷 브레이커가 판단)
+// - 두 호출 모두 hedgeExecutor에서 실행하고 요청 스레드는 결과만 기다림
+//   진 쪽 호출은 중단하지 않고 끝까지 실행됨 (blocking HTTP 호출은 인터럽트로 끊기지 않음, 타임아웃으로 제한)
+// - bulkhead 안에서 실행하면 각 호출이 끝날 때까지 자리를 잡아 두고, 중복 호출은 대기 없이 자리를 하나 더 얻을 때만 보냄
+@Slf4j
+public class Hedger {
+
+    // p95 계산에 쓰는 최근 호출 시간 개수 / 몇 건마다 다시 계산할지 / 최소 기록 수
+    private static final int SAMPLE_SIZE = 256;
+    private static final int RECOMPUTE_EVERY = 32;
+    private static final int MIN_SAMPLES = 32;
+    private static final double QUANTILE = 0.95;
+    // 토큰 버킷 (1.0 = 중복 호출 1건), 한꺼번에 몰아 쓸 수 있는 최대치
+    private static final long TOKEN_UNIT = 1_000;
+    private static final long MAX_TOKENS = 10 * TOKEN_UNIT;
+
+    private final String name;
+    private final Executor executor;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final long tokensPerCall;
+    private final SearchMetrics searchMetrics;
+
+    private final long[] samples = new long[SAMPLE_SIZE];
+    private int sampleIndex;
+    private int sampleCount;
+    private int sinceRecompute;
+    private volatile long delayNanos;
+    private final AtomicLong tokens = new AtomicLong(MAX_TOKENS);
+
+    // minDelay~maxDelay: p95 지연을 이 범위로 제한 (기록이 부족하면 maxDelay 사용)
+    public Hedger(String name, Executor executor, Duration minDelay, Duration maxDelay, double maxHedgeRatio,
+                  SearchMetrics searchMetrics) {
+        this.name = name;
+        this.executor = executor;
+        this.minDelayNanos = minDelay.toNanos();
+        this.maxDelayNanos = Math.max(minDelayNanos, maxDelay.toNanos());
+        this.tokensPerCall = Math.round(maxHedgeRatio * TOKEN_UNIT);
+        this.searchMetrics = searchMetrics;
+        this.delayNanos = maxDelayNanos;
+        searchMetrics.registerHedger(this);
+    }
+
+    /* call을 실행하고, hedge 지연 시간 안에 끝나지 않으면 한 번 더 보내 먼저 성공한 결과를 반환 */
+    // call의 예외는 두 호출이 모두 실패한 경우에만 전달 (먼저 실패한 쪽은 무시하고 나머지를 기다림)
+    public <T> T execute(Supplier<T> call) {
+        return execute(call, null);
+    }
+
+    /* execute와 같지만 bulkhead 자리(permit) 안에서 실행 */
+    // 첫 호출은 permit을, 중복 호출은 같은 bulkhead에서 대기 없이 얻은 자리를 각자 끝날 때까지 잡아 둠
+    // 리턴값이 나온 뒤에도 진 쪽 호출이 실행 중이면 그 호출이 끝날 때 자리를 반납
+    public <T> T execute(Supplier<T> call, Bulkhead.Permit permit) {
+        refill();
+        CompletableFuture<T> primary = submit(call, permit);
+        if (primary == null) {
+            // 실행 스레드가 모두 사용 중이면 중복 호출 없이 요청 스레드에서 직접 실행
+            searchMetrics.recordHedge(name, "executor_full");
+            return call.get();
+        }
+
+        try {
+            return primary.get(delayNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // 아래에서 중복 호출
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("hedged 호출 대기 중 인터럽트", e);
+        }
+
+        if (!takeToken()) {
+            searchMetrics.recordHedge(name, "budget_exhausted");
+            return await(primary);
+        }
+        Bulkhead.Permit hedgePermit = null;
+        if (permit != null) {
+            hedgePermit = permit.bulkhead().tryAcquire();
+            if (hedgePermit == null) {
+                searchMetrics.recordHedge(name, "bulkhead_full");
+                return await(primary);
+            }
+        }
+        CompletableFuture<T> hedge;
+        try {
+            hedge = submit(call, hedgePermit);
+        } finally {
+            // 중복 호출이 자리를 넘겨받았거나(retain) 보내지 못했으면 여기서 반납
+            if (hedgePermit != null) hedgePermit.release();
+        }
+        if (hedge == null) {
+            searchMetrics.recordHedge(name, "executor_full");
+            return await(primary);
+        }
+        searchMetrics.recordHedge(name, "sent");
+
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((value, error) -> complete(winner, failures, value, error, false));
+        hedge.whenComplete((value, error) -> complete(winner, failures, value, error, true));
+        return await(winner);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    // 현재 hedge 지연 시간 (초)
+    public double delaySeconds() {
+        return delayNanos / 1e9;
+    }
+
+    // 내부 메서드
+
+    // permit이 있으면 호출이 끝날 때까지 자리를 잡아 둠
+    private <T> CompletableFuture<T> submit(Supplier<T> call, Bulkhead.Permit permit) {
+        if (permit != null) permit.retain();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                try {
+                    return call.get();
+                } finally {
+                    recordLatency(System.nanoTime() - start);
+                    if (permit != null) permit.release();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            if (permit != null) permit.release();
+            return null;
+        }
+    }
+
+    private <T> void complete(CompletableFuture<T> winner, AtomicInteger failures, T value, Throwable error,
+                              boolean isHedge) {
+        if (error == null) {
+            if (winner.complete(value) && isHedge) {
+                searchMetrics.recordHedge(name, "won");
+            }
+        } else if (failures.incrementAndGet() == 2) {
+            winner.completeExceptionally(error);
+        }
+    }
+
+    // 각 호출(첫 호출/중복 호출)의 자기 소요 시간을 기록하고 주기적으로 p95 재계산
+    private void recordLatency(long nanos) {
+        long[] snapshot = null;
+        synchronized (samples) {
+            samples[sampleIndex] = nanos;
+            sampleIndex = (sampleIndex + 1) % SAMPLE_SIZE;
+            if (sampleCount < SAMPLE_SIZE) sampleCount++;
+            if (++sinceRecompute >= RECOMPUTE_EVERY && sampleCount >= MIN_SAMPLES) {
+                sinceRecompute = 0;
+                snapshot = Arrays.copyOf(samples, sampleCount);
+            }
+        }
+        if (snapshot == null) return;
+
+        // 정렬은 잠금 밖에서 (256개라 수 μs)
+        Arrays.sort(snapshot);
+        long p95 = snapshot[Math.min(snapshot.length - 1, (int) (snapshot.length * QUANTILE))];
+        delayNanos = Math.max(minDelayNanos, Math.min(maxDelayNanos, p95));
+    }
+
+    private void refill() {
+        tokens.getAndUpdate(t -> Math.min(MAX_TOKENS, t + tokensPerCall));
+    }
+
+    private boolean takeToken() {
+        return tokens.getAndUpdate(t -> t >= TOKEN_UNIT ? t - TOKEN_UNIT : t) >= TOKEN_UNIT;
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("hedged 호출 대기 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof CompletionException && cause.getCause() != null) cause = cause.getCause();
+        if (cause instanceof RuntimeException re) return re;
+        if (cause instanceof Error err) throw err;
+        return new CompletionException(cause);
+    }
+}
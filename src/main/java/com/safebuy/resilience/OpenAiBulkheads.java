@@ -0,0 +1,40 @@
+package com.safebuy.resilience;
+
+import com.safebuy.monitoring.SearchMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// OpenAI 호출 용도별 bulkhead
+// 검색어 확장과 이미지 분석이 서로의 자리를 빼앗지 않도록 나누고, 둘 다 막혀도 캐시/DB만 쓰는 검색은 계속 처리되게 함
+// - enhancer: 검색 1건에 필드별로 최대 3번 호출, 짧게 대기 후 원본 검색어로 진행
+// - image   : 호출 1건이 무겁고(수 초) 건수는 적음, 조금 더 기다린 뒤 이미지 분석 생략
+@Component
+public class OpenAiBulkheads {
+
+    private final Bulkhead enhancer;
+    private final Bulkhead image;
+
+    public OpenAiBulkheads(
+            SearchMetrics searchMetrics,
+            @Value("${safebuy.openai.bulkhead.enhancer.max-concurrent:20}") int enhancerMaxConcurrent,
+            @Value("${safebuy.openai.bulkhead.enhancer.max-queue:40}") int enhancerMaxQueue,
+            @Value("${safebuy.openai.bulkhead.enhancer.max-wait-ms:300}") long enhancerMaxWaitMs,
+            @Value("${safebuy.openai.bulkhead.image.max-concurrent:8}") int imageMaxConcurrent,
+            @Value("${safebuy.openai.bulkhead.image.max-queue:16}") int imageMaxQueue,
+            @Value("${safebuy.openai.bulkhead.image.max-wait-ms:1000}") long imageMaxWaitMs) {
+        this.enhancer = new Bulkhead("openai_enhancer", enhancerMaxConcurrent, enhancerMaxQueue,
+                Duration.ofMillis(enhancerMaxWaitMs), searchMetrics);
+        this.image = new Bulkhead("openai_image", imageMaxConcurrent, imageMaxQueue,
+                Duration.ofMillis(imageMaxWaitMs), searchMetrics);
+    }
+
+    public Bulkhead enhancer() {
+        return enhancer;
+    }
+
+    public Bulkhead image() {
+        return image;
+    }
+}
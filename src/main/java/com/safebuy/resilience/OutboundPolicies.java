@@ -0,0 +1,80 @@
+package com.safebuy.resilience;
+
+import com.safebuy.monitoring.SearchMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+// 외부 호출 대상별 서킷 브레이커/hedge 설정
+// 설정 키: safebuy.resilience.<대상>.breaker.* / safebuy.resilience.<대상>.hedge.* (없으면 아래 기본값)
+// - enhancer: 검색어 확장(gpt-4o chat), 짧은 호출이라 hedge 사용 → 회로가 열리면 원본 검색어로 진행
+// - image   : 이미지 분석(gpt-4o vision), 호출 1건 비용이 커서 hedge 기본 꺼짐 → 회로가 열리면 이미지 분석 생략
+// - naver   : 네이버 쇼핑 검색, hedge 사용 → 회로가 열리면 대체 상품 없이 응답
+@Component
+public class OutboundPolicies {
+
+    private final OutboundPolicy enhancer;
+    private final OutboundPolicy image;
+    private final OutboundPolicy naver;
+
+    public OutboundPolicies(Environment environment, SearchMetrics searchMetrics,
+                            @Qualifier("hedgeExecutor") Executor hedgeExecutor) {
+        Factory factory = new Factory(environment, searchMetrics, hedgeExecutor);
+        this.enhancer = factory.create("enhancer", 5_000, true, 300, 3_000);
+        this.image = factory.create("image", 15_000, false, 2_000, 10_000);
+        this.naver = factory.create("naver", 1_500, true, 100, 1_000);
+    }
+
+    public OutboundPolicy enhancer() {
+        return enhancer;
+    }
+
+    public OutboundPolicy image() {
+        return image;
+    }
+
+    public OutboundPolicy naver() {
+        return naver;
+    }
+
+    // 내부 클래스
+
+    private record Factory(Environment environment, SearchMetrics searchMetrics, Executor hedgeExecutor) {
+
+        // 파라미터 slowCallMs: 이보다 오래 걸린 호출을 느린 호출로 셈
+        // 파라미터 hedgeMinMs~hedgeMaxMs: p95 기반 hedge 지연 시간의 하한/상한
+        OutboundPolicy create(String target, long slowCallMs, boolean hedgeEnabled, long hedgeMinMs, long hedgeMaxMs) {
+            String breaker = "safebuy.resilience." + target + ".breaker.";
+            CircuitBreaker circuitBreaker = new CircuitBreaker(
+                    target,
+                    property(breaker + "window-size", Integer.class, 50),
+                    property(breaker + "minimum-calls", Integer.class, 20),
+                    property(breaker + "failure-rate-threshold", Double.class, 0.5),
+                    property(breaker + "slow-call-rate-threshold", Double.class, 0.8),
+                    Duration.ofMillis(property(breaker + "slow-call-ms", Long.class, slowCallMs)),
+                    Duration.ofMillis(property(breaker + "open-ms", Long.class, 30_000L)),
+                    property(breaker + "half-open-calls", Integer.class, 3),
+                    searchMetrics);
+
+            String hedge = "safebuy.resilience." + target + ".hedge.";
+            Hedger hedger = null;
+            if (property(hedge + "enabled", Boolean.class, hedgeEnabled)) {
+                hedger = new Hedger(
+                        target,
+                        hedgeExecutor,
+                        Duration.ofMillis(property(hedge + "min-delay-ms", Long.class, hedgeMinMs)),
+                        Duration.ofMillis(property(hedge + "max-delay-ms", Long.class, hedgeMaxMs)),
+                        property(hedge + "max-ratio", Double.class, 0.1),
+                        searchMetrics);
+            }
+            return new OutboundPolicy(circuitBreaker, hedger);
+        }
+
+        private <T> T property(String key, Class<T> type, T defaultValue) {
+            return environment.getProperty(key, type, defaultValue);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.safebuy.resilience;
+
+import java.util.function.Supplier;
+
+// 외부 호출 대상 1곳의 서킷 브레이커 + (선택) hedged request 조합
+// 순서: 서킷 브레이커 → hedge → 호출 (회로가 열려 있으면 hedge 호출도 보내지 않음)
+// bulkhead를 함께 쓰는 호출은 bulkhead 안에서 실행 (bulkhead 대기 시간이 느린 호출로 잡히지 않도록)
+// 이때 hedge 중복 호출도 bulkhead 자리를 따로 얻어야 보내고, 자리는 진 쪽 호출까지 끝나야 반납
+public class OutboundPolicy {
+
+    private final CircuitBreaker circuitBreaker;
+    private final Hedger hedger; // hedge를 쓰지 않으면 null
+
+    public OutboundPolicy(CircuitBreaker circuitBreaker, Hedger hedger) {
+        this.circuitBreaker = circuitBreaker;
+        this.hedger = hedger;
+    }
+
+    /* 회로가 닫혀 있으면 call 실행(필요하면 hedge), 열려 있거나 실패하면 fallback 실행 */
+    public <T> T execute(Supplier<T> call, Supplier<T> fallback) {
+        return circuitBreaker.execute(hedger != null ? () -> hedger.execute(call) : call, fallback);
+    }
+
+    /* bulkhead 자리를 얻은 뒤 execute와 같이 실행, 자리를 못 얻어도 fallback 실행 */
+    public <T> T execute(Bulkhead bulkhead, Supplier<T> call, Supplier<T> fallback) {
+        return bulkhead.executeHolding(
+                permit -> circuitBreaker.execute(hedger != null ? () -> hedger.execute(call, permit) : call, fallback),
+                fallback);
+    }
+
+    public CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+}
@@ -0,0 +1,101 @@
+package com.safebuy.service;
+
+import com.safebuy.entity.RecallProduct;
+import com.safebuy.repository.RecallProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+
+// 수집이 끝난 뒤 최신 리콜 N건의 대체 상품을 미리 조회해 RecallAlternativeStore에 저장하는 서비스
+// - 검색 요청 시 네이버 호출 없이 저장된 결과를 바로 사용할 수 있도록 함
+// - 네이버 API 호출량 제한을 넘지 않도록 리콜 간 간격(shop.prewarm.interval-ms)을 두고 순차 실행
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AlternativePrewarmService {
+
+    private final RecallProductRepository recallProductRepository;
+    private final AlternativeProductService alternativeProductService;
+    private final RecallAlternativeStore alternativeStore;
+
+    @Value("${shop.prewarm.enabled:true}")
+    private boolean enabled;
+
+    // 미리 조회할 최신 리콜 수 (공표일 내림차순)
+    @Value("${shop.prewarm.max-recalls:200}")
+    private int maxRecalls;
+
+    // 리콜 1건 조회 후 다음 리콜까지 대기 시간 (키워드 fan-out 포함 1건당 최대 호출 수를 고려해 설정)
+    @Value("${shop.prewarm.interval-ms:500}")
+    private long intervalMs;
+
+    // 실행 결과 (로그/테스트용)
+    public record PrewarmResult(int candidates, int skipped, int stored, int failed) {
+    }
+
+    /* 최신 리콜 대체 상품 미리 조회 */
+    // 아직 유효한 저장 결과가 있는 리콜은 건너뜀, 개별 실패(일부만 조회/0건 포함)는 기록만 하고 다음 리콜로 진행
+    public PrewarmResult prewarm() {
+        if (!enabled || maxRecalls <= 0) {
+            return new PrewarmResult(0, 0, 0, 0);
+        }
+
+        List<RecallProduct> recalls = recallProductRepository
+                .findByOrderByRecallPublictBgndeDesc(PageRequest.of(0, maxRecalls));
+        Set<String> fresh = alternativeStore.freshRecallSns(
+                recalls.stream().map(RecallProduct::getRecallSn).toList());
+
+        int skipped = 0;
+        int stored = 0;
+        int failed = 0;
+        long started = System.currentTimeMillis();
+
+        for (RecallProduct recall : recalls) {
+            if (fresh.contains(recall.getRecallSn())) {
+                skipped++;
+                continue;
+            }
+            if (stored + failed > 0 && !pause()) {
+                break; // 중단 요청(interrupt) 시 남은 리콜은 다음 실행에서 처리
+            }
+
+            try {
+                AlternativeProductService.AlternativeLookup lookup = alternativeProductService.lookupAlternatives(
+                        recall.getProductNm(), recall.getCategory(), recall.getMakr());
+                // 호출 실패/마감 초과로 일부만 받은 결과나 빈 결과는 저장하지 않음 (검색 시 실시간 조회, 다음 실행에서 재시도)
+                if (!lookup.complete() || lookup.items().isEmpty()) {
+                    failed++;
+                    log.warn("[Prewarm] 대체 상품 {} - recallSn={}, 저장하지 않음",
+                            lookup.complete() ? "없음" : "일부만 조회됨", recall.getRecallSn());
+                    continue;
+                }
+                alternativeStore.save(recall.getRecallSn(), lookup.items());
+                stored++;
+            } catch (Exception e) {
+                failed++;
+                log.warn("[Prewarm] 대체 상품 조회 실패 - recallSn={}: {}", recall.getRecallSn(), e.getMessage());
+            }
+        }
+
+        log.info("[Prewarm] 대체 상품 미리 조회 완료 - 대상: {}, 건너뜀: {}, 저장: {}, 실패: {}, 소요: {}ms",
+                recalls.size(), skipped, stored, failed, System.currentTimeMillis() - started);
+        return new PrewarmResult(recalls.size(), skipped, stored, failed);
+    }
+
+    // 내부 메서드
+    private boolean pause() {
+        if (intervalMs <= 0) return true;
+        try {
+            Thread.sleep(intervalMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,20 +1,53 @@
 package com.safebuy.service;
 
-import com.fasterxml.jackson.annotation.JsonProperty;
 import com.safebuy.dto.AlternativeProductDto;
-import lombok.RequiredArgsConstructor;
+import com.safebuy.entity.RecallProduct;
+import com.safebuy.monitoring.RequestTiming;
+import com.safebuy.monitoring.SearchMetrics;
+import com.safebuy.resilience.OutboundPolicies;
+import com.safebuy.util.NaverShopJsonParser;
+import com.safebuy.util.SingleFlight;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 @Service
-@RequiredArgsConstructor
 public class AlternativeProductService {
 
     private final RestTemplate restTemplate;
+    private final SearchMetrics searchMetrics;
+    private final RecallAlternativeStore alternativeStore;
+    private final TaskExecutor alternativesExecutor;
+    private final TaskExecutor progressiveSearchExecutor;
+    private final OutboundPolicies outboundPolicies;
+
+    public AlternativeProductService(RestTemplate restTemplate,
+                                     SearchMetrics searchMetrics,
+                                     RecallAlternativeStore alternativeStore,
+                                     @Qualifier("alternativesExecutor") TaskExecutor alternativesExecutor,
+                                     @Qualifier("progressiveSearchExecutor") TaskExecutor progressiveSearchExecutor,
+                                     OutboundPolicies outboundPolicies) {
+        this.restTemplate = restTemplate;
+        this.searchMetrics = searchMetrics;
+        this.alternativeStore = alternativeStore;
+        this.alternativesExecutor = alternativesExecutor;
+        this.progressiveSearchExecutor = progressiveSearchExecutor;
+        this.outboundPolicies = outboundPolicies;
+    }
 
     @Value("${shop.client-id}")
     private String clientId;
@@ -22,41 +55,107 @@ public class AlternativeProductService {
     @Value("${shop.client-secret}")
     private String clientSecret;
 
-    private static class AlternativeProduct {
-        public String title;
-        public String maker;
-        @JsonProperty("lprice")
-        public String price;
-        public String image;
-        public String link;
-        public String category1;
-        public String category2;
-        public String category3;
-        public String category4;
+    // 네이버 검색 API 주소 (부하 테스트 시 스텁 서버 주소로 교체)
+    @Value("${shop.base-url:https://openapi.naver.com}")
+    private String shopBaseUrl;
+
+    // 키워드별 검색 동시 실행 수 (요청 1건 기준)
+    @Value("${shop.fanout.parallelism:4}")
+    private int fanoutParallelism;
+
+    // 키워드별 검색 전체 마감 시간: 이 시간까지 도착한 결과만 반환
+    @Value("${shop.fanout.deadline-ms:1500}")
+    private long fanoutDeadlineMs;
+
+    // 키워드 1건당 최대 대체 상품 수: 필터를 통과한 항목이 이만큼 모이면 응답의 나머지는 파싱하지 않음
+    @Value("${shop.parse.max-items:30}")
+    private int maxItemsPerKeyword;
+
+    /* 네이버 검색 결과 캐시: (키워드, 카테고리) -> 카테고리 필터까지 적용된 DTO 리스트, TTL 30분 */
+    // 제조사 제외 필터는 리콜 제품마다 다르므로 캐시에서 꺼낸 뒤 적용
+    // 캐시된 DTO는 여러 요청이 공유하므로 꺼낸 쪽에서 수정하지 않음
+    private static final class CacheEntry {
+        final List<AlternativeProductDto> value; // 캐시 데이터
+        final long expiresAtMillis; // 만료 시간
+
+        CacheEntry(List<AlternativeProductDto> value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>(); // 캐시 저장공간
+    private static final Duration CACHE_TTL = Duration.ofMinutes(30);
+    private static final int CACHE_MAX_SIZE = 2_000;
+
+    // 같은 키를 동시에 조회하면 네이버 호출은 한 번만
+    private final SingleFlight<String, List<AlternativeProductDto>> inFlight = new SingleFlight<>();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
+    @PostConstruct
+    void registerMetrics() {
+        searchMetrics.registerCache("naver", this, s -> s.cache.size(), AlternativeProductService::cacheHitRatio);
+        searchMetrics.registerSingleFlight("naver", inFlight);
+    }
+
+    // 누적 캐시 적중률 (조회가 없었으면 0)
+    public double cacheHitRatio() {
+        long hits = cacheHits.get();
+        long total = hits + cacheMisses.get();
+        return total == 0 ? 0 : (double) hits / total;
     }
 
-    private static class AlternativeProductResponse {
-        public List<AlternativeProduct> items;
+    /* 리콜 제품의 대체 상품 조회 */
+    // 수집 후 미리 조회해 둔 결과(RecallAlternativeStore)가 유효하면 그대로 사용, 없으면 네이버 검색
+    public List<AlternativeProductDto> findAlternatives(RecallProduct recall) {
+        Optional<List<AlternativeProductDto>> stored = alternativeStore.find(recall.getRecallSn());
+        searchMetrics.recordCache("alternative_store", "ANY", stored.isPresent());
+        RequestTiming.describe("alternatives", stored.isPresent() ? "store" : "live");
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+        return findAlternatives(recall.getProductNm(), recall.getCategory(), recall.getMakr());
     }
 
     public List<AlternativeProductDto> findAlternatives(String productName, String dbCategory, String dbMaker) {
+        return lookupAlternatives(productName, dbCategory, dbMaker).items();
+    }
+
+    // 대체 상품 조회 결과 + 모든 검색이 끝까지 성공했는지 여부
+    // complete=false: 네이버 호출 실패(회로 열림 포함) 또는 마감 시간까지 도착하지 않은 키워드가 있어 결과가 일부만 있음
+    // → 요청 응답에는 그대로 쓰되, 미리 조회 결과로 저장해 두고 재사용하지는 않음
+    public record AlternativeLookup(List<AlternativeProductDto> items, boolean complete) {
+    }
+
+    public AlternativeLookup lookupAlternatives(String productName, String dbCategory, String dbMaker) {
         if (productName == null || productName.isBlank()) {
-            return List.of();
+            return new AlternativeLookup(List.of(), true);
         }
 
-        // 제품명의 전체 문자열로 검색
+        // 제품명의 전체 문자열로 검색 (호출 실패 시 null)
         List<AlternativeProductDto> results = searchByKeyword(productName, dbCategory, dbMaker);
-        if (!results.isEmpty()) {
-            return results; // 검색 결과가 존재하는 경우, 반환
+        if (results != null && !results.isEmpty()) {
+            return new AlternativeLookup(results, true); // 검색 결과가 존재하는 경우, 반환
         }
+        boolean complete = results != null;
+
+        // 전체 문자열 검색 결과가 존재하지 않는 경우: 단어별 검색을 병렬로 실행
+        List<String> keywords = Arrays.stream(productName.trim().split("\\s+"))
+                .filter(k -> !k.isBlank())
+                .distinct()
+                .toList();
+        List<List<AlternativeProductDto>> perKeyword = searchKeywordsConcurrently(keywords, dbCategory, dbMaker);
 
-        // 전체 문자열 검색 결과가 존재하지 않는 경우
-        String[] keywords = productName.split("\\s+");
+        // 키워드 순서대로 합치면서 링크 기준 중복 제거
         Set<String> seenLinks = new HashSet<>();
         List<AlternativeProductDto> finalResults = new ArrayList<>();
 
-        for (String keyword : keywords) {
-            List<AlternativeProductDto> partialResults = searchByKeyword(keyword, dbCategory, dbMaker);
+        for (List<AlternativeProductDto> partialResults : perKeyword) {
+            if (partialResults == null) {
+                complete = false; // 호출에 실패했거나 마감 시간까지 도착하지 않은 키워드
+                continue;
+            }
             for (AlternativeProductDto dto : partialResults) {
                 if (seenLinks.contains(dto.getLink())) continue;
                 seenLinks.add(dto.getLink());
@@ -64,57 +163,146 @@ public class AlternativeProductService {
             }
         }
 
-        return finalResults;
+        return new AlternativeLookup(finalResults, complete);
     }
 
-    // 공통 검색
-    private List<AlternativeProductDto> searchByKeyword(String keyword, String dbCategory, String dbMaker) {
-        String url = "https://openapi.naver.com/v1/search/shop.json"
-                + "?query=" + keyword
-                + "&display=100"
-                + "&sort=sim"
-                + "&exclude=used:rental:cbshop";
+    // findAlternatives를 요청 스레드 밖(progressiveSearchExecutor)에서 실행
+    // 작업 큐가 가득 차 있으면 실패한 future를 돌려줌
+    public CompletableFuture<List<AlternativeProductDto>> findAlternativesAsync(RecallProduct recall) {
+        try {
+            return CompletableFuture.supplyAsync(() -> findAlternatives(recall), progressiveSearchExecutor);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("X-Naver-Client-Id", clientId);
-        headers.set("X-Naver-Client-Secret", clientSecret);
+    /* 키워드별 검색을 최대 fanoutParallelism개씩 동시에 실행하는 메서드 */
+    // 키워드를 lane(작업 1개)에 번갈아 배정하고 lane 안에서는 순서대로 호출 → 동시 호출 수가 lane 수로 제한됨
+    // lane은 키워드마다 마감 시간을 확인해 마감 뒤에는 다음 키워드를 호출하지 않음 (이미 보낸 호출만 끝까지 실행)
+    // 리턴값: 키워드 순서와 같은 인덱스의 결과 리스트 (호출에 실패했거나 마감 시간까지 끝나지 않았거나 실행되지 못한 키워드는 null)
+    private List<List<AlternativeProductDto>> searchKeywordsConcurrently(List<String> keywords, String dbCategory, String dbMaker) {
+        AtomicReferenceArray<List<AlternativeProductDto>> results = new AtomicReferenceArray<>(keywords.size());
+        int lanes = Math.max(1, Math.min(fanoutParallelism, keywords.size()));
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fanoutDeadlineMs);
 
-        HttpEntity<String> entity = new HttpEntity<>(headers);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(lanes);
+        int rejectedLanes = 0;
+        for (int lane = 0; lane < lanes; lane++) {
+            int first = lane;
+            Runnable task = RequestTiming.propagate(() -> {
+                for (int i = first; i < keywords.size(); i += lanes) {
+                    if (System.nanoTime() - deadlineNanos >= 0) return;
+                    results.set(i, searchByKeyword(keywords.get(i), dbCategory, dbMaker));
+                }
+            });
+            try {
+                futures.add(CompletableFuture.runAsync(task, alternativesExecutor));
+            } catch (RejectedExecutionException e) {
+                // 실행 스레드/큐가 가득 참: 이 lane의 키워드는 결과 없음으로 처리
+                rejectedLanes++;
+            }
+        }
+        if (rejectedLanes > 0) {
+            RequestTiming.describe("naver", rejectedLanes + "/" + lanes + " lanes rejected");
+        }
 
-        AlternativeProductResponse response;
+        CompletableFuture<Void> all = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
         try {
-            ResponseEntity<AlternativeProductResponse> resp = restTemplate.exchange(
-                    url, HttpMethod.GET, entity, AlternativeProductResponse.class
-            );
-            response = resp.getBody();
+            all.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // 마감 시간 초과: 지금까지 도착한 결과만 사용 (남은 호출은 백그라운드에서 끝나며 결과는 캐시에 남음)
+            RequestTiming.describe("naver", "deadline " + fanoutDeadlineMs + "ms exceeded");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
-            e.printStackTrace();
-            return List.of();
+            // 개별 키워드 실패는 searchByKeyword에서 null 결과로 처리되므로 여기까지 오지 않음
         }
 
-        if (response == null || response.items == null) return List.of();
+        List<List<AlternativeProductDto>> ordered = new ArrayList<>(keywords.size());
+        for (int i = 0; i < keywords.size(); i++) {
+            ordered.add(results.get(i));
+        }
+        return ordered;
+    }
 
-        List<AlternativeProductDto> results = new ArrayList<>();
-        for (AlternativeProduct item : response.items) {
-            if (item.maker == null || item.maker.isEmpty() || item.maker.equalsIgnoreCase("UNKNOWN") || dbMaker.equals(item.maker)) continue;
+    // 공통 검색: 캐시 조회 → (miss) 동시 요청 합쳐서 네이버 호출 (제조사 제외 필터는 파싱 중에 적용)
+    // 제외할 제조사에 따라 결과가 달라지므로 캐시 키에 포함
+    // 리턴값: 필터링된 결과, 네이버 호출 실패 시 null
+    private List<AlternativeProductDto> searchByKeyword(String keyword, String dbCategory, String dbMaker) {
+        String category = isCategoryFilter(dbCategory) ? dbCategory : "";
+        String cacheKey = keyword + "|" + category + "|" + Objects.toString(dbMaker, "");
 
-            if (dbCategory != null && !dbCategory.isBlank() && !dbCategory.equals("기타")) {
-                if (!(item.category1.contains(dbCategory) ||
-                        item.category2.contains(dbCategory) ||
-                        item.category3.contains(dbCategory) ||
-                        item.category4.contains(dbCategory))) continue;
-            }
+        List<AlternativeProductDto> items = getFromCache(cacheKey);
+        boolean hit = items != null;
+        (hit ? cacheHits : cacheMisses).incrementAndGet();
+        searchMetrics.recordCache("naver", "ANY", hit);
+
+        if (!hit) {
+            items = inFlight.execute(cacheKey, () -> {
+                // 먼저 끝난 동일 요청이 방금 캐시에 넣었을 수 있음
+                List<AlternativeProductDto> cached = getFromCache(cacheKey);
+                if (cached != null) return cached;
+
+                List<AlternativeProductDto> fetched = fetchByKeyword(keyword, category, dbMaker);
+                putToCache(cacheKey, fetched); // 호출 실패(null)는 캐시하지 않음
+                return fetched;
+            });
+        }
+        return items != null ? new ArrayList<>(items) : null;
+    }
 
-            AlternativeProductDto dto = new AlternativeProductDto();
-            dto.setTitle(item.title.replaceAll("<[^>]*>", ""));
-            dto.setMaker(item.maker);
-            dto.setPrice(item.price.replaceAll("(\\d)(?=(\\d{3})+$)", "$1,") + "원");
-            dto.setImage(item.image);
-            dto.setLink(item.link);
+    // 네이버 쇼핑 검색 API 호출 + 제조사 없음/리콜 제조사/카테고리 불일치 항목 제거
+    // 응답은 NaverShopJsonParser로 스트리밍 파싱 (필터 통과 항목이 maxItemsPerKeyword개 모이면 중단)
+    // 리턴값: 필터링된 DTO 리스트, 호출 실패 시 null
+    private List<AlternativeProductDto> fetchByKeyword(String keyword, String category, String dbMaker) {
+        String url = shopBaseUrl + "/v1/search/shop.json"
+                + "?query=" + keyword
+                + "&display=100"
+                + "&sort=sim"
+                + "&exclude=used:rental:cbshop";
 
-            results.add(dto);
+        long start = System.nanoTime();
+        try {
+            // 서킷 브레이커 → 느리면 hedge: 회로가 열려 있거나 호출이 실패하면 null
+            return outboundPolicies.naver().execute(() -> {
+                List<AlternativeProductDto> results = restTemplate.execute(url, HttpMethod.GET,
+                        request -> {
+                            request.getHeaders().set("X-Naver-Client-Id", clientId);
+                            request.getHeaders().set("X-Naver-Client-Secret", clientSecret);
+                        },
+                        response -> NaverShopJsonParser.parse(response.getBody(), category, dbMaker, maxItemsPerKeyword));
+                return results != null ? results : List.<AlternativeProductDto>of();
+            }, () -> null);
+        } finally {
+            // 키워드별 호출 시간을 합산해 Server-Timing의 naver 항목으로 기록
+            RequestTiming.record("naver", System.nanoTime() - start);
         }
+    }
 
-        return results;
+    private boolean isCategoryFilter(String dbCategory) {
+        return dbCategory != null && !dbCategory.isBlank() && !dbCategory.equals("기타");
+    }
+
+    /* 메모리 캐시 유틸 메서드 */
+    private List<AlternativeProductDto> getFromCache(String key) {
+        CacheEntry e = cache.get(key);
+        if (e == null) return null;
+        if (System.currentTimeMillis() > e.expiresAtMillis) {
+            cache.remove(key, e);
+            return null;
+        }
+        return e.value;
+    }
+
+    private void putToCache(String key, List<AlternativeProductDto> value) {
+        if (value == null) return;
+        // 캐시 크기 상한: 만료된 항목부터 정리하고, 그래도 가득 차 있으면 전부 비움
+        if (cache.size() >= CACHE_MAX_SIZE) {
+            long now = System.currentTimeMillis();
+            cache.values().removeIf(e -> now > e.expiresAtMillis);
+            if (cache.size() >= CACHE_MAX_SIZE) cache.clear();
+        }
+        long exp = System.currentTimeMillis() + CACHE_TTL.toMillis();
+        cache.put(key, new CacheEntry(List.copyOf(value), exp));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,227 @@
+package com.safebuy.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safebuy.entity.ImageAnalysisCacheEntry;
+import com.safebuy.monitoring.RequestTiming;
+import com.safebuy.monitoring.SearchMetrics;
+import com.safebuy.repository.ImageAnalysisCacheRepository;
+import com.safebuy.util.ImageHash;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.awt.image.BufferedImage;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* 이미지 분석(LLM) 결과 캐시 */
+// - 1차: 이미지 바이트의 SHA-256이 같으면 그대로 재사용
+// - 2차: dHash 해밍 거리가 임계값 이하인 이미지(재압축/리사이즈 등)의 결과 재사용
+//   임계값 안에 분석 결과가 다른 항목이 둘 이상 있으면 어느 제품인지 확실하지 않으므로 재사용하지 않음
+// - 메모리(ConcurrentHashMap)에서 조회하고 image_analysis_cache 테이블에 함께 저장 → 재시작 후에도 유지
+// - 항목 수 상한을 넘으면 가장 오래 사용되지 않은 항목부터 메모리/테이블에서 함께 삭제
+// - 테이블의 마지막 사용 시각/재사용 횟수는 항목별로 touch-interval에 한 번만 갱신 (적중할 때마다 UPDATE하지 않음)
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageAnalysisCache {
+
+    private final ImageAnalysisCacheRepository repository;
+    private final ObjectMapper objectMapper;
+    private final SearchMetrics searchMetrics;
+
+    @Value("${safebuy.image-cache.enabled:true}")
+    private boolean enabled;
+
+    // 최대 항목 수 (메모리/테이블 공통)
+    @Value("${safebuy.image-cache.max-entries:5000}")
+    private int maxEntries;
+
+    // 유사 이미지로 볼 dHash 최대 해밍 거리 (64비트 중, 0이면 정확 일치만 사용)
+    // 배경/구도가 같은 다른 제품 사진은 거리 6 안팎까지 가까워지므로 재압축/리사이즈 수준(0~2)만 허용
+    @Value("${safebuy.image-cache.hamming-threshold:3}")
+    private int hammingThreshold;
+
+    // 테이블의 마지막 사용 시각 갱신 간격 (분), 그 사이의 적중 횟수는 모아 두었다가 함께 반영
+    // 재시작 후 로드 순서/상한 초과 시 삭제 순서에만 쓰이므로 이 정도 오차는 문제 없음
+    @Value("${safebuy.image-cache.touch-interval-minutes:60}")
+    private long touchIntervalMinutes;
+
+    // 조회 키: 이미지 1건에 대해 한 번만 계산해서 find/put에 같이 사용
+    public record Key(String sha256, Long dhash) {
+    }
+
+    private static final class Entry {
+        final String sha256;
+        final Long dhash;
+        final String result;
+        volatile long lastUsedMillis;
+        final AtomicLong persistedUsedMillis;        // 테이블에 마지막으로 반영한 사용 시각
+        final AtomicLong pendingHits = new AtomicLong(); // 아직 테이블에 반영하지 않은 적중 횟수
+
+        Entry(String sha256, Long dhash, String result, long lastUsedMillis) {
+            this.sha256 = sha256;
+            this.dhash = dhash;
+            this.result = result;
+            this.lastUsedMillis = lastUsedMillis;
+            this.persistedUsedMillis = new AtomicLong(lastUsedMillis);
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @PostConstruct
+    void load() {
+        searchMetrics.registerCache("image_analysis", this, c -> c.entries.size(), ImageAnalysisCache::hitRatio);
+        if (!enabled) return;
+        try {
+            for (ImageAnalysisCacheEntry e : repository.findByOrderByLastUsedAtDesc(PageRequest.of(0, maxEntries))) {
+                long used = e.getLastUsedAt() != null
+                        ? e.getLastUsedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                        : 0L;
+                entries.put(e.getSha256(), new Entry(e.getSha256(), e.getDhash(), e.getResultJson(), used));
+            }
+            log.info("[ImageCache] 저장된 이미지 분석 결과 {}건 로드", entries.size());
+        } catch (Exception e) {
+            log.warn("[ImageCache] 저장된 이미지 분석 결과 로드 실패: {}", e.getMessage());
+        }
+    }
+
+    // 누적 적중률 (조회가 없었으면 0)
+    public double hitRatio() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    // 파라미터 sha256: 업로드 원본의 SHA-256 (ImagePreprocessor가 스트림을 읽으면서 계산)
+    // 파라미터 decoded: 전처리(방향 보정/축소)된 이미지, 디코딩할 수 없는 형식이면 null (정확 일치만 사용)
+    public Key keyOf(String sha256, BufferedImage decoded) {
+        Long dhash = hammingThreshold > 0 && decoded != null ? ImageHash.dHash(decoded) : null;
+        return new Key(sha256, dhash);
+    }
+
+    /* 캐시 조회 */
+    // 리턴값: 저장된 LLM 응답(JSON 문자열), 정확 일치/유사 이미지가 없으면 null
+    public String find(Key key) {
+        if (!enabled) return null;
+
+        Entry found = entries.get(key.sha256());
+        String match = "exact";
+        if (found == null && key.dhash() != null) {
+            found = findNearest(key.dhash());
+            match = "perceptual";
+        }
+
+        boolean hit = found != null;
+        (hit ? hits : misses).incrementAndGet();
+        searchMetrics.recordCache("image_analysis", hit ? match : "ANY", hit);
+        RequestTiming.describe("image_analysis", hit ? "cache " + match : "cache miss");
+        if (!hit) return null;
+
+        long now = System.currentTimeMillis();
+        found.lastUsedMillis = now;
+        found.pendingHits.incrementAndGet();
+        touchIfDue(found, now);
+        return found.result;
+    }
+
+    /* 분석 결과 저장 */
+    // 제품명/제조사/모델명 중 하나라도 채워진 JSON 객체만 저장 (빈 결과/형식 오류는 다음 업로드에서 다시 분석)
+    public void put(Key key, String result) {
+        if (!enabled || !isUsable(result)) return;
+
+        if (entries.size() >= maxEntries && !entries.containsKey(key.sha256())) {
+            evictLeastRecentlyUsed();
+        }
+        entries.put(key.sha256(), new Entry(key.sha256(), key.dhash(), result, System.currentTimeMillis()));
+
+        try {
+            ImageAnalysisCacheEntry entity = new ImageAnalysisCacheEntry();
+            entity.setSha256(key.sha256());
+            entity.setDhash(key.dhash());
+            entity.setResultJson(result);
+            entity.setCreatedAt(LocalDateTime.now());
+            entity.setLastUsedAt(LocalDateTime.now());
+            repository.save(entity);
+        } catch (Exception e) {
+            log.warn("[ImageCache] 저장 실패 - sha256={}: {}", key.sha256(), e.getMessage());
+        }
+    }
+
+    // 내부 메서드
+
+    // 해밍 거리가 가장 가까운 항목 (임계값 이내인 것만, 항목 수 수천 건 기준 선형 탐색으로 충분)
+    // 임계값 이내에 분석 결과가 다른 항목이 있으면 null (모호한 일치)
+    private Entry findNearest(long dhash) {
+        Entry best = null;
+        int bestDistance = hammingThreshold + 1;
+        boolean ambiguous = false;
+        for (Entry e : entries.values()) {
+            if (e.dhash == null) continue;
+            int distance = ImageHash.hammingDistance(dhash, e.dhash);
+            if (distance > hammingThreshold) continue;
+            if (best != null && !best.result.equals(e.result)) ambiguous = true;
+            if (distance < bestDistance) {
+                best = e;
+                bestDistance = distance;
+            }
+        }
+        if (ambiguous) {
+            log.debug("[ImageCache] 해밍 거리 {} 이내에 결과가 다른 이미지가 여러 개 있어 재사용하지 않음", hammingThreshold);
+            return null;
+        }
+        return best;
+    }
+
+    // 마지막 반영 후 touch-interval이 지났으면 모아 둔 적중 횟수와 함께 테이블에 반영 (동시에 적중해도 한 요청만 UPDATE)
+    private void touchIfDue(Entry entry, long now) {
+        long persisted = entry.persistedUsedMillis.get();
+        if (now - persisted < TimeUnit.MINUTES.toMillis(touchIntervalMinutes)) return;
+        if (!entry.persistedUsedMillis.compareAndSet(persisted, now)) return;
+
+        long hits = entry.pendingHits.getAndSet(0);
+        try {
+            repository.markUsed(entry.sha256, LocalDateTime.now(), hits);
+        } catch (Exception e) {
+            entry.pendingHits.addAndGet(hits); // 다음 갱신 때 다시 반영
+            log.debug("[ImageCache] 사용 기록 실패 - sha256={}: {}", entry.sha256, e.getMessage());
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        Entry oldest = null;
+        for (Entry e : entries.values()) {
+            if (oldest == null || e.lastUsedMillis < oldest.lastUsedMillis) oldest = e;
+        }
+        if (oldest == null || !entries.remove(oldest.sha256, oldest)) return;
+        try {
+            repository.deleteById(oldest.sha256);
+        } catch (Exception e) {
+            log.debug("[ImageCache] 삭제 실패 - sha256={}: {}", oldest.sha256, e.getMessage());
+        }
+    }
+
+    private boolean isUsable(String result) {
+        if (result == null || result.isBlank()) return false;
+        try {
+            JsonNode node = objectMapper.readTree(result);
+            return node.isObject()
+                    && (!node.path("productName").asText("").isBlank()
+                    || !node.path("manufacturer").asText("").isBlank()
+                    || !node.path("modelName").asText("").isBlank());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
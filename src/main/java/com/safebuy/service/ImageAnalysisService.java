@@ -1,7 +1,16 @@
 package com.safebuy.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.safebuy.monitoring.RequestTiming;
+import com.safebuy.monitoring.SearchMetrics;
+import com.safebuy.monitoring.SearchMetrics.Stage;
+import com.safebuy.resilience.OpenAiBulkheads;
+import com.safebuy.resilience.OutboundPolicies;
+import com.safebuy.util.Base64DataUrlReader;
+import com.safebuy.util.ProductCodeExtractor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
@@ -10,12 +19,12 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.Base64;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.OutputStream;
+import java.io.Reader;
 
 // 이미지(멀티파트)를 LLM에 전달해 제품명/제조사/모델명을 추출하는 서비스 클래스
 // 여기서는 문자열(String) 그대로 반환하고, 상위 서비스가 JSON 파싱/폴백 처리함
+// 바코드/모델번호를 서버에서 먼저 읽어 리콜 사전과 일치하면 LLM을 호출하지 않고 같은 형식의 JSON을 돌려줌
 @Service
 @Slf4j
 public class ImageAnalysisService {
@@ -23,76 +32,200 @@ public class ImageAnalysisService {
     @Value("${spring.ai.openai.api-key}")
     private String openaiApiKey;
 
+    // OpenAI API 주소 (부하 테스트 시 스텁 서버 주소로 교체)
+    @Value("${spring.ai.openai.base-url:https://api.openai.com}")
+    private String openaiBaseUrl;
+
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final ImageAnalysisCache imageCache;
+    private final ImagePreprocessor imagePreprocessor;
+    private final LocalImageExtractor localExtractor;
+    private final RecallDictionaryService recallDictionaryService;
+    private final RecallCodeIndex recallCodeIndex;
+    private final OpenAiBulkheads openAiBulkheads;
+    private final OutboundPolicies outboundPolicies;
+    private final SearchMetrics searchMetrics;
 
-    public ImageAnalysisService(RestTemplate restTemplate, ObjectMapper objectMapper) {
+    public ImageAnalysisService(RestTemplate restTemplate, ObjectMapper objectMapper, ImageAnalysisCache imageCache,
+                                ImagePreprocessor imagePreprocessor, LocalImageExtractor localExtractor,
+                                RecallDictionaryService recallDictionaryService, RecallCodeIndex recallCodeIndex,
+                                OpenAiBulkheads openAiBulkheads, OutboundPolicies outboundPolicies,
+                                SearchMetrics searchMetrics) {
         this.restTemplate = restTemplate;
         this.objectMapper = objectMapper;
+        this.imageCache = imageCache;
+        this.imagePreprocessor = imagePreprocessor;
+        this.localExtractor = localExtractor;
+        this.recallDictionaryService = recallDictionaryService;
+        this.recallCodeIndex = recallCodeIndex;
+        this.openAiBulkheads = openAiBulkheads;
+        this.outboundPolicies = outboundPolicies;
+        this.searchMetrics = searchMetrics;
     }
 
+    // 출력 형식을 'JSON만' 강제. 코드블럭/주석/설명 금지.
+    private static final String IMAGE_PROMPT =
+            "다음 형식의 '순수 JSON 객체'만 출력하세요. 코드블럭, 설명, 주석, 추가 텍스트 금지.\n" +
+                    "{\"productName\":\"\",\"manufacturer\":\"\",\"modelName\":\"\"}\n" +
+                    "- 가능하면 실제 제품명/제조사/모델명을 채우고, 불명확하면 빈 문자열 유지.\n" +
+                    "- 범용 카테고리어만 보이면 productName에 그 텍스트를 넣고, manufacturer/modelName은 빈 문자열로 두세요.";
+
     // 파라미터 imageFile: 업로드 된 MultipartFile 이미지 파일
     // 반환값: LLM의 응답 원문 (실패 혹은 에러 시 null 반환)
+    // 업로드는 getBytes()로 올리지 않고 임시 파일 스트림에서 읽으며, 요청 본문의 base64도 HTTP 출력으로 바로 흘려 씀
+    // → 이미지 1건당 힙 사용량은 전처리된 이미지(긴 변 max-dimension) 수준으로 일정함
     public String analyzeImage(MultipartFile imageFile) {
+        long start = System.nanoTime();
         try {
-            // 이미지를 Base64로 인코딩
-            String base64Image = Base64.getEncoder().encodeToString(imageFile.getBytes());
-            
+            // 방향 보정 + 축소 + JPEG 재압축 (전송량/토큰 절감)
+            ImagePreprocessor.Prepared prepared =
+                    imagePreprocessor.prepare(imageFile, imageFile.getSize(), imageFile.getContentType());
+            long preprocessNanos = System.nanoTime() - start;
+            searchMetrics.recordStage(Stage.IMAGE_PREPROCESS, preprocessNanos);
+
+            // 같은 이미지/거의 같은 이미지의 이전 분석 결과가 있으면 LLM 호출 생략
+            ImageAnalysisCache.Key cacheKey = imageCache.keyOf(prepared.sha256(), prepared.image());
+            String cached = imageCache.find(cacheKey);
+            if (cached != null) {
+                log.info("이미지 분석 결과 캐시 사용: {}", cached);
+                return cached;
+            }
+
+            // 바코드/모델번호를 먼저 읽어서 리콜 사전에 있는 값이면 LLM 호출 생략
+            String local = extractLocally(prepared);
+            if (local != null) {
+                imageCache.put(cacheKey, local);
+                log.info("이미지 로컬 추출 결과 사용(LLM 생략): {}, 전체 {}ms", local, (System.nanoTime() - start) / 1_000_000);
+                return local;
+            }
+            searchMetrics.recordImagePayload(prepared.originalBytes(), prepared.bodyBytes());
+
             // OpenAI API 요청 구성
-            String url = "https://api.openai.com/v1/chat/completions";
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(openaiApiKey);
-
-            // 메시지 Payload 구성
-            Map<String, Object> textPart = new HashMap<>();
-            textPart.put("type", "text");
-            textPart.put("text",
-                    // 출력 형식을 'JSON만' 강제. 코드블럭/주석/설명 금지.
-                    "다음 형식의 '순수 JSON 객체'만 출력하세요. 코드블럭, 설명, 주석, 추가 텍스트 금지.\n" +
-                            "{\"productName\":\"\",\"manufacturer\":\"\",\"modelName\":\"\"}\n" +
-                            "- 가능하면 실제 제품명/제조사/모델명을 채우고, 불명확하면 빈 문자열 유지.\n" +
-                            "- 범용 카테고리어만 보이면 productName에 그 텍스트를 넣고, manufacturer/modelName은 빈 문자열로 두세요."
-                    );
-            
-            Map<String, Object> imagePart = new HashMap<>();
-            imagePart.put("type", "image_url");
-            Map<String, String> imageUrl = new HashMap<>();
-            imageUrl.put("url", "data:image/jpeg;base64," + base64Image);
-            imagePart.put("image_url", imageUrl);
-
-            Map<String, Object> message = new HashMap<>();
-            message.put("role", "user");
-            // content는 배열로 텍스트/이미지 파트를 섞어서 전달
-            message.put("content", new Object[]{textPart, imagePart});
-
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", "gpt-4o");
-            requestBody.put("temperature", 0.1); // 일관성 향상
-            requestBody.put("max_tokens", 300);
-            requestBody.put("messages", new Object[]{ message });
-            
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-            
-            log.info("OpenAI API 호출 시작(이미지 분석)");
-            ResponseEntity<String> response = restTemplate.postForEntity(url, entity, String.class);
+            String url = openaiBaseUrl + "/v1/chat/completions";
 
-            if (response.getStatusCode() != HttpStatus.OK) {
-                log.error("OpenAI API 호출 실패: status={}", response.getStatusCode());
+            log.info("OpenAI API 호출 시작(이미지 분석)");
+            // 동시 호출 수 제한 → 서킷 브레이커: 자리를 못 얻었거나 회로가 열려 있거나 호출이 실패하면
+            // 이미지 분석을 생략하고 입력된 텍스트로만 검색 (null 반환)
+            String content = outboundPolicies.image().execute(openAiBulkheads.image(),
+                    () -> restTemplate.execute(url, HttpMethod.POST,
+                            request -> {
+                                request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                                request.getHeaders().setBearerAuth(openaiApiKey);
+                                // 본문 길이를 미리 알 수 없으므로 chunked 전송 (요청 본문 전체를 메모리에 모으지 않음)
+                                if (request instanceof StreamingHttpOutputMessage streaming) {
+                                    streaming.setBody(out -> writeRequestBody(out, prepared));
+                                } else {
+                                    writeRequestBody(request.getBody(), prepared);
+                                }
+                            },
+                            response -> {
+                                if (response.getStatusCode() != HttpStatus.OK) {
+                                    log.error("OpenAI API 호출 실패: status={}", response.getStatusCode());
+                                    return null;
+                                }
+                                // choices[0].message.content 에 LLM 응답 텍스트가 들어옴
+                                JsonNode root = objectMapper.readTree(response.getBody());
+                                return root.path("choices").path(0).path("message").path("content").asText(null);
+                            }),
+                    () -> null);
+            if (content == null) {
                 return null;
             }
-
-            // choices[0].message.content 에 LLM 응답 텍스트가 들어옴
-            JsonNode root = objectMapper.readTree(response.getBody());
-            String content = root.path("choices").path(0).path("message").path("content").asText(null);
             log.info("이미지 분석 결과(raw): {}", content);
+            imageCache.put(cacheKey, content);
+
+            log.info("이미지 분석 완료 - {}x{} → {}x{} (orientation={}), {} → {} bytes ({}%), {}, 전처리 {}ms, 전체 {}ms",
+                    prepared.originalWidth(), prepared.originalHeight(), prepared.width(), prepared.height(),
+                    prepared.orientation(), prepared.originalBytes(), prepared.bodyBytes(),
+                    String.format("%.1f", prepared.payloadPercent()), prepared.mimeType(),
+                    preprocessNanos / 1_000_000, (System.nanoTime() - start) / 1_000_000);
 
             return content; // ↑ JSON 문자열이길 기대. 실제 파싱은 상위 서비스에서 처리.
-            
+
         } catch (IOException e) {
             log.error("이미지 분석 중 오류 발생", e);
             return null;
         }
     }
+
+    /* 로컬 추출(바코드 → OCR) 결과 중 코드 인덱스/리콜 사전의 모델명과 정확히 일치하는 값을 찾는 메서드 */
+    // 리턴값: LLM 응답과 같은 형식의 JSON (modelName = 일치한 코드, gtin = 바코드 숫자였으면 그 값), 일치 없으면 null
+    private String extractLocally(ImagePreprocessor.Prepared prepared) throws IOException {
+        if (!localExtractor.isEnabled() || prepared.image() == null) return null;
+
+        long start = System.nanoTime();
+        LocalImageExtractor.Extraction extraction = localExtractor.extract(prepared.image());
+        String matched = null;
+        String source = null;
+        for (String candidate : extraction.candidates()) {
+            // 코드 인덱스(정확 일치, O(1))를 먼저 보고, 없으면 모델명 사전에 그대로 있는 값인지 확인
+            // 부분 일치는 보지 않음: "A100" 같은 짧은 토큰이 다른 리콜 모델명의 일부로 걸리면
+            // 틀린 모델명으로 LLM을 건너뛰고 그 결과가 이 이미지의 캐시로 남음
+            // UPC-A(12자리)와 EAN-13(앞자리 0) 표기가 섞여 있으므로 둘 다 확인
+            for (String variant : ProductCodeExtractor.gtinVariants(candidate)) {
+                if (recallCodeIndex.contains(variant)
+                        || recallDictionaryService.containsExactly(variant, RecallDictionaryService.Field.MODEL)) {
+                    matched = variant;
+                    source = extraction.barcodes().contains(candidate) ? "barcode" : "ocr";
+                    break;
+                }
+            }
+            if (matched != null) break;
+        }
+        searchMetrics.recordStage(Stage.LOCAL_EXTRACTION, System.nanoTime() - start);
+
+        String outcome = matched != null ? source : extraction.isEmpty() ? "none" : "unmatched";
+        searchMetrics.recordLocalExtraction(outcome);
+        RequestTiming.describe("local_extraction", outcome);
+        log.debug("[LocalExtraction] barcodes={}, texts={}, outcome={}", extraction.barcodes(), extraction.texts(), outcome);
+        if (matched == null) return null;
+
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("productName", "");
+        result.put("manufacturer", "");
+        result.put("modelName", matched);
+        result.put("gtin", ProductCodeExtractor.isGtin(matched) ? matched : "");
+        result.put("source", source);
+        return objectMapper.writeValueAsString(result);
+    }
+
+    /* 요청 본문(JSON)을 출력 스트림에 바로 쓰는 메서드 */
+    // {"model":"gpt-4o","temperature":0.1,"max_tokens":300,
+    //  "messages":[{"role":"user","content":[{"type":"text",...},{"type":"image_url","image_url":{"url":"data:..."}}]}]}
+    // 이미지 data URL은 Base64DataUrlReader로 고정 크기 버퍼 단위로 인코딩해서 씀
+    private void writeRequestBody(OutputStream out, ImagePreprocessor.Prepared prepared) throws IOException {
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out);
+             Reader imageUrl = new Base64DataUrlReader(prepared.mimeType(), prepared.body().getInputStream())) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // HTTP 출력 스트림은 RestTemplate이 닫음
+            gen.writeStartObject();
+            gen.writeStringField("model", "gpt-4o");
+            gen.writeNumberField("temperature", 0.1); // 일관성 향상
+            gen.writeNumberField("max_tokens", 300);
+
+            gen.writeArrayFieldStart("messages");
+            gen.writeStartObject();
+            gen.writeStringField("role", "user");
+            // content는 배열로 텍스트/이미지 파트를 섞어서 전달
+            gen.writeArrayFieldStart("content");
+
+            gen.writeStartObject();
+            gen.writeStringField("type", "text");
+            gen.writeStringField("text", IMAGE_PROMPT);
+            gen.writeEndObject();
+
+            gen.writeStartObject();
+            gen.writeStringField("type", "image_url");
+            gen.writeObjectFieldStart("image_url");
+            gen.writeFieldName("url");
+            gen.writeString(imageUrl, -1);
+            gen.writeEndObject();
+            gen.writeEndObject();
+
+            gen.writeEndArray();
+            gen.writeEndObject();
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
 }
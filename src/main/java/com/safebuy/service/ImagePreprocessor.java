@@ -0,0 +1,255 @@
+package com.safebuy.service;
+
+import com.safebuy.util.ExifOrientation;
+import com.safebuy.util.TeeInputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+
+/* 이미지 분석(LLM) 전 업로드 이미지 전처리 */
+// - 디코딩 → EXIF 방향 보정 → 긴 변을 max-dimension 이하로 축소 → JPEG 재압축
+// - 큰 원본은 디코딩 단계에서 subsampling으로 읽어 목표 크기의 2배 이내로만 메모리에 올림
+// - 업로드는 스트림으로 한 번만 읽고, 원본을 그대로 보내야 할 때도 byte[]로 만들지 않음
+// - 디코딩할 수 없는 형식(HEIC 등)은 원본을 그대로 보내되 실제 형식에 맞는 MIME 타입을 붙임
+// - WebP 인코더는 JDK에 없으므로 출력은 JPEG만 사용
+@Service
+@Slf4j
+public class ImagePreprocessor {
+
+    @Value("${safebuy.image-preprocess.enabled:true}")
+    private boolean enabled;
+
+    // 전송 이미지의 긴 변 최대 픽셀 (OpenAI vision은 어차피 내부에서 축소하므로 그 이상은 토큰/전송량만 늘어남)
+    @Value("${safebuy.image-preprocess.max-dimension:1024}")
+    private int maxDimension;
+
+    // JPEG 재압축 품질 (0~1)
+    @Value("${safebuy.image-preprocess.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    // 파일 앞부분 보관 크기 (형식 판별/EXIF 읽기용, APP1 세그먼트는 보통 이 안에 있음)
+    private static final int HEAD_BYTES = 64 * 1024;
+
+    // 전처리 결과
+    // body: LLM에 보낼 이미지 (재압축했으면 메모리의 작은 JPEG, 아니면 업로드 원본 스트림 그대로)
+    // sha256: 업로드 원본 바이트의 SHA-256 (이미지 분석 캐시 키)
+    // image: 보정/축소된 이미지 (디코딩 실패 시 null, 캐시용 지각 해시 계산에 사용)
+    public record Prepared(InputStreamSource body, long bodyBytes, String mimeType, String sha256, long originalBytes,
+                           int originalWidth, int originalHeight, int width, int height,
+                           int orientation, boolean reencoded, BufferedImage image) {
+
+        // 원본 대비 전송 크기 비율 (%)
+        public double payloadPercent() {
+            return originalBytes == 0 ? 100 : bodyBytes * 100.0 / originalBytes;
+        }
+    }
+
+    /* 전처리 메서드 */
+    // 업로드를 한 번만 순서대로 읽으면서 SHA-256 계산 + 앞부분 보관 + (subsampling) 디코딩을 같이 처리
+    // → 원본 전체를 byte[]로 올리지 않으므로 업로드 크기와 무관하게 메모리 사용량이 일정함
+    // 파라미터 source: 업로드 원본 (MultipartFile 등, 여러 번 열 수 있어야 함), size: 원본 크기
+    // 파라미터 declaredContentType: 클라이언트가 보낸 Content-Type (없으면 null)
+    // 리턴값: LLM에 보낼 이미지와 MIME 타입 (전처리 실패 시 원본 그대로)
+    public Prepared prepare(InputStreamSource source, long size, String declaredContentType) throws IOException {
+        MessageDigest digest = newSha256();
+        HeadBuffer head = new HeadBuffer(HEAD_BYTES);
+        Decoded decoded = null;
+
+        try (InputStream in = new TeeInputStream(new DigestInputStream(source.getInputStream(), digest), head)) {
+            if (enabled) {
+                try {
+                    decoded = decode(in);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("이미지 디코딩 실패 → 원본 전송: {}", e.getMessage());
+                }
+            }
+            in.transferTo(OutputStream.nullOutputStream()); // 디코더가 읽지 않은 나머지도 해시에 포함
+        }
+
+        String sha256 = HexFormat.of().formatHex(digest.digest());
+        String originalMime = sniffMimeType(head.bytes(), head.length(), declaredContentType);
+        int orientation = ExifOrientation.read(head.bytes(), head.length());
+        if (decoded == null) {
+            return passThrough(source, size, originalMime, sha256, null, 0, 0, orientation);
+        }
+
+        BufferedImage normalized = orientAndScale(decoded.image, decoded.width, decoded.height, orientation);
+        boolean resized = Math.max(decoded.width, decoded.height) > maxDimension;
+
+        byte[] encoded;
+        try {
+            encoded = encodeJpeg(normalized);
+        } catch (IOException e) {
+            log.warn("이미지 JPEG 인코딩 실패 → 원본 전송: {}", e.getMessage());
+            return passThrough(source, size, originalMime, sha256, normalized, decoded.width, decoded.height, orientation);
+        }
+        // 축소/회전이 필요 없고 원본이 이미 더 작은 지원 형식이면 원본 유지
+        if (!resized && orientation == ExifOrientation.NORMAL
+                && isVisionSupported(originalMime) && size <= encoded.length) {
+            return passThrough(source, size, originalMime, sha256, normalized, decoded.width, decoded.height, orientation);
+        }
+
+        return new Prepared(new ByteArrayResource(encoded), encoded.length, "image/jpeg", sha256, size,
+                decoded.width, decoded.height, normalized.getWidth(), normalized.getHeight(),
+                orientation, true, normalized);
+    }
+
+    // 내부 메서드
+
+    private record Decoded(BufferedImage image, int width, int height) {
+    }
+
+    private Prepared passThrough(InputStreamSource source, long size, String mimeType, String sha256,
+                                 BufferedImage image, int width, int height, int orientation) {
+        return new Prepared(source, size, mimeType, sha256, size, width, height, width, height,
+                orientation, false, image);
+    }
+
+    // 파일 앞부분만 보관하는 OutputStream (TeeInputStream의 branch로 사용, 넘치는 부분은 버림)
+    private static final class HeadBuffer extends OutputStream {
+        private final byte[] buf;
+        private int length;
+
+        HeadBuffer(int capacity) {
+            this.buf = new byte[capacity];
+        }
+
+        @Override
+        public void write(int b) {
+            if (length < buf.length) buf[length++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            int n = Math.min(len, buf.length - length);
+            if (n <= 0) return;
+            System.arraycopy(b, off, buf, length, n);
+            length += n;
+        }
+
+        byte[] bytes() {
+            return buf;
+        }
+
+        int length() {
+            return length;
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    // 원본 크기를 먼저 읽고, 목표 크기의 2배 이상이면 정수배 subsampling으로 디코딩
+    // 리턴값: 디코딩 결과와 원본 픽셀 크기, 읽을 수 있는 reader가 없으면 null
+    // (ImageIO는 InputStream을 임시 파일 캐시로 감싸서 읽으므로 원본 전체가 메모리에 올라가지 않음)
+    private Decoded decode(InputStream source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source)) {
+            if (in == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int limit = maxDimension * 2;
+                int step = Math.max(1, (Math.max(width, height) + limit - 1) / limit); // 올림 나눗셈
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return new Decoded(reader.read(0, param), width, height);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 방향 보정과 축소를 한 번의 그리기로 처리 (알파 채널은 흰 배경으로 합성)
+    private BufferedImage orientAndScale(BufferedImage source, int originalWidth, int originalHeight, int orientation) {
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(originalWidth, originalHeight));
+        int scaledWidth = Math.max(1, (int) Math.round(originalWidth * scale));
+        int scaledHeight = Math.max(1, (int) Math.round(originalHeight * scale));
+
+        boolean swap = ExifOrientation.swapsDimensions(orientation);
+        BufferedImage target = new BufferedImage(swap ? scaledHeight : scaledWidth, swap ? scaledWidth : scaledHeight,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, target.getWidth(), target.getHeight());
+            g.transform(ExifOrientation.transform(orientation, scaledWidth, scaledHeight));
+            g.drawImage(source, 0, 0, scaledWidth, scaledHeight, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    // OpenAI vision이 받는 형식
+    private boolean isVisionSupported(String mimeType) {
+        return switch (mimeType) {
+            case "image/jpeg", "image/png", "image/webp", "image/gif" -> true;
+            default -> false;
+        };
+    }
+
+    // 파일 시그니처로 실제 형식 판별 (모르는 형식이면 클라이언트가 보낸 타입, 그것도 없으면 image/jpeg)
+    static String sniffMimeType(byte[] b, int length, String declaredContentType) {
+        if (length >= 3 && (b[0] & 0xFF) == 0xFF && (b[1] & 0xFF) == 0xD8 && (b[2] & 0xFF) == 0xFF) return "image/jpeg";
+        if (length >= 8 && (b[0] & 0xFF) == 0x89 && b[1] == 'P' && b[2] == 'N' && b[3] == 'G') return "image/png";
+        if (length >= 6 && b[0] == 'G' && b[1] == 'I' && b[2] == 'F' && b[3] == '8') return "image/gif";
+        if (length >= 12 && b[0] == 'R' && b[1] == 'I' && b[2] == 'F' && b[3] == 'F'
+                && b[8] == 'W' && b[9] == 'E' && b[10] == 'B' && b[11] == 'P') return "image/webp";
+        if (length >= 12 && b[4] == 'f' && b[5] == 't' && b[6] == 'y' && b[7] == 'p'
+                && b[8] == 'h' && b[9] == 'e' && (b[10] == 'i' || b[10] == 'v')) return "image/heic";
+        if (declaredContentType != null && declaredContentType.startsWith("image/")) return declaredContentType;
+        return "image/jpeg";
+    }
+}
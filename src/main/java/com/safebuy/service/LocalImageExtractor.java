@@ -0,0 +1,160 @@
+package com.safebuy.service;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.MultiFormatReader;
+import com.google.zxing.NotFoundException;
+import com.google.zxing.Result;
+import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.multi.GenericMultipleBarcodeReader;
+import com.google.zxing.oned.UPCEReader;
+import com.safebuy.util.ProductCodeExtractor;
+import lombok.extern.slf4j.Slf4j;
+import net.sourceforge.tess4j.Tesseract;
+import net.sourceforge.tess4j.TesseractException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/* LLM 호출 전 서버 안에서 제품 이미지의 바코드/모델번호를 읽는 서비스 */
+// - 바코드: ZXing으로 1D(EAN/UPC/Code128/Code39) + 2D(QR/DataMatrix)를 한 이미지에서 여러 개 디코딩
+// - 문자 인식(OCR): Tess4J(Tesseract)로 영문/숫자만 인식한 뒤 모델번호/GTIN처럼 생긴 토큰만 남김
+//   → 네이티브 라이브러리(libtesseract)와 tessdata가 필요하므로 기본은 꺼져 있음
+// - 입력은 ImagePreprocessor가 방향 보정/축소한 이미지 (업로드 원본을 다시 디코딩하지 않음)
+@Service
+@Slf4j
+public class LocalImageExtractor {
+
+    @Value("${safebuy.local-extraction.enabled:true}")
+    private boolean enabled;
+
+    @Value("${safebuy.local-extraction.ocr.enabled:false}")
+    private boolean ocrEnabled;
+
+    // tessdata 디렉터리 (eng.traineddata 위치)
+    @Value("${safebuy.local-extraction.ocr.datapath:/usr/share/tesseract-ocr/5/tessdata}")
+    private String ocrDataPath;
+
+    // 이미지 1장에서 딕셔너리와 대조할 최대 후보 수
+    @Value("${safebuy.local-extraction.max-candidates:20}")
+    private int maxCandidates;
+
+    private static final Map<DecodeHintType, Object> HINTS = Map.of(
+            DecodeHintType.TRY_HARDER, Boolean.TRUE,
+            DecodeHintType.POSSIBLE_FORMATS, EnumSet.of(
+                    BarcodeFormat.EAN_13, BarcodeFormat.EAN_8, BarcodeFormat.UPC_A, BarcodeFormat.UPC_E,
+                    BarcodeFormat.CODE_128, BarcodeFormat.CODE_39, BarcodeFormat.ITF,
+                    BarcodeFormat.QR_CODE, BarcodeFormat.DATA_MATRIX));
+
+    // OCR 인식 문자 제한 (모델번호에 쓰이는 문자만 → 오인식/처리 시간 감소)
+    private static final String OCR_WHITELIST = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-/.";
+    // 11 = 흩어진 텍스트(sparse text): 라벨/스티커처럼 문단이 없는 사진용
+    private static final int OCR_PAGE_SEG_MODE = 11;
+
+    // 네이티브 라이브러리 로드 실패 시 재시도하지 않도록 기록
+    private volatile boolean ocrUnavailable;
+
+    // 추출 결과
+    // barcodes: 바코드에서 읽은 GTIN/코드 (GTIN 우선)
+    // texts: OCR로 읽은 모델번호/GTIN 후보
+    public record Extraction(List<String> barcodes, List<String> texts) {
+
+        public static final Extraction EMPTY = new Extraction(List.of(), List.of());
+
+        // 딕셔너리와 대조할 순서: 바코드 → OCR (중복 제거)
+        public List<String> candidates() {
+            Set<String> all = new LinkedHashSet<>(barcodes);
+            all.addAll(texts);
+            return new ArrayList<>(all);
+        }
+
+        public boolean isEmpty() {
+            return barcodes.isEmpty() && texts.isEmpty();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /* 바코드/문자 추출 */
+    // 파라미터 image: 전처리된 이미지 (null이면 빈 결과)
+    // 실패해도 예외를 던지지 않고 빈 결과를 돌려줌 (LLM 분석으로 넘어가면 되므로)
+    public Extraction extract(BufferedImage image) {
+        if (!enabled || image == null) return Extraction.EMPTY;
+
+        List<String> barcodes = decodeBarcodes(image);
+        // 바코드를 읽었으면 OCR은 생략 (가장 느린 단계)
+        List<String> texts = barcodes.isEmpty() ? recognizeText(image) : List.of();
+        return new Extraction(barcodes, texts);
+    }
+
+    // 내부 메서드
+
+    List<String> decodeBarcodes(BufferedImage image) {
+        BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(new BufferedImageLuminanceSource(image)));
+        // MultiFormatReader는 힌트를 상태로 가지므로 호출마다 새로 생성
+        GenericMultipleBarcodeReader reader = new GenericMultipleBarcodeReader(new MultiFormatReader());
+        Result[] results;
+        try {
+            results = reader.decodeMultiple(bitmap, HINTS);
+        } catch (NotFoundException e) {
+            return List.of();
+        } catch (RuntimeException e) {
+            log.debug("[LocalExtraction] 바코드 디코딩 실패: {}", e.getMessage());
+            return List.of();
+        }
+
+        Set<String> gtins = new LinkedHashSet<>();
+        Set<String> codes = new LinkedHashSet<>();
+        for (Result r : results) {
+            String text = r.getText();
+            if (text == null || text.isBlank()) continue;
+            if (r.getBarcodeFormat() == BarcodeFormat.UPC_E) {
+                text = UPCEReader.convertUPCEtoUPCA(text); // 압축 표기 → 12자리 UPC-A (체크 디지트 검증 가능)
+            }
+            if (ProductCodeExtractor.isGtin(text)) {
+                gtins.add(text);
+            } else {
+                // Code128/QR 등은 모델번호나 URL이 들어 있으므로 코드처럼 생긴 토큰만 꺼냄
+                codes.addAll(ProductCodeExtractor.extract(text, maxCandidates));
+            }
+        }
+        List<String> found = new ArrayList<>(gtins);
+        found.addAll(codes);
+        return limit(found);
+    }
+
+    List<String> recognizeText(BufferedImage image) {
+        if (!ocrEnabled || ocrUnavailable) return List.of();
+        // Tesseract 인스턴스는 스레드 안전하지 않으므로 호출마다 새로 생성 (엔진 초기화는 doOCR 안에서 수행)
+        try {
+            Tesseract tesseract = new Tesseract();
+            tesseract.setDatapath(ocrDataPath);
+            tesseract.setLanguage("eng");
+            tesseract.setPageSegMode(OCR_PAGE_SEG_MODE);
+            tesseract.setVariable("tessedit_char_whitelist", OCR_WHITELIST);
+            return limit(ProductCodeExtractor.extract(tesseract.doOCR(image), maxCandidates));
+        } catch (TesseractException e) {
+            log.debug("[LocalExtraction] OCR 실패: {}", e.getMessage());
+            return List.of();
+        } catch (LinkageError e) {
+            ocrUnavailable = true;
+            log.warn("[LocalExtraction] Tesseract 네이티브 라이브러리를 불러올 수 없어 OCR을 끕니다: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private List<String> limit(List<String> values) {
+        return maxCandidates > 0 && values.size() > maxCandidates ? values.subList(0, maxCandidates) : values;
+    }
+}
@@ -6,18 +6,28 @@ import com.safebuy.dto.AlternativeProductDto;
 import com.safebuy.dto.ProductSearchRequest;
 import com.safebuy.dto.ProductSearchResponse;
 import com.safebuy.entity.RecallProduct;
+import com.safebuy.monitoring.QueryCounter;
+import com.safebuy.monitoring.RequestTiming;
+import com.safebuy.monitoring.SearchMetrics;
+import com.safebuy.monitoring.SearchMetrics.Stage;
 import com.safebuy.repository.RecallProductRepository;
 import com.safebuy.util.RiskEvaluator;
+import com.safebuy.util.SingleFlight;
 import com.safebuy.util.TextNormalizer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -30,12 +40,82 @@ public class ProductSearchService {
     private final ImageAnalysisService imageAnalysisService;
     private final AlternativeProductService alternativeProductService;
     private final SearchQueryEnhancerService searchQueryEnhancerService; // AI 검색어 확장 서비스 주입
+    private final SearchMetrics searchMetrics; // 단계별 지연 시간/후보 수/쿼리 수 메트릭
+    private final RecallCodeIndex recallCodeIndex; // 모델번호/GTIN 정확 일치 인덱스
+
+    // 검색 1건당 허용 DB 쿼리 수 (넘으면 후보 조합과 반복 SQL을 경고 로그로 남김)
+    @Value("${safebuy.search.query-budget:50}")
+    private int queryBudget;
+
+    // 코드 일치 리콜 중 DB에서 읽어 비교할 최대 건수
+    private static final int MAX_CODE_MATCHES = 20;
+
+    // 같은 검색어로 동시에 들어온 요청은 검색 단계를 한 번만 실행
+    private final SingleFlight<String, Resolution> inFlight = new SingleFlight<>();
 
     private static final String DETAIL_BASE_URL =
             "https://www.consumer.go.kr/user/ftc/consumer/recallInfo/1077/selectRecallInfoForeignDetail.do";
 
 
+    // 점진적 검색 결과: 리콜 매칭/위험도 응답 + (매칭된 경우) 대체 상품 조회 future
+    public record ProgressiveSearch(ProductSearchResponse recall,
+                                    CompletableFuture<List<AlternativeProductDto>> alternatives) {
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        searchMetrics.registerSingleFlight("search", inFlight);
+    }
+
     public ProductSearchResponse searchProduct(ProductSearchRequest request) {
+        return search(request, new SearchStats());
+    }
+
+    /* 점진적 검색 메서드 */
+    // DB 단계가 끝나면 대체 상품을 기다리지 않고 리콜 응답을 바로 반환하고, 대체 상품은 백그라운드에서 조회
+    // 매칭 실패/입력 오류 시 alternatives는 null
+    public ProgressiveSearch searchProgressive(ProductSearchRequest request) {
+        SearchStats stats = new SearchStats();
+        stats.deferAlternatives = true;
+        ProductSearchResponse response = search(request, stats);
+
+        RecallProduct matched = stats.matched;
+        if (matched == null) {
+            return new ProgressiveSearch(response, null);
+        }
+
+        response.setAlternativesPending(true);
+        long alternativesStart = System.nanoTime();
+        CompletableFuture<List<AlternativeProductDto>> alternatives = alternativeProductService
+                .findAlternativesAsync(matched)
+                .whenComplete((result, error) ->
+                        searchMetrics.recordStage(Stage.ALTERNATIVES, System.nanoTime() - alternativesStart));
+        return new ProgressiveSearch(response, alternatives);
+    }
+
+    private ProductSearchResponse search(ProductSearchRequest request, SearchStats stats) {
+        long start = System.nanoTime();
+        ProductSearchResponse response = null;
+        // JDBC 단에서 이 요청이 실행한 statement 수/시간 집계
+        try (QueryCounter queries = QueryCounter.open()) {
+            try {
+                response = doSearchProduct(request, stats);
+                return response;
+            } finally {
+                searchMetrics.recordStage(Stage.TOTAL, System.nanoTime() - start);
+                searchMetrics.recordResult(resultOf(response, stats));
+                if (stats.validated) {
+                    // 다른 요청의 검색 결과를 받아 간 요청은 후보를 만들거나 검색하지 않았으므로 후보 수를 기록하지 않음
+                    if (!stats.coalesced) {
+                        searchMetrics.recordCandidates(stats.candidates.size(), stats.candidatesSearched);
+                    }
+                    recordQueries(queries, stats);
+                }
+            }
+        }
+    }
+
+    private ProductSearchResponse doSearchProduct(ProductSearchRequest request, SearchStats stats) {
         log.info("제품 검색 요청: {}", request);
 
         // 이미지 파일 상세 정보 로깅 (모바일 디버깅용)
@@ -61,6 +141,7 @@ public class ProductSearchService {
         // 이미지가 있는 경우 AI 분석 수행 (모바일 호환성 개선)
         if (isValidImage(request.getImage())) {
             log.info("이미지 분석 시작");
+            long imageStart = System.nanoTime();
             try {
             String analysisResult = imageAnalysisService.analyzeImage(request.getImage());
                 if (analysisResult != null && !analysisResult.trim().isEmpty()) {
@@ -72,10 +153,13 @@ public class ProductSearchService {
             } catch (Exception e) {
                 log.error("이미지 분석 중 오류 발생: {}", e.getMessage(), e);
                 // 이미지 분석 실패해도 다른 정보로 검색 계속 진행
+            } finally {
+                searchMetrics.recordStage(Stage.IMAGE_ANALYSIS, System.nanoTime() - imageStart);
             }
         }
 
         // 정규화 단계
+        long normalizeStart = System.nanoTime();
         String normalizedProductName = TextNormalizer.normalizeText(request.getProductName());
         String normalizedManufacturer = TextNormalizer.normalizeManufacturer(request.getManufacturer());
         String normalizedModelName = TextNormalizer.normalizeText(request.getModelName());
@@ -84,6 +168,7 @@ public class ProductSearchService {
         if (TextNormalizer.isWeakQuery(normalizedProductName)) normalizedProductName = null;
         if (TextNormalizer.isWeakQuery(normalizedManufacturer)) normalizedManufacturer = null;
         if (TextNormalizer.isWeakQuery(normalizedModelName)) normalizedModelName = null;
+        searchMetrics.recordStage(Stage.NORMALIZE, System.nanoTime() - normalizeStart);
 
         // 추가: 정규화 이후에도 세 필드가 모두 null이면 의미 있는 검색어가 없는 것
         if (normalizedProductName == null && normalizedManufacturer == null && normalizedModelName == null
@@ -94,66 +179,79 @@ public class ProductSearchService {
                     .build();
         }
 
+        stats.validated = true;
+
+        // 같은 검색어(정규화된 제품명/제조사/모델명)로 동시에 들어온 요청은 검색 단계(확장 LLM 호출 + DB 검색)를 한 번만 실행
+        // 응답 객체는 요청마다 따로 만듦 (점진적 검색 여부/대체 상품이 요청마다 다르므로)
+        String flightKey = Objects.toString(normalizedProductName, "") + "|"
+                + Objects.toString(normalizedManufacturer, "") + "|"
+                + Objects.toString(normalizedModelName, "");
+        String productName = normalizedProductName;
+        String manufacturer = normalizedManufacturer;
+        String modelName = normalizedModelName;
+        boolean[] led = {false};
+        Resolution resolution = inFlight.execute(flightKey, () -> {
+            led[0] = true;
+            return resolve(request, productName, manufacturer, modelName, stats);
+        });
+        if (!led[0]) {
+            stats.coalesced = true;
+            RequestTiming.describe("search", "coalesced");
+        }
+
+        if (resolution.product() == null) {
+            // 최종 미발견
+            return ProductSearchResponse.builder()
+                    .found(false)
+                    .message("해당 제품은 리콜데이터 검색 결과에 존재하지 않습니다.")
+                    .build();
+        }
+        if (resolution.partial()) {
+            return respondPartial(productName, manufacturer, resolution.product());
+        }
+        return respondFound(resolution.candidate(), resolution.product(), stats);
+    }
+
+    /* 검색 단계: 코드 인덱스 → 검색어 확장 + 후보 조합 DB 검색 → 부분 매칭 */
+    // 후보 수 등 집계는 실제로 실행한 요청(stats)에만 기록
+    private Resolution resolve(ProductSearchRequest request, String normalizedProductName,
+                               String normalizedManufacturer, String normalizedModelName, SearchStats stats) {
+        // 모델번호/바코드가 인덱스와 정확히 일치하면 이름 부분 일치 검색보다 우선 (검색어 확장/LIKE 스캔 생략)
+        RecallProduct codeMatch = findByCode(request);
+        if (codeMatch != null) {
+            return new Resolution(new SearchCandidate(normalizedProductName, normalizedManufacturer, normalizedModelName),
+                    codeMatch, false);
+        }
+
         // 검색어 확장 (정규화 된 문자열 기반)
-        List<String> expandedProductNames = expandIfNotBlank(normalizedProductName, RecallDictionaryService.Field.PRODUCT);
-        List<String> expandedManufacturers = expandIfNotBlank(normalizedManufacturer, RecallDictionaryService.Field.MANUFACTURER);
-        List<String> expandedModels = expandIfNotBlank(normalizedModelName, RecallDictionaryService.Field.MODEL);
+        List<String> expandedProductNames = expandIfNotBlank(normalizedProductName, RecallDictionaryService.Field.PRODUCT, Stage.EXPAND_PRODUCT);
+        List<String> expandedManufacturers = expandIfNotBlank(normalizedManufacturer, RecallDictionaryService.Field.MANUFACTURER, Stage.EXPAND_MANUFACTURER);
+        List<String> expandedModels = expandIfNotBlank(normalizedModelName, RecallDictionaryService.Field.MODEL, Stage.EXPAND_MODEL);
 
         // 후보 조합 리스트 생성
         List<SearchCandidate> candidates =
                 buildSearchCandidates(expandedProductNames, expandedManufacturers, expandedModels);
+        stats.candidates = candidates;
 
-        // 단계적 DB 검색 + (변경) 필드별 위험도 계산 호출
+        // 단계적 DB 검색
+        long candidateStart = System.nanoTime();
         for (SearchCandidate candidate : candidates) {
+            stats.candidatesSearched++;
             RecallProduct foundProduct = performSequentialSearch(candidate);
-        if (foundProduct != null) {
-                // (변경 사항) 이전에는 candidate.toString()으로 한 문장 비교 → 매칭 실패 원인
-                //     → 필드별로 분리해서 RiskEvaluator에 전달 (모델/제품/제조사 각각 독립 가중치)
-                int riskScore = RiskEvaluator.calculateRiskScore(
-                        candidate.productName,
-                        candidate.manufacturer,
-                        candidate.modelName,
-                        foundProduct
-                );
-                String riskLevel = RiskEvaluator.riskLevelFromScore(riskScore);
-
-            ProductSearchResponse response = ProductSearchResponse.builder()
-                    .found(true)
-                    .productName(foundProduct.getProductNm())
-                    .defectContent(foundProduct.getShrtcomCn())
-                    .manufacturer(foundProduct.getMakr())
-                    .publicationDate(foundProduct.getRecallPublictBgnde())
-                        .detailUrl(buildDetailUrl(foundProduct.getRecallSn()))
-                        .riskScore(riskScore)
-                        .riskLevel(riskLevel)
-                    .build();
-
-            // 대체 상품 추천
-            List<AlternativeProductDto> alternatives =
-                        alternativeProductService.findAlternatives(
-                                foundProduct.getProductNm(),
-                            foundProduct.getCategory(),
-                                foundProduct.getMakr()
-                        );
-            response.setAlternatives(alternatives);
-
-            return response;
+            if (foundProduct != null) {
+                searchMetrics.recordStage(Stage.CANDIDATE_SEARCH, System.nanoTime() - candidateStart);
+                return new Resolution(candidate, foundProduct, false);
             }
         }
 
-        // 정확 매칭 실패 시: 정규화 기반 부분 매칭 fallback
-        ProductSearchResponse fallbackResponse =
-                buildFallbackResponse(normalizedProductName, normalizedManufacturer);
-        if (fallbackResponse != null) {
-            return fallbackResponse;
-        }
+        searchMetrics.recordStage(Stage.CANDIDATE_SEARCH, System.nanoTime() - candidateStart);
 
-        // 최종 미발견
-            return ProductSearchResponse.builder()
-                    .found(false)
-                .message("해당 제품은 리콜데이터 검색 결과에 존재하지 않습니다.")
-                    .build();
-        }
+        // 정확 매칭 실패 시: 정규화 기반 부분 매칭 fallback
+        long fallbackStart = System.nanoTime();
+        RecallProduct partialMatch = findPartialMatch(normalizedProductName, normalizedManufacturer);
+        searchMetrics.recordStage(Stage.FALLBACK_SCAN, System.nanoTime() - fallbackStart);
+        return new Resolution(null, partialMatch, partialMatch != null);
+    }
 
     /* 내부 유틸 메서드 */
 
@@ -295,14 +393,17 @@ public class ProductSearchService {
     }
 
     // 특정 입력 문자열이 비어있지 않으면 확장 실행
-    private List<String> expandIfNotBlank(String value, RecallDictionaryService.Field field) {
+    private List<String> expandIfNotBlank(String value, RecallDictionaryService.Field field, Stage stage) {
         // value는 이미 정규화된 값이 들어옴
         if (StringUtils.hasText(value) && !TextNormalizer.isWeakQuery(value)) {
+            long expandStart = System.nanoTime();
             try {
                 return searchQueryEnhancerService.enhanceQuery(value, field);
             } catch (Exception e) {
                 log.error("검색어 확장 실패: {}", value, e);
                 return List.of(value);
+            } finally {
+                searchMetrics.recordStage(stage, System.nanoTime() - expandStart);
             }
         }
         return new ArrayList<>(); // 노이즈가 강하거나 비어있으면 빈 리스트 → 해당 필드 미사용
@@ -365,8 +466,68 @@ public class ProductSearchService {
         return null;
     }
 
-    // 부분 매칭 메서드
-    private ProductSearchResponse buildFallbackResponse(String productName, String manufacturer) {
+    // 매칭된 리콜로 응답 생성 (위험도 계산 + 대체 상품)
+    private ProductSearchResponse respondFound(SearchCandidate candidate, RecallProduct foundProduct, SearchStats stats) {
+        // (변경 사항) 이전에는 candidate.toString()으로 한 문장 비교 → 매칭 실패 원인
+        //     → 필드별로 분리해서 RiskEvaluator에 전달 (모델/제품/제조사 각각 독립 가중치)
+        int riskScore = RiskEvaluator.calculateRiskScore(
+                candidate.productName,
+                candidate.manufacturer,
+                candidate.modelName,
+                foundProduct
+        );
+        String riskLevel = RiskEvaluator.riskLevelFromScore(riskScore);
+
+        ProductSearchResponse response = ProductSearchResponse.builder()
+                .found(true)
+                .productName(foundProduct.getProductNm())
+                .defectContent(foundProduct.getShrtcomCn())
+                .manufacturer(foundProduct.getMakr())
+                .publicationDate(foundProduct.getRecallPublictBgnde())
+                .detailUrl(buildDetailUrl(foundProduct.getRecallSn()))
+                .riskScore(riskScore)
+                .riskLevel(riskLevel)
+                .build();
+
+        // 점진적 검색: 대체 상품은 호출한 쪽에서 따로 조회
+        if (stats.deferAlternatives) {
+            stats.matched = foundProduct;
+            return response;
+        }
+
+        // 대체 상품 추천
+        long alternativesStart = System.nanoTime();
+        List<AlternativeProductDto> alternatives = alternativeProductService.findAlternatives(foundProduct);
+        searchMetrics.recordStage(Stage.ALTERNATIVES, System.nanoTime() - alternativesStart);
+        response.setAlternatives(alternatives);
+
+        return response;
+    }
+
+    // 모델명 입력에 든 모델번호/GTIN으로 코드 인덱스 조회, 없으면 제품명 입력에 든 GTIN으로만 조회
+    // (제품명의 "KB200", "3IN1" 같은 단어는 모델번호 모양이어도 다른 리콜의 모델번호와 우연히 같을 수 있으므로 제외)
+    // 여러 리콜이 같은 코드를 가지면 가장 최근 공표된 리콜을 사용
+    private RecallProduct findByCode(ProductSearchRequest request) {
+        long start = System.nanoTime();
+        try {
+            List<String> recallSns = recallCodeIndex.lookup(request.getModelName());
+            if (recallSns.isEmpty()) {
+                recallSns = recallCodeIndex.lookupGtins(request.getProductName());
+            }
+            RequestTiming.describe("code_lookup", recallSns.isEmpty() ? "miss" : recallSns.size() + " recalls");
+            if (recallSns.isEmpty()) return null;
+
+            return repository.findAllById(recallSns.subList(0, Math.min(recallSns.size(), MAX_CODE_MATCHES))).stream()
+                    .max(Comparator.comparing(RecallProduct::getRecallPublictBgnde,
+                            Comparator.nullsFirst(Comparator.naturalOrder())))
+                    .orElse(null);
+        } finally {
+            searchMetrics.recordStage(Stage.CODE_LOOKUP, System.nanoTime() - start);
+        }
+    }
+
+    // 부분 매칭 메서드: 정규화된 제품명/제조사가 DB 값에 포함된 첫 리콜
+    private RecallProduct findPartialMatch(String productName, String manufacturer) {
         if (TextNormalizer.isWeakQuery(productName)) productName = null;
         if (TextNormalizer.isWeakQuery(manufacturer)) manufacturer = null;
         if (!StringUtils.hasText(productName) && !StringUtils.hasText(manufacturer)) return null;
@@ -380,31 +541,39 @@ public class ProductSearchService {
             boolean matchByMan = manufacturer != null && dbMan != null && dbMan.contains(manufacturer);
 
             if (matchByProd || matchByMan) {
-                // 부분 매칭된 경우 위험 점수 계산 (필드별로 넘김)
-                int riskScore = RiskEvaluator.calculateRiskScore(
-                        productName,
-                        manufacturer,
-                        null, // fallback에서는 모델명 매칭 없음
-                        p
-                );
-                String riskLevel = RiskEvaluator.riskLevelFromScore(riskScore);
-
-                return ProductSearchResponse.builder()
-                        .found(true)
-                        .productName(p.getProductNm())
-                        .defectContent(p.getShrtcomCn())
-                        .manufacturer(p.getMakr())
-                        .publicationDate(p.getRecallPublictBgnde())
-                        .detailUrl(buildDetailUrl(p.getRecallSn()))
-                        .riskScore(riskScore)
-                        .riskLevel(riskLevel)
-                        .message("정확 매칭 실패 → 부분 매칭 결과 반환")
-                        .build();
+                return p;
             }
         }
         return null;
     }
 
+    // 부분 매칭된 리콜로 응답 생성
+    private ProductSearchResponse respondPartial(String productName, String manufacturer, RecallProduct p) {
+        if (TextNormalizer.isWeakQuery(productName)) productName = null;
+        if (TextNormalizer.isWeakQuery(manufacturer)) manufacturer = null;
+
+        // 부분 매칭된 경우 위험 점수 계산 (필드별로 넘김)
+        int riskScore = RiskEvaluator.calculateRiskScore(
+                productName,
+                manufacturer,
+                null, // fallback에서는 모델명 매칭 없음
+                p
+        );
+        String riskLevel = RiskEvaluator.riskLevelFromScore(riskScore);
+
+        return ProductSearchResponse.builder()
+                .found(true)
+                .productName(p.getProductNm())
+                .defectContent(p.getShrtcomCn())
+                .manufacturer(p.getMakr())
+                .publicationDate(p.getRecallPublictBgnde())
+                .detailUrl(buildDetailUrl(p.getRecallSn()))
+                .riskScore(riskScore)
+                .riskLevel(riskLevel)
+                .message("정확 매칭 실패 → 부분 매칭 결과 반환")
+                .build();
+    }
+
     private String buildDetailUrl(String recallSn) {
         if (!StringUtils.hasText(recallSn)) {
             return null;
@@ -420,6 +589,45 @@ public class ProductSearchService {
         }
     }
 
+    // 요청당 쿼리 수/시간 기록, 예산 초과 시 원인이 된 후보 조합과 반복 실행된 SQL을 로그로 남김
+    private void recordQueries(QueryCounter queries, SearchStats stats) {
+        searchMetrics.recordDbQueries(queries.count(), queries.nanos());
+        RequestTiming.describe("db", queries.count() + " queries");
+        RequestTiming.record("db", queries.nanos());
+
+        if (queries.count() > queryBudget) {
+            searchMetrics.recordQueryBudgetExceeded();
+            log.warn("[QueryBudget] 검색 1건에서 쿼리 {}개 실행 (예산 {}, {}ms) - 후보 {}개 중 {}개 검색: {} / 반복 SQL: {}",
+                    queries.count(), queryBudget, queries.nanos() / 1_000_000,
+                    stats.candidates.size(), stats.candidatesSearched,
+                    stats.candidates.subList(0, Math.min(stats.candidates.size(), 20)),
+                    queries.topStatements(3));
+        }
+    }
+
+    // 검색 결과를 메트릭 결과 구분으로 변환
+    private SearchMetrics.Result resultOf(ProductSearchResponse response, SearchStats stats) {
+        if (response == null) return SearchMetrics.Result.ERROR;
+        if (!stats.validated) return SearchMetrics.Result.INVALID;
+        if (!response.isFound()) return SearchMetrics.Result.NOT_FOUND;
+        return response.getMessage() != null ? SearchMetrics.Result.PARTIAL : SearchMetrics.Result.FOUND;
+    }
+
+    // 내부 클래스: 검색 단계 결과 (같은 검색어로 동시에 들어온 요청끼리 공유하므로 변경하지 않음)
+    // product == null 이면 미발견, partial이면 부분 매칭(candidate 없음)
+    private record Resolution(SearchCandidate candidate, RecallProduct product, boolean partial) {
+    }
+
+    // 내부 클래스: 요청 1건의 후보 집계 (요청 스레드 안에서만 사용)
+    private static class SearchStats {
+        boolean validated;                              // 입력 검증을 통과해 실제 검색 단계까지 진행했는지
+        boolean coalesced;                              // 같은 검색어로 먼저 들어온 요청의 검색 결과를 받아 갔는지
+        List<SearchCandidate> candidates = List.of();   // 생성된 후보 조합
+        int candidatesSearched;                         // 실제로 DB 검색을 수행한 후보 수
+        boolean deferAlternatives;                      // 점진적 검색 여부 (대체 상품 조회를 생략)
+        RecallProduct matched;                          // 점진적 검색에서 매칭된 리콜 (대체 상품 조회 대상)
+    }
+
     // 내부 클래스: 검색 조합 후보를 담는 단순 DTO
     private static class SearchCandidate {
         String productName;
@@ -0,0 +1,79 @@
+package com.safebuy.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safebuy.dto.AlternativeProductDto;
+import com.safebuy.entity.RecallAlternative;
+import com.safebuy.repository.RecallAlternativeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// 리콜번호별로 미리 조회해 둔 대체 상품 저장소 (recall_alternatives 테이블)
+// 유효 기간(shop.prewarm.ttl-hours)이 지난 항목과 대체 상품이 0건인 항목은 없는 것으로 취급
+// (0건은 조회 실패와 구분할 수 없으므로 저장된 빈 결과를 하루 동안 재사용하지 않고 다시 조회)
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecallAlternativeStore {
+
+    private final RecallAlternativeRepository repository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${shop.prewarm.ttl-hours:24}")
+    private long ttlHours;
+
+    // 유효한 저장 결과 (없거나 만료/손상/0건인 경우 empty)
+    public Optional<List<AlternativeProductDto>> find(String recallSn) {
+        if (recallSn == null) return Optional.empty();
+        return repository.findById(recallSn)
+                .filter(a -> a.getFetchedAt() != null && a.getFetchedAt().isAfter(freshSince()))
+                .flatMap(this::read)
+                .filter(alternatives -> !alternatives.isEmpty());
+    }
+
+    // 주어진 리콜번호 중 유효한 저장 결과가 있는 것
+    public Set<String> freshRecallSns(Collection<String> recallSns) {
+        if (recallSns.isEmpty()) return Set.of();
+        return repository.findByRecallSnInAndFetchedAtAfterAndItemCountGreaterThan(recallSns, freshSince(), 0).stream()
+                .map(RecallAlternativeRepository.RecallSnView::getRecallSn)
+                .collect(Collectors.toSet());
+    }
+
+    public void save(String recallSn, List<AlternativeProductDto> alternatives) {
+        try {
+            RecallAlternative entity = new RecallAlternative();
+            entity.setRecallSn(recallSn);
+            entity.setAlternativesJson(objectMapper.writeValueAsString(alternatives));
+            entity.setItemCount(alternatives.size());
+            entity.setFetchedAt(LocalDateTime.now());
+            repository.save(entity);
+        } catch (Exception e) {
+            log.warn("[AlternativeStore] 저장 실패 - recallSn={}: {}", recallSn, e.getMessage());
+        }
+    }
+
+    // 내부 메서드
+    private LocalDateTime freshSince() {
+        return LocalDateTime.now().minus(Duration.ofHours(ttlHours));
+    }
+
+    private Optional<List<AlternativeProductDto>> read(RecallAlternative entity) {
+        try {
+            return Optional.of(objectMapper.readValue(entity.getAlternativesJson(),
+                    new TypeReference<List<AlternativeProductDto>>() { }));
+        } catch (Exception e) {
+            log.warn("[AlternativeStore] 저장된 대체 상품 파싱 실패 - recallSn={}: {}", entity.getRecallSn(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
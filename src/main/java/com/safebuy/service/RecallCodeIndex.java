@@ -0,0 +1,147 @@
+package com.safebuy.service;
+
+import com.safebuy.entity.RecallProduct;
+import com.safebuy.monitoring.SearchMetrics;
+import com.safebuy.repository.RecallModelCodeRepository;
+import com.safebuy.repository.RecallModelCodeWriter;
+import com.safebuy.repository.RecallProductRepository;
+import com.safebuy.util.ProductCodeExtractor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* 모델번호/GTIN 정확 일치 인덱스 */
+// - 수집 시 모델명 정보(modl_nm_info)를 개별 코드로 나눠 recall_model_codes 테이블에 저장 (code + recall_sn 유일)
+// - 같은 내용을 메모리 해시맵(코드 → 리콜번호)으로 유지 → 검색어의 모델번호/바코드를 LIKE 스캔 없이 O(1)로 조회
+// - 코드 규칙은 ProductCodeExtractor를 수집/조회 양쪽에 똑같이 적용 (하이픈/대소문자, UPC-A/EAN-13 표기 차이 무시)
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecallCodeIndex {
+
+    private final RecallModelCodeRepository codeRepository;
+    private final RecallModelCodeWriter codeWriter;
+    private final RecallProductRepository productRepository;
+    private final SearchMetrics searchMetrics;
+
+    @Value("${safebuy.code-index.enabled:true}")
+    private boolean enabled;
+
+    // 코드 → 리콜번호 / 리콜번호 → 코드 (변경된 리콜의 이전 코드를 지우기 위한 역방향)
+    private final Map<String, Set<String>> recallsByCode = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> codesByRecall = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // 기동 완료 시 테이블에서 메모리 인덱스 적재
+    // 테이블이 비어 있는데 리콜 데이터는 있으면(인덱스 도입 전 데이터) 전체를 한 번 토큰화해서 채움
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        searchMetrics.registerCache("code_index", this, i -> i.recallsByCode.size(), RecallCodeIndex::hitRatio);
+        if (!enabled) return;
+        try {
+            List<RecallModelCodeRepository.CodeView> rows = codeRepository.findAllBy();
+            if (rows.isEmpty() && productRepository.count() > 0) {
+                log.info("[CodeIndex] 저장된 코드가 없어 전체 리콜 모델명 정보에서 생성");
+                applyChanges(productRepository.findAll());
+                return;
+            }
+            for (RecallModelCodeRepository.CodeView row : rows) {
+                add(row.getCode(), row.getRecallSn());
+            }
+            log.info("[CodeIndex] 코드 {}개 / 리콜 {}건 로드", recallsByCode.size(), codesByRecall.size());
+        } catch (Exception e) {
+            log.error("[CodeIndex] 인덱스 로드 실패 - 모델번호 검색은 부분 일치로만 동작합니다.", e);
+        }
+    }
+
+    // 누적 적중률 (조회가 없었으면 0)
+    public double hitRatio() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /* 수집 중 새로 저장/변경된 리콜의 코드를 테이블과 메모리에 반영 */
+    // 리콜 단위로 교체하므로 모델명 정보에서 빠진 코드는 인덱스에서도 빠짐
+    public synchronized void applyChanges(Collection<RecallProduct> changed) {
+        if (!enabled || changed == null || changed.isEmpty()) return;
+
+        Map<String, Set<String>> codesBySn = new LinkedHashMap<>(changed.size() * 2);
+        for (RecallProduct p : changed) {
+            if (p.getRecallSn() == null) continue;
+            codesBySn.put(p.getRecallSn(), ProductCodeExtractor.normalizedCodes(p.getModlNmInfo()));
+        }
+        int rows = codeWriter.replaceAll(codesBySn);
+
+        codesBySn.forEach((sn, codes) -> {
+            Set<String> previous = codesByRecall.remove(sn);
+            if (previous != null) {
+                for (String code : previous) remove(code, sn);
+            }
+            for (String code : codes) add(code, sn);
+        });
+        log.debug("[CodeIndex] 변경분 {}건 반영 - 코드 {}개 저장, 전체 코드 {}개", codesBySn.size(), rows, recallsByCode.size());
+    }
+
+    /* 텍스트(모델명 입력, 이미지 추출 결과 등)에 든 코드와 정확히 일치하는 리콜번호 조회 */
+    // 리턴값: 코드 등장 순서대로 합친 리콜번호 (없으면 빈 리스트)
+    public List<String> lookup(String text) {
+        return lookup(text, false);
+    }
+
+    /* 텍스트에 든 GTIN(체크 디지트가 맞는 바코드 숫자)만으로 조회 */
+    // 제품명처럼 모델번호 모양의 단어(용량/규격 등)가 섞이기 쉬운 입력에 사용
+    public List<String> lookupGtins(String text) {
+        return lookup(text, true);
+    }
+
+    // 단일 코드(바코드 숫자/모델번호)가 인덱스에 있는지
+    public boolean contains(String code) {
+        if (!enabled || code == null || code.isBlank()) return false;
+        return recallsByCode.containsKey(ProductCodeExtractor.normalize(code));
+    }
+
+    // 내부 메서드
+
+    private List<String> lookup(String text, boolean gtinOnly) {
+        if (!enabled || text == null || text.isBlank()) return List.of();
+
+        Set<String> found = new LinkedHashSet<>();
+        for (String token : ProductCodeExtractor.extract(text, 0)) {
+            if (gtinOnly && !ProductCodeExtractor.isGtin(token)) continue;
+            Set<String> sns = recallsByCode.get(ProductCodeExtractor.normalize(token));
+            if (sns != null) found.addAll(sns);
+        }
+
+        boolean hit = !found.isEmpty();
+        (hit ? hits : misses).incrementAndGet();
+        searchMetrics.recordCache("code_index", "MODEL", hit);
+        return new ArrayList<>(found);
+    }
+
+    private void add(String code, String sn) {
+        recallsByCode.computeIfAbsent(code, k -> ConcurrentHashMap.newKeySet()).add(sn);
+        codesByRecall.computeIfAbsent(sn, k -> ConcurrentHashMap.newKeySet()).add(code);
+    }
+
+    private void remove(String code, String sn) {
+        recallsByCode.computeIfPresent(code, (k, sns) -> {
+            sns.remove(sn);
+            return sns.isEmpty() ? null : sns;
+        });
+    }
+}
@@ -70,9 +70,9 @@ public class RecallDictionaryService {
     }
 
     // DB를 전체 스캔하여 새 딕셔너리를 만든 뒤 참조를 원자적으로 교체함
-    // - RecallService.updateAllData() 끝에서 호출 필요!
+    // - 수집 중에는 RecallPageWriter가 applyChanges로 변경분만 반영하므로, 전체 재구성이 필요할 때만 호출
     @Async
-    public void refresh() {
+    public synchronized void refresh() {
         Instant start = Instant.now(); // 시작 시간 기록
         log.info("[RecallDictionaryService] refresh 시작");
 
@@ -87,24 +87,7 @@ public class RecallDictionaryService {
 
         // 정규화해서 담기
         for (RecallProduct p : all) {
-            // 제조사 정규화
-            String m = TextNormalizer.normalizeText(p.getMakr());
-            if (StringUtils.hasText(m) && !TextNormalizer.isWeakQuery(m)) {
-                manu.add(m);
-            }
-
-            // 제품명 정규화
-            String pn = TextNormalizer.normalizeText(p.getProductNm());
-            if (StringUtils.hasText(pn) && !TextNormalizer.isWeakQuery(pn)) {
-                prod.add(pn);
-
-            }
-
-            // 모델명 정규화
-            String md = TextNormalizer.normalizeText(p.getModlNmInfo());
-            if (StringUtils.hasText(md) && !TextNormalizer.isWeakQuery(md)) {
-                model.add(md);
-            }
+            addNormalized(p, manu, prod, model);
         }
 
         // 불변 Set로 래핑 (읽기 시 동기화 불필요)
@@ -125,6 +108,30 @@ public class RecallDictionaryService {
                 took.toMillis());
     }
 
+    // 수집 중 새로 저장/변경된 행만 현재 딕셔너리에 더해서 참조를 교체함 (DB 전체 재스캔 없음)
+    // - 변경 전 값은 제거하지 않음: 사전은 "존재할 법한지" 판단용이라 남은 값이 있어도 필터가 느슨해질 뿐
+    //   (오래된 값은 다음 refresh 시 정리됨)
+    public synchronized void applyChanges(Collection<RecallProduct> changed) {
+        if (changed == null || changed.isEmpty()) return;
+
+        Dictionary current = dictRef;
+        Set<String> manu = new HashSet<>(current.getManufacturers());
+        Set<String> prod = new HashSet<>(current.getProducts());
+        Set<String> model = new HashSet<>(current.getModels());
+
+        for (RecallProduct p : changed) {
+            addNormalized(p, manu, prod, model);
+        }
+
+        dictRef = new Dictionary(
+                Collections.unmodifiableSet(manu),
+                Collections.unmodifiableSet(prod),
+                Collections.unmodifiableSet(model)
+        );
+        log.debug("[RecallDictionaryService] 변경분 {}건 반영 - manu={}, prod={}, model={}",
+                changed.size(), manu.size(), prod.size(), model.size());
+    }
+
     // 검색어 후보 검증 API
     public enum Field {
         MANUFACTURER, PRODUCT, MODEL
@@ -178,7 +185,37 @@ public class RecallDictionaryService {
         return containsExact(dict, field, n) || containsFuzzy(dict, field, n);
     }
 
+    // 단일 용어가 사전에 정규화된 값 그대로 있는지 (부분 일치는 보지 않음)
+    // 짧은 토큰이 다른 긴 값의 일부로 우연히 걸리면 안 되는 곳(이미지 로컬 추출 결과 확정 등)에서 사용
+    public boolean containsExactly(String term, Field field) {
+        if (!StringUtils.hasText(term)) return false;
+        String n = normalizedByField(term, field);
+        if (!StringUtils.hasText(n) || TextNormalizer.isWeakQuery(n)) return false;
+
+        return containsExact(dictRef, field, n);
+    }
+
     // 내부 메서드
+    private void addNormalized(RecallProduct p, Set<String> manu, Set<String> prod, Set<String> model) {
+        // 제조사 정규화
+        String m = TextNormalizer.normalizeText(p.getMakr());
+        if (StringUtils.hasText(m) && !TextNormalizer.isWeakQuery(m)) {
+            manu.add(m);
+        }
+
+        // 제품명 정규화
+        String pn = TextNormalizer.normalizeText(p.getProductNm());
+        if (StringUtils.hasText(pn) && !TextNormalizer.isWeakQuery(pn)) {
+            prod.add(pn);
+        }
+
+        // 모델명 정규화
+        String md = TextNormalizer.normalizeText(p.getModlNmInfo());
+        if (StringUtils.hasText(md) && !TextNormalizer.isWeakQuery(md)) {
+            model.add(md);
+        }
+    }
+
     private String normalizedByField(String s, Field field) {
         if (s == null) return null;
         return switch (field) {
@@ -0,0 +1,147 @@
+package com.safebuy.service;
+
+import com.safebuy.entity.RecallProduct;
+import com.safebuy.util.RecallXmlParser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// 리콜 API 응답 XML을 로컬 파일(dump)로 기록하고, 기록된 dump를 다시 읽어오는 서비스
+// - capture: 실시간 동기화 중 받은 페이지 원문을 {dump-dir}/job-{jobId}/page-00001.xml.gz 형태로 저장
+// - import : dump 파일(.xml / .xml.gz)을 RecallService와 같은 XML 스키마로 스트리밍 파싱
+//   → 운영 규모 데이터를 외부 API 없이 테스트 환경/새 노드에 디스크 속도로 적재할 수 있음
+@Service
+@Slf4j
+public class RecallDumpService {
+
+    // dump 기본 디렉터리 (import 경로는 반드시 이 디렉터리 하위여야 함)
+    @Value("${recall.dump.dir:./recall-dumps}")
+    private String dumpDir;
+
+    // 실시간 동기화 시 페이지 원문 기록 여부
+    @Value("${recall.dump.capture-enabled:false}")
+    private boolean captureEnabled;
+
+    /* capture */
+
+    // 기록 중인 dump 파일 1개 (파싱 성공 시 commit, 실패 시 abort)
+    public static final class Capture {
+        private final Path part;
+        private final Path target;
+        private OutputStream stream;
+
+        private Capture(Path part, Path target, OutputStream stream) {
+            this.part = part;
+            this.target = target;
+            this.stream = stream;
+        }
+
+        public OutputStream stream() {
+            return stream;
+        }
+
+        public void commit() throws IOException {
+            stream.close();
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        public void abort() {
+            try {
+                stream.close();
+                Files.deleteIfExists(part);
+            } catch (IOException e) {
+                log.warn("[Dump] 임시 파일 정리 실패: {}", part, e);
+            }
+        }
+
+        // 재시도 전에 이전 시도의 기록을 버리고 처음부터 다시 기록 (리턴값: 다시 열지 못하면 false → 기록 중단)
+        public boolean restart() {
+            abort();
+            try {
+                stream = new GZIPOutputStream(Files.newOutputStream(part), 16 * 1024);
+                return true;
+            } catch (IOException e) {
+                log.warn("[Dump] 재시도용 기록 파일 생성 실패, 이 페이지는 기록하지 않음: {}", part, e);
+                return false;
+            }
+        }
+    }
+
+    public boolean isCaptureEnabled() {
+        return captureEnabled;
+    }
+
+    // 페이지 원문 기록 시작 (capture 비활성화 상태면 null)
+    public Capture openCapture(Long jobId, int pageNo) throws IOException {
+        if (!captureEnabled) return null;
+        Path dir = Paths.get(dumpDir).resolve("job-" + jobId);
+        Files.createDirectories(dir);
+        Path target = dir.resolve(String.format("page-%05d.xml.gz", pageNo));
+        Path part = dir.resolve(target.getFileName() + ".part");
+        return new Capture(part, target, new GZIPOutputStream(Files.newOutputStream(part), 16 * 1024));
+    }
+
+    /* import */
+
+    // import 대상 파일 목록 (파일명 순)
+    // 파라미터 sourcePath: dump-dir 기준 상대 경로 (디렉터리 또는 파일), 쉼표로 여러 개 지정 가능
+    public List<Path> resolveDumpFiles(String sourcePath) throws IOException {
+        Path base = Paths.get(dumpDir).toAbsolutePath().normalize();
+        List<Path> files = new ArrayList<>();
+
+        String[] entries = StringUtils.hasText(sourcePath) ? sourcePath.split(",") : new String[]{""};
+        for (String entry : entries) {
+            Path path = base.resolve(entry.trim()).normalize();
+            if (!path.startsWith(base)) {
+                throw new IllegalArgumentException("dump 경로는 " + base + " 하위여야 합니다: " + entry);
+            }
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> stream = Files.list(path)) {
+                    stream.filter(Files::isRegularFile)
+                            .filter(this::isDumpFile)
+                            .sorted()
+                            .forEach(files::add);
+                }
+            } else if (Files.isRegularFile(path) && isDumpFile(path)) {
+                files.add(path);
+            } else {
+                throw new IllegalArgumentException("dump 파일을 찾을 수 없습니다: " + entry);
+            }
+        }
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("import할 dump 파일이 없습니다: " + sourcePath);
+        }
+        return files;
+    }
+
+    // dump 파일 1개를 스트리밍 파싱 (리턴값: 파일에 기록된 allCnt)
+    public int read(Path file, Consumer<RecallProduct> sink) throws Exception {
+        try (InputStream in = open(file)) {
+            return RecallXmlParser.parse(in, sink);
+        }
+    }
+
+    // 내부 메서드
+    private InputStream open(Path file) throws IOException {
+        InputStream raw = new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+        return file.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(raw, 64 * 1024) : raw;
+    }
+
+    private boolean isDumpFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.endsWith(".xml") || name.endsWith(".xml.gz");
+    }
+}
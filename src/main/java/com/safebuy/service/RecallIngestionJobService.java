@@ -0,0 +1,180 @@
+package com.safebuy.service;
+
+import com.safebuy.dto.IngestionJobStatusResponse;
+import com.safebuy.entity.RecallIngestionJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+// 리콜 데이터 수집 작업을 요청 스레드 밖(ingestionExecutor)에서 실행하고 진행 상황을 제공하는 서비스
+// - 요청 시 작업 ID만 바로 돌려주고 실제 수집은 백그라운드에서 수행
+// - 이미 실행 중인 작업이 있으면 새 작업을 만들지 않고 그 작업으로 합류시킴
+// - 작업이 끝나면 대체 상품 미리 조회를 prewarmExecutor에 넘김 (미리 조회는 실행 중인 작업으로 보지 않음)
+@Service
+@Slf4j
+public class RecallIngestionJobService {
+
+    private final RecallService recallService;
+    private final RecallIngestionJournalService journalService;
+    private final AlternativePrewarmService prewarmService;
+    private final TaskExecutor ingestionExecutor;
+    private final TaskExecutor prewarmExecutor;
+
+    public RecallIngestionJobService(RecallService recallService,
+                                     RecallIngestionJournalService journalService,
+                                     AlternativePrewarmService prewarmService,
+                                     @Qualifier("ingestionExecutor") TaskExecutor ingestionExecutor,
+                                     @Qualifier("prewarmExecutor") TaskExecutor prewarmExecutor) {
+        this.recallService = recallService;
+        this.journalService = journalService;
+        this.prewarmService = prewarmService;
+        this.ingestionExecutor = ingestionExecutor;
+        this.prewarmExecutor = prewarmExecutor;
+    }
+
+    // 현재 실행 중인 작업의 이번 실행 기준값 (속도/ETA 계산용)
+    private static final class ActiveRun {
+        final Long jobId;
+        final long startedNanos = System.nanoTime();
+        final LocalDateTime startedAt = LocalDateTime.now(); // 이 시각 이전에 실패한 페이지는 이번 실행에서 다시 시도함
+        final long baselinePages;   // 이번 실행 시작 시점의 완료 페이지 수 (재개 작업이면 0보다 큼)
+        final long baselineRows;    // 이번 실행 시작 시점의 처리 행 수
+
+        ActiveRun(RecallIngestionJob job) {
+            this.jobId = job.getId();
+            this.baselinePages = job.getPagesCompleted();
+            this.baselineRows = job.getRowsInserted() + job.getRowsUpdated() + job.getRowsSkipped();
+        }
+    }
+
+    private final Object lock = new Object();
+    private volatile ActiveRun active;
+
+    // 작업 요청 결과
+    public record SubmitResult(Long jobId, boolean merged) {
+    }
+
+    /* 수집 작업 요청 메서드 */
+    // 실행 중인 작업이 있으면 그 작업 ID를 merged=true로 반환, 없으면 작업을 만들어 백그라운드 실행
+    public SubmitResult submit(RecallService.SyncMode mode) {
+        return submit(mode.name(), () -> recallService.prepareJob(mode));
+    }
+
+    /* dump import 작업 요청 메서드 */
+    // 파라미터 sourcePath: dump 디렉터리 기준 상대 경로 (실행 중 작업이 있으면 submit과 동일하게 합류)
+    public SubmitResult submitImport(String sourcePath) {
+        return submit(RecallService.SyncMode.IMPORT.name(), () -> recallService.prepareImportJob(sourcePath));
+    }
+
+    // 내부 메서드
+    private SubmitResult submit(String mode, Supplier<RecallIngestionJob> prepare) {
+        synchronized (lock) {
+            if (active != null) {
+                log.info("[IngestionJob] 이미 실행 중인 작업 {}에 합류 (요청 mode={})", active.jobId, mode);
+                return new SubmitResult(active.jobId, true);
+            }
+
+            RecallIngestionJob job = prepare.get();
+            ActiveRun run = new ActiveRun(job);
+            active = run;
+            try {
+                ingestionExecutor.execute(() -> execute(job, run));
+            } catch (RuntimeException e) {
+                active = null;
+                throw e;
+            }
+            log.info("[IngestionJob] 작업 {} 백그라운드 실행 시작 (mode={})", job.getId(), job.getSyncMode());
+            return new SubmitResult(job.getId(), false);
+        }
+    }
+
+    /* 진행 상황 조회 */
+
+    public Optional<IngestionJobStatusResponse> getStatus(Long jobId) {
+        return journalService.getStatus(jobId).map(this::withProgress);
+    }
+
+    public Optional<IngestionJobStatusResponse> getLatestStatus() {
+        return journalService.getLatestStatus().map(this::withProgress);
+    }
+
+    private void execute(RecallIngestionJob job, ActiveRun run) {
+        boolean finished = false;
+        try {
+            recallService.runJob(job);
+            finished = true;
+        } catch (Exception e) {
+            // 상태는 그대로 두어 다음 요청에서 재개되도록 하고 오류만 기록
+            log.error("[IngestionJob] 작업 {} 실행 중 오류", job.getId(), e);
+            journalService.recordError(job.getId(), e.getMessage());
+        } finally {
+            synchronized (lock) {
+                if (active == run) active = null;
+            }
+        }
+        // 실행 중 표시를 먼저 해제한 뒤 넘김 → 미리 조회 중에 들어온 수집 요청은 새 작업으로 실행됨
+        if (finished) {
+            prewarmIfCompleted(job.getId());
+        }
+    }
+
+    // 모든 페이지가 처리된 작업이면 최신 리콜의 대체 상품 미리 조회를 백그라운드에 넘김 (실패해도 수집 결과에는 영향 없음)
+    private void prewarmIfCompleted(Long jobId) {
+        boolean completed = journalService.getStatus(jobId)
+                .map(s -> RecallIngestionJob.Status.COMPLETED.name().equals(s.getStatus()))
+                .orElse(false);
+        if (!completed) return;
+        try {
+            prewarmExecutor.execute(() -> {
+                try {
+                    prewarmService.prewarm();
+                } catch (Exception e) {
+                    log.warn("[IngestionJob] 작업 {} 이후 대체 상품 미리 조회 실패: {}", jobId, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.info("[IngestionJob] 대기 중인 대체 상품 미리 조회가 있어 작업 {} 이후 미리 조회는 생략", jobId);
+        }
+    }
+
+    // 저장된 진행 상황에 처리 속도/ETA를 더함
+    private IngestionJobStatusResponse withProgress(IngestionJobStatusResponse status) {
+        long rowsProcessed = status.getRowsInserted() + status.getRowsUpdated() + status.getRowsSkipped();
+        ActiveRun run = active;
+
+        if (run != null && run.jobId.equals(status.getJobId())) {
+            status.setRunning(true);
+            double elapsedSec = (System.nanoTime() - run.startedNanos) / 1e9;
+            // 남은 페이지 = 미처리(PENDING) + 이번 실행에서 아직 다시 시도하지 않은 실패 페이지
+            long failedAwaitingRetry = journalService.countFailedNotRetriedSince(run.jobId, run.startedAt);
+            long pagesRemaining = status.getPagesPending() + failedAwaitingRetry;
+            // 이번 실행에서 처리한 페이지 = 새로 완료된 페이지 + 이번 실행에서 다시 실패한 페이지
+            long pagesThisRun = status.getPagesCompleted() - run.baselinePages
+                    + (status.getPagesFailed() - failedAwaitingRetry);
+            long rowsThisRun = rowsProcessed - run.baselineRows;
+            if (elapsedSec > 0) {
+                status.setRowsPerSecond(rowsThisRun / elapsedSec);
+            }
+            if (pagesThisRun > 0) {
+                double secPerPage = elapsedSec / pagesThisRun;
+                status.setEtaSeconds(Math.round(pagesRemaining * secPerPage));
+            }
+            return status;
+        }
+
+        // 실행 중이 아니면 저장된 시각 기준 평균 속도
+        LocalDateTime end = status.getFinishedAt() != null ? status.getFinishedAt() : status.getUpdatedAt();
+        if (status.getStartedAt() != null && end != null) {
+            double sec = Duration.between(status.getStartedAt(), end).toMillis() / 1000.0;
+            if (sec > 0) status.setRowsPerSecond(rowsProcessed / sec);
+        }
+        return status;
+    }
+}
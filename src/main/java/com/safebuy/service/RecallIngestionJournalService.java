@@ -0,0 +1,245 @@
+package com.safebuy.service;
+
+import com.safebuy.dto.IngestionJobStatusResponse;
+import com.safebuy.entity.RecallIngestionJob;
+import com.safebuy.entity.RecallIngestionPage;
+import com.safebuy.repository.RecallIngestionJobRepository;
+import com.safebuy.repository.RecallIngestionPageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+// 리콜 데이터 수집 작업의 페이지별 진행 기록(저널)을 관리하는 서비스
+// - 작업 계획 시 처리할 페이지를 전부 PENDING으로 기록
+// - 페이지마다 COMPLETED / FAILED 로 갱신 → 컨테이너 재시작이나 부분 실패 시 남은 페이지만 이어서 처리
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecallIngestionJournalService {
+
+    private final RecallIngestionJobRepository jobRepository;
+    private final RecallIngestionPageRepository pageRepository;
+
+    // 같은 작업을 이 횟수 이상 재개해도 실패 페이지가 남으면 작업을 포기하고 새 작업을 시작함
+    private static final int MAX_RESUMES = 5;
+
+    // 오류 메시지 저장 길이 상한
+    private static final int MAX_ERROR_LENGTH = 2_000;
+
+    /* 작업 생성/재개 */
+
+    // 이어서 처리해야 할 작업 조회 (QUEUED: 계획 전에 중단됨, RUNNING: 처리 도중 중단됨, PARTIAL: 실패 페이지 남음)
+    public Optional<RecallIngestionJob> findResumableJob() {
+        Optional<RecallIngestionJob> found = jobRepository.findFirstByStatusInOrderByIdDesc(
+                EnumSet.of(RecallIngestionJob.Status.QUEUED, RecallIngestionJob.Status.RUNNING,
+                        RecallIngestionJob.Status.PARTIAL));
+        if (found.isPresent() && found.get().getResumeCount() >= MAX_RESUMES) {
+            RecallIngestionJob job = found.get();
+            log.warn("[Journal] 작업 {} 재개 한도({}) 초과 → FAILED 처리 후 새 작업으로 진행", job.getId(), MAX_RESUMES);
+            job.setStatus(RecallIngestionJob.Status.FAILED);
+            job.setFinishedAt(LocalDateTime.now());
+            job.setUpdatedAt(LocalDateTime.now());
+            jobRepository.save(job);
+            return Optional.empty();
+        }
+        return found;
+    }
+
+    // 새 작업 생성 (페이지 계획 전 QUEUED 상태, 외부 API 호출 없이 바로 작업 ID를 돌려주기 위함)
+    public RecallIngestionJob createJob(String syncMode) {
+        return createJob(syncMode, null);
+    }
+
+    // sourcePath: IMPORT 작업이 읽을 dump 경로 (실시간 동기화 작업은 null)
+    public RecallIngestionJob createJob(String syncMode, String sourcePath) {
+        LocalDateTime now = LocalDateTime.now();
+
+        RecallIngestionJob job = new RecallIngestionJob();
+        job.setSyncMode(syncMode);
+        job.setSourcePath(sourcePath);
+        job.setStatus(RecallIngestionJob.Status.QUEUED);
+        job.setStartedAt(now);
+        job.setUpdatedAt(now);
+        job = jobRepository.save(job);
+
+        log.info("[Journal] 새 수집 작업 생성 - jobId={}, mode={}", job.getId(), syncMode);
+        return job;
+    }
+
+    // 작업의 페이지 계획 확정: 1 ~ plannedPages 페이지를 PENDING으로 기록하고 RUNNING 전환
+    public RecallIngestionJob planJob(RecallIngestionJob job, String syncMode, int allCnt, int totalPages, int plannedPages) {
+        LocalDateTime now = LocalDateTime.now();
+
+        job.setSyncMode(syncMode);
+        job.setStatus(RecallIngestionJob.Status.RUNNING);
+        job.setAllCnt(allCnt);
+        job.setTotalPages(totalPages);
+        job.setPlannedPages(plannedPages);
+        job.setUpdatedAt(now);
+        job = jobRepository.save(job);
+
+        List<RecallIngestionPage> pages = new ArrayList<>(plannedPages);
+        for (int pageNo = 1; pageNo <= plannedPages; pageNo++) {
+            RecallIngestionPage page = new RecallIngestionPage();
+            page.setJobId(job.getId());
+            page.setPageNo(pageNo);
+            page.setStatus(RecallIngestionPage.Status.PENDING);
+            page.setUpdatedAt(now);
+            pages.add(page);
+        }
+        pageRepository.saveAll(pages);
+
+        log.info("[Journal] 수집 작업 계획 - jobId={}, mode={}, 처리 대상 페이지={}", job.getId(), syncMode, plannedPages);
+        return job;
+    }
+
+    // 기존 작업을 다시 RUNNING으로 전환
+    // (아직 페이지 계획 전인 QUEUED 작업은 그대로 두어 runJob에서 계획부터 다시 수행)
+    public RecallIngestionJob resume(RecallIngestionJob job) {
+        if (job.getStatus() != RecallIngestionJob.Status.QUEUED) {
+            job.setStatus(RecallIngestionJob.Status.RUNNING);
+        }
+        job.setResumeCount(job.getResumeCount() + 1);
+        job.setFinishedAt(null);
+        job.setUpdatedAt(LocalDateTime.now());
+        log.info("[Journal] 수집 작업 재개 - jobId={}, 재개 횟수={}, 완료 페이지={}, 실패 페이지={}",
+                job.getId(), job.getResumeCount(), job.getPagesCompleted(), job.getPagesFailed());
+        return jobRepository.save(job);
+    }
+
+    // 아직 처리되지 않았거나 실패한 페이지 (페이지 번호 순)
+    public List<RecallIngestionPage> pagesToProcess(RecallIngestionJob job) {
+        return pageRepository.findByJobIdAndStatusInOrderByPageNo(job.getId(),
+                EnumSet.of(RecallIngestionPage.Status.PENDING, RecallIngestionPage.Status.FAILED));
+    }
+
+    /* 페이지 상태 기록 */
+
+    public void markCompleted(RecallIngestionJob job, RecallIngestionPage page, int attempts, RecallPageWriter.PageResult result) {
+        int savedRows = result.getWritten();
+        if (page.getStatus() == RecallIngestionPage.Status.FAILED) {
+            job.setPagesFailed(Math.max(job.getPagesFailed() - 1, 0));
+        }
+        page.setStatus(RecallIngestionPage.Status.COMPLETED);
+        page.setAttempts(page.getAttempts() + attempts);
+        page.setSavedRows(savedRows);
+        page.setLastError(null);
+        page.setUpdatedAt(LocalDateTime.now());
+        pageRepository.save(page);
+
+        job.setPagesCompleted(job.getPagesCompleted() + 1);
+        job.setRowsSaved(job.getRowsSaved() + savedRows);
+        job.setRowsInserted(job.getRowsInserted() + result.getInserted());
+        job.setRowsUpdated(job.getRowsUpdated() + result.getUpdated());
+        job.setRowsSkipped(job.getRowsSkipped() + result.getSkipped());
+        job.setUpdatedAt(LocalDateTime.now());
+        jobRepository.save(job);
+    }
+
+    public void markFailed(RecallIngestionJob job, RecallIngestionPage page, int attempts, String error) {
+        if (page.getStatus() != RecallIngestionPage.Status.FAILED) {
+            job.setPagesFailed(job.getPagesFailed() + 1);
+        }
+        String message = truncate(error);
+        page.setStatus(RecallIngestionPage.Status.FAILED);
+        page.setAttempts(page.getAttempts() + attempts);
+        page.setLastError(message);
+        page.setUpdatedAt(LocalDateTime.now());
+        pageRepository.save(page);
+
+        job.setLastError("page " + page.getPageNo() + ": " + message);
+        job.setUpdatedAt(LocalDateTime.now());
+        jobRepository.save(job);
+    }
+
+    // 증분 동기화 조기 종료 시 남은 PENDING 페이지를 SKIPPED 처리
+    public void skipRemaining(RecallIngestionJob job) {
+        int skipped = pageRepository.updateStatus(job.getId(),
+                RecallIngestionPage.Status.PENDING, RecallIngestionPage.Status.SKIPPED);
+        log.info("[Journal] 작업 {} 남은 페이지 {}개 SKIPPED 처리", job.getId(), skipped);
+    }
+
+    // 작업 실행 자체가 예외로 끝났을 때 오류만 기록 (상태는 유지 → 다음 실행에서 재개)
+    public void recordError(Long jobId, String error) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setLastError(truncate(error));
+            job.setUpdatedAt(LocalDateTime.now());
+            jobRepository.save(job);
+        });
+    }
+
+    // 작업 종료 처리: 실패/미처리 페이지가 없으면 COMPLETED, 있으면 PARTIAL (다음 실행에서 재개)
+    public RecallIngestionJob finish(RecallIngestionJob job) {
+        long failed = pageRepository.countByJobIdAndStatus(job.getId(), RecallIngestionPage.Status.FAILED);
+        long pending = pageRepository.countByJobIdAndStatus(job.getId(), RecallIngestionPage.Status.PENDING);
+
+        job.setPagesFailed((int) failed);
+        job.setStatus(failed == 0 && pending == 0
+                ? RecallIngestionJob.Status.COMPLETED
+                : RecallIngestionJob.Status.PARTIAL);
+        job.setFinishedAt(LocalDateTime.now());
+        job.setUpdatedAt(LocalDateTime.now());
+        log.info("[Journal] 작업 {} 종료 - status={}, 완료={}, 실패={}, 미처리={}, 신규={}, 변경={}, 동일={}",
+                job.getId(), job.getStatus(), job.getPagesCompleted(), failed, pending,
+                job.getRowsInserted(), job.getRowsUpdated(), job.getRowsSkipped());
+        return jobRepository.save(job);
+    }
+
+    /* 진행 상황 조회 */
+
+    public Optional<IngestionJobStatusResponse> getStatus(Long jobId) {
+        return jobRepository.findById(jobId).map(this::toStatus);
+    }
+
+    // since 이전에 실패한 뒤 아직 다시 처리되지 않은 페이지 수 (실행 중 작업의 남은 페이지 계산용)
+    public long countFailedNotRetriedSince(Long jobId, LocalDateTime since) {
+        return pageRepository.countByJobIdAndStatusAndUpdatedAtBefore(jobId, RecallIngestionPage.Status.FAILED, since);
+    }
+
+    public Optional<IngestionJobStatusResponse> getLatestStatus() {
+        return jobRepository.findFirstByOrderByIdDesc().map(this::toStatus);
+    }
+
+    private IngestionJobStatusResponse toStatus(RecallIngestionJob job) {
+        List<Integer> failedPages = pageRepository.findByJobIdAndStatusInOrderByPageNo(job.getId(),
+                        EnumSet.of(RecallIngestionPage.Status.FAILED)).stream()
+                .map(RecallIngestionPage::getPageNo)
+                .collect(Collectors.toList());
+
+        return IngestionJobStatusResponse.builder()
+                .jobId(job.getId())
+                .syncMode(job.getSyncMode())
+                .sourcePath(job.getSourcePath())
+                .status(job.getStatus().name())
+                .allCnt(job.getAllCnt())
+                .totalPages(job.getTotalPages())
+                .plannedPages(job.getPlannedPages())
+                .pagesCompleted(pageRepository.countByJobIdAndStatus(job.getId(), RecallIngestionPage.Status.COMPLETED))
+                .pagesFailed(failedPages.size())
+                .pagesPending(pageRepository.countByJobIdAndStatus(job.getId(), RecallIngestionPage.Status.PENDING))
+                .pagesSkipped(pageRepository.countByJobIdAndStatus(job.getId(), RecallIngestionPage.Status.SKIPPED))
+                .rowsSaved(job.getRowsSaved())
+                .rowsInserted(job.getRowsInserted())
+                .rowsUpdated(job.getRowsUpdated())
+                .rowsSkipped(job.getRowsSkipped())
+                .resumeCount(job.getResumeCount())
+                .failedPages(failedPages)
+                .lastError(job.getLastError())
+                .startedAt(job.getStartedAt())
+                .updatedAt(job.getUpdatedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    private String truncate(String s) {
+        if (s == null) return null;
+        return s.length() <= MAX_ERROR_LENGTH ? s : s.substring(0, MAX_ERROR_LENGTH);
+    }
+}
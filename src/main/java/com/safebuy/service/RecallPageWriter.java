@@ -0,0 +1,112 @@
+package com.safebuy.service;
+
+import com.safebuy.entity.RecallProduct;
+import com.safebuy.repository.RecallProductBulkWriter;
+import com.safebuy.repository.RecallProductRepository;
+import com.safebuy.util.RecallFingerprint;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 파싱된 리콜 1페이지를 검증/분류 후 저장하는 서비스
+// - 필수 필드 검증 → 카테고리 분류 → 내용 지문 계산
+// - 저장된 지문을 페이지 단위로 한 번에 조회해서 새 행/변경된 행만 upsert (내용이 같은 행은 건너뜀)
+// - 변경된 행만 검색용 사전/모델번호 인덱스에 반영
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecallPageWriter {
+
+    private final RecallProductRepository repository;
+    private final RecallProductBulkWriter bulkWriter;
+    private final CategoryClassifierService categoryClassifierService;
+    private final RecallDictionaryService recallDictionaryService;
+    private final RecallCodeIndex recallCodeIndex;
+
+    // 페이지 처리 결과 (행 수 집계)
+    @Getter
+    public static final class PageResult {
+        private final int inserted;   // 새로 저장한 행
+        private final int updated;    // 내용이 바뀌어 다시 저장한 행
+        private final int skipped;    // 내용이 같아서 건너뛴 행
+        private final int filtered;   // 필수 필드 누락으로 제외한 행
+
+        PageResult(int inserted, int updated, int skipped, int filtered) {
+            this.inserted = inserted;
+            this.updated = updated;
+            this.skipped = skipped;
+            this.filtered = filtered;
+        }
+
+        public int getWritten() {
+            return inserted + updated;
+        }
+    }
+
+    /* 한 페이지 분량의 파싱 결과를 저장하는 메서드 */
+    // 파라미터 parsed: RecallXmlParser가 만든 RecallProduct 목록 (category/contentHash 미설정 상태)
+    // 리턴값: 새 행/변경 행/건너뛴 행/제외 행 수
+    public PageResult write(List<RecallProduct> parsed) {
+        List<RecallProduct> products = new ArrayList<>(parsed.size());
+
+        for (RecallProduct product : parsed) {
+            // 필수 필드 4개가 모두 존재할 때만 저장 (모델명, 결함내용, 공표시작일, 제조사)
+            if (isNotBlank(product.getRecallSn()) && isNotBlank(product.getMakr()) && isNotBlank(product.getModlNmInfo())
+                    && isNotBlank(product.getRecallPublictBgnde()) && isNotBlank(product.getShrtcomCn())) {
+
+                // 제품명을 기반으로 카테고리 분류
+                String category = categoryClassifierService.classifyProduct(product.getProductNm());
+                product.setCategory(category);
+                product.setContentHash(RecallFingerprint.of(product));
+
+                products.add(product);
+            }
+        }
+        int filtered = parsed.size() - products.size();
+        if (products.isEmpty()) {
+            return new PageResult(0, 0, 0, filtered);
+        }
+
+        // 저장된 지문을 페이지 단위로 한 번에 조회
+        Map<String, String> storedHashes = new HashMap<>(products.size() * 2);
+        for (RecallProductRepository.ContentHashView view :
+                repository.findByRecallSnIn(products.stream().map(RecallProduct::getRecallSn).toList())) {
+            storedHashes.put(view.getRecallSn(), view.getContentHash());
+        }
+
+        List<RecallProduct> changed = new ArrayList<>(products.size());
+        int inserted = 0;
+        int updated = 0;
+        for (RecallProduct product : products) {
+            if (!storedHashes.containsKey(product.getRecallSn())) {
+                inserted++;
+                changed.add(product);
+            } else if (!product.getContentHash().equals(storedHashes.get(product.getRecallSn()))) {
+                // 지문이 없던 기존 행(null)도 변경으로 간주해서 한 번 다시 저장
+                updated++;
+                changed.add(product);
+            }
+        }
+        int skipped = products.size() - changed.size();
+
+        if (!changed.isEmpty()) {
+            bulkWriter.upsertAll(changed);
+            // 변경된 행만 검색용 사전/모델번호 인덱스에 반영
+            recallDictionaryService.applyChanges(changed);
+            recallCodeIndex.applyChanges(changed);
+        }
+
+        log.debug("[PageWriter] inserted={}, updated={}, skipped={}, filtered={}", inserted, updated, skipped, filtered);
+        return new PageResult(inserted, updated, skipped, filtered);
+    }
+
+    private boolean isNotBlank(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
@@ -1,87 +1,234 @@
 package com.safebuy.service;
 
+import com.safebuy.entity.RecallIngestionJob;
+import com.safebuy.entity.RecallIngestionPage;
 import com.safebuy.entity.RecallProduct;
-import com.safebuy.repository.RecallProductRepository;
-import lombok.RequiredArgsConstructor;
+import com.safebuy.entity.RecallSyncCheckpoint;
+import com.safebuy.repository.RecallSyncCheckpointRepository;
+import com.safebuy.util.RecallXmlParser;
+import com.safebuy.util.TeeInputStream;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Service;
-import org.w3c.dom.*;
-import javax.xml.parsers.*;
-import java.net.URL;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import javax.net.ssl.*;
-import java.security.cert.X509Certificate;
-import java.net.HttpURLConnection;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.io.BufferedInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+import java.net.URI;
+import javax.xml.stream.XMLStreamException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RecallService {
 
-    private final RecallProductRepository repository;
-    private final CategoryClassifierService categoryClassifierService;
-    private final RecallDictionaryService recallDictionaryService;
+    private final RecallSyncCheckpointRepository checkpointRepository;
+    private final RecallPageWriter pageWriter;
+    private final RecallIngestionJournalService journalService;
+    private final RecallDumpService dumpService;
+    // 공공데이터 API 전용 연결 풀 (RestTemplateConfig)
+    private final RestTemplate recallRestTemplate;
+
+    public RecallService(RecallSyncCheckpointRepository checkpointRepository,
+                         RecallPageWriter pageWriter,
+                         RecallIngestionJournalService journalService,
+                         RecallDumpService dumpService,
+                         @Qualifier("recallRestTemplate") RestTemplate recallRestTemplate) {
+        this.checkpointRepository = checkpointRepository;
+        this.pageWriter = pageWriter;
+        this.journalService = journalService;
+        this.dumpService = dumpService;
+        this.recallRestTemplate = recallRestTemplate;
+    }
 
     @Value("${consumer.api.service-key}")
     private String serviceKey;
     
-    private final String baseUrl = "https://www.consumer.go.kr/openapi/recall/contents/index.do";
+    // 공공데이터 리콜 API 주소 (테스트에서는 스텁 서버로 교체)
+    @Value("${consumer.api.base-url:https://www.consumer.go.kr/openapi/recall/contents/index.do}")
+    private String baseUrl;
+
+    // 동기화 방식
+    // FULL: 1페이지부터 마지막 페이지까지 전부 다시 받아 저장
+    // INCREMENTAL: 체크포인트 이후 새로 공표된 리콜이 있을 수 있는 앞쪽 페이지만 받아 저장
+    // IMPORT: 외부 API 대신 로컬 dump 파일(파일 1개 = 페이지 1개)을 읽어 같은 검증/분류/저장 경로로 적재
+    public enum SyncMode {
+        FULL, INCREMENTAL, IMPORT
+    }
 
-    public void updateAllData() throws Exception {
-        log.info("해외리콜 전체 데이터 업데이트 시작");
-        
-        // SSL 인증서 검증 우회 설정 
-        disableSSLVerification();
+    // 재개해야 할 작업이 요청과 다른 방식(모드 또는 dump 경로)이라 새 작업을 만들 수 없을 때
+    // 요청한 방식을 몰래 바꿔 실행하지 않도록 재개 대상 작업 정보와 함께 거절
+    public static class ResumableJobConflictException extends RuntimeException {
+        private final RecallIngestionJob job;
+
+        public ResumableJobConflictException(RecallIngestionJob job, String requested) {
+            super("재개해야 할 수집 작업 " + job.getId() + "(mode=" + job.getSyncMode()
+                    + (job.getSourcePath() != null ? ", path=" + job.getSourcePath() : "")
+                    + ")이 남아 있어 " + requested + " 작업을 시작할 수 없습니다. 같은 방식으로 다시 요청해 먼저 재개하세요.");
+            this.job = job;
+        }
+
+        public RecallIngestionJob getJob() {
+            return job;
+        }
+    }
+
+    /* 실행할 작업을 즉시 준비하는 메서드 (외부 API 호출 없음) */
+    // 이전에 중단됐거나 실패 페이지가 남은 작업이 같은 모드면 새 작업 대신 그 작업을 재개 대상으로 반환
+    // 다른 모드의 작업이 남아 있으면 ResumableJobConflictException (재개 한도를 넘은 작업은 FAILED 처리되어 대상에서 빠짐)
+    // 없으면 페이지 계획이 없는 QUEUED 상태의 새 작업을 만들어 반환 (계획은 runJob에서 수행)
+    public RecallIngestionJob prepareJob(SyncMode mode) {
+        return journalService.findResumableJob()
+                .map(job -> resumeIfSame(job, mode, null))
+                .orElseGet(() -> journalService.createJob(mode.name()));
+    }
+
+    // dump import 작업 준비 (경로는 작업에 저장해 두고 재개 시에도 같은 파일 목록을 다시 읽음)
+    // 같은 경로의 import 작업이 남아 있으면 그 작업을 재개, 다른 작업이 남아 있으면 ResumableJobConflictException
+    public RecallIngestionJob prepareImportJob(String sourcePath) {
+        // 잘못된 경로는 작업을 만들기 전에 바로 거절 (IllegalArgumentException)
+        try {
+            dumpService.resolveDumpFiles(sourcePath);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return journalService.findResumableJob()
+                .map(job -> resumeIfSame(job, SyncMode.IMPORT, sourcePath))
+                .orElseGet(() -> journalService.createJob(SyncMode.IMPORT.name(), sourcePath));
+    }
+
+    // 남은 작업이 요청과 같은 모드(import는 같은 경로까지)일 때만 재개
+    private RecallIngestionJob resumeIfSame(RecallIngestionJob job, SyncMode mode, String sourcePath) {
+        boolean same = mode.name().equals(job.getSyncMode())
+                && (mode != SyncMode.IMPORT || Objects.equals(sourcePath, job.getSourcePath()));
+        if (!same) {
+            log.warn("재개 대상 작업 {}(mode={})이 요청 mode={}와 달라 요청을 거절합니다.", job.getId(), job.getSyncMode(), mode);
+            throw new ResumableJobConflictException(job, mode.name());
+        }
+        return journalService.resume(job);
+    }
+
+    /* 작업을 실행하는 메서드 */
+    // 실행 중 작업 중복 방지/대체 상품 미리 조회가 RecallIngestionJobService에 있으므로 그 서비스를 통해서만 호출
+    // 새 작업이면 전체 건수를 확인해 처리할 페이지를 계획하고, 재개 작업이면 남은/실패 페이지만 처리함
+    public void runJob(RecallIngestionJob job) throws Exception {
+        SyncMode mode = SyncMode.valueOf(job.getSyncMode());
+        log.info("해외리콜 데이터 업데이트 시작 (jobId={}, mode={}, status={})", job.getId(), mode, job.getStatus());
         
-        int pageNo = 1;
-        int cntPerPage = 100;
-        int totalSavedCount = 0;
+        boolean importing = mode == SyncMode.IMPORT;
+        // import 작업은 파일 목록을 페이지 번호 순으로 사용 (1페이지 = 첫 번째 파일)
+        List<Path> dumpFiles = importing ? dumpService.resolveDumpFiles(job.getSourcePath()) : List.of();
 
-        // 1페이지 호출해서 전체 건수 확인
+        int cntPerPage = 100;
+        int totalInserted = 0;
+        int totalUpdated = 0;
+        int totalSkipped = 0;
         String encodedServiceKey = URLEncoder.encode(serviceKey, StandardCharsets.UTF_8);
-        String url = baseUrl + "?serviceKey=" + encodedServiceKey
-                + "&pageNo=" + pageNo
-                + "&cntPerPage=" + cntPerPage
-                + "&cntntsId=0501";
 
-        log.info("API 호출 URL: {}", url);
-        log.info("인코딩된 서비스키: {}", encodedServiceKey);
-        log.info("원본 서비스키: {}", serviceKey);
+        RecallSyncCheckpoint checkpoint = checkpointRepository.findById(RecallSyncCheckpoint.SINGLETON_ID).orElse(null);
+
+        // 재개 작업은 작업 생성 시점의 모드와 페이지 계획을 그대로 사용
+        // (재개 사이에 새 리콜이 공표되면 페이지 경계가 밀릴 수 있으나, 다음 증분 동기화가 앞쪽 페이지를 다시 확인함)
+        if (job.getStatus() == RecallIngestionJob.Status.QUEUED && importing) {
+            // dump에는 기록 당시의 allCnt가 들어 있으므로 첫 파일 기준으로 기록
+            int allCnt = dumpService.read(dumpFiles.get(0), product -> { });
+            log.info("dump import - 파일 수: {}, 기록 당시 전체 건수: {}, 경로: {}",
+                    dumpFiles.size(), allCnt, job.getSourcePath());
+            job = journalService.planJob(job, mode.name(), Math.max(allCnt, 0), dumpFiles.size(), dumpFiles.size());
+        } else if (job.getStatus() == RecallIngestionJob.Status.QUEUED) {
+            // 1페이지 호출해서 전체 건수 확인
+            String url = baseUrl + "?serviceKey=" + encodedServiceKey
+                    + "&pageNo=1"
+                    + "&cntPerPage=" + cntPerPage
+                    + "&cntntsId=0501";
+
+            log.info("API 호출 URL: {}", url);
+            log.info("인코딩된 서비스키: {}", encodedServiceKey);
+            log.info("원본 서비스키: {}", serviceKey);
 
-        Document doc = parseXmlFromUrl(url);
-        doc.getDocumentElement().normalize();
+            // 건수 확인용 호출이므로 content는 버림
+            int allCnt = fetchAndParse(url, product -> { }, null);
+            if (allCnt < 0) {
+                throw new Exception("응답에 allCnt가 없습니다.");
+            }
+            int totalPages = (int) Math.ceil((double) allCnt / cntPerPage);
 
-        int allCnt = Integer.parseInt(doc.getElementsByTagName("allCnt").item(0).getTextContent());
-        int totalPages = (int) Math.ceil((double) allCnt / cntPerPage);
+            log.info("전체 건수: {}, 전체 페이지 수: {}", allCnt, totalPages);
 
-        log.info("전체 건수: {}, 전체 페이지 수: {}", allCnt, totalPages);
+            // 증분 모드: 체크포인트가 없으면 전체 동기화로 대체
+            if (mode == SyncMode.INCREMENTAL && checkpoint == null) {
+                log.info("동기화 체크포인트가 없어 전체 동기화로 진행합니다.");
+                mode = SyncMode.FULL;
+            }
 
-        for (pageNo = 1; pageNo <= totalPages; pageNo++) {
+            int plannedPages = totalPages;
+            if (mode == SyncMode.INCREMENTAL) {
+                plannedPages = incrementalPageLimit(allCnt, checkpoint.getTotalCount(), cntPerPage, totalPages);
+                log.info("증분 동기화 - 기준 리콜번호: {}, 기준 공표일: {}, 이전 건수: {}, 조회할 최대 페이지: {}",
+                        checkpoint.getLastRecallSn(), checkpoint.getLastRecallPublictBgnde(),
+                        checkpoint.getTotalCount(), plannedPages);
+            }
+
+            job = journalService.planJob(job, mode.name(), allCnt, totalPages, plannedPages);
+        }
+
+        boolean incremental = mode == SyncMode.INCREMENTAL && checkpoint != null;
+        int lastPage = job.getPlannedPages();
+        if (importing && dumpFiles.size() < lastPage) {
+            // 재개 사이에 dump 파일이 지워진 경우: 없는 페이지를 임의의 파일로 채우지 않도록 중단
+            throw new IllegalStateException("dump 파일 수(" + dumpFiles.size() + ")가 계획된 페이지 수(" + lastPage + ")보다 적습니다.");
+        }
+
+        for (RecallIngestionPage page : journalService.pagesToProcess(job)) {
+            int pageNo = page.getPageNo();
             String pageUrl = baseUrl + "?serviceKey=" + encodedServiceKey
                     + "&pageNo=" + pageNo
                     + "&cntPerPage=" + cntPerPage
                     + "&cntntsId=0501";
 
-            log.info("페이지 {} 처리 중...", pageNo);
+            log.info("페이지 {} 처리 중... (jobId={})", pageNo, job.getId());
 
             // 재시도 로직 (최대 3회)
             boolean success = false;
             int retryCount = 0;
-            Document pageDoc = null;
+            String lastError = null;
+            // 스트리밍 파싱 결과를 바로 담는 리스트 (페이지당 최대 cntPerPage건)
+            List<RecallProduct> parsed = new ArrayList<>(cntPerPage);
+            // capture 활성화 시 받은 원문을 dump로 함께 기록 (파싱 성공 시에만 확정)
+            // 기록 파일을 열지 못해도 페이지 수집 실패로 보지 않고 기록 없이 진행
+            RecallDumpService.Capture capture = importing ? null : openCapture(job.getId(), pageNo);
             
             while (!success && retryCount < 3) {
                 try {
-                    pageDoc = parseXmlFromUrl(pageUrl);
-                    pageDoc.getDocumentElement().normalize();
+                    parsed.clear(); // 이전 시도에서 일부만 읽힌 결과 제거
+                    if (importing) {
+                        dumpService.read(dumpFiles.get(pageNo - 1), parsed::add);
+                    } else {
+                        fetchAndParse(pageUrl, parsed::add, capture);
+                    }
                     success = true;
                 } catch (Exception e) {
                     retryCount++;
+                    lastError = e.getMessage();
                     log.warn("페이지 {} 재시도 {}/3: {}", pageNo, retryCount, e.getMessage());
+                    if (retryCount < 3 && capture != null && !capture.restart()) {
+                        capture = null;
+                    }
                     if (retryCount < 3) {
                         Thread.sleep(1000 * retryCount); // 재시도 간격 점진적 증가
                     }
@@ -89,188 +236,228 @@ public class RecallService {
             }
             
             if (!success) {
-                log.error("페이지 {} 최대 재시도 횟수 초과, 건너뜀", pageNo);
+                // 저널에 FAILED로 남겨서 다음 실행에서 다시 시도
+                log.error("페이지 {} 최대 재시도 횟수 초과, 다음 실행에서 재시도", pageNo);
+                journalService.markFailed(job, page, retryCount, lastError);
                 continue;
             }
-            
-            try {
 
-                NodeList nList = pageDoc.getElementsByTagName("content");
-
-                List<RecallProduct> products = new ArrayList<>();
-
-                for (int i = 0; i < nList.getLength(); i++) {
-                    Node node = nList.item(i);
-                    if (node.getNodeType() == Node.ELEMENT_NODE) {
-                        Element e = (Element) node;
-
-                        String productNm = getTagValue("productNm", e);
-                        String bsnmNm = getTagValue("bsnmNm", e);
-                        String makr = getTagValue("makr", e);
-                        String modlNmInfo = getTagValue("modlNmInfo", e);
-                        String recallPublictBgnde = getTagValue("recallPublictBgnde", e);
-                        String shrtcomCn = getTagValue("shrtcomCn", e);
-
-                        // 필수 필드 4개가 모두 존재할 때만 저장 (모델명, 결함내용, 공표시작일, 제조사)
-                        if (isNotBlank(makr) && isNotBlank(modlNmInfo) && isNotBlank(recallPublictBgnde) && isNotBlank(shrtcomCn)) {
-
-                            RecallProduct product = new RecallProduct();
-                            product.setRecallSn(getTagValue("recallSn", e));
-                            product.setProductNm(productNm);
-                            product.setBsnmNm(bsnmNm);
-                            product.setMakr(makr);
-                            product.setModlNmInfo(modlNmInfo);
-                            product.setRecallPublictBgnde(recallPublictBgnde);
-                            product.setShrtcomCn(shrtcomCn);
-                            
-                            // 제품명을 기반으로 카테고리 분류
-                            String category = categoryClassifierService.classifyProduct(productNm);
-                            product.setCategory(category);
-
-                            products.add(product);
-                        }
-                    }
-                }
-
-                if (!products.isEmpty()) {
-                    repository.saveAll(products);
-                    totalSavedCount += products.size();
-                    log.info("페이지 {}/{} 저장 완료 (저장된 행 수: {}, 누적 저장 수: {})", 
-                            pageNo, totalPages, products.size(), totalSavedCount);
-                } else {
-                    log.info("페이지 {}/{} 저장할 데이터 없음", pageNo, totalPages);
+            boolean reachedKnown = false;
+            for (RecallProduct product : parsed) {
+                if (isNewer(product, job.getNewestRecallPublictBgnde())) {
+                    job.setNewestRecallSn(product.getRecallSn());
+                    job.setNewestRecallPublictBgnde(product.getRecallPublictBgnde());
                 }
+                if (incremental && isKnown(product, checkpoint)) reachedKnown = true;
+            }
+            
+            RecallPageWriter.PageResult result;
+            try {
+                // 검증/분류 후 새 행·변경된 행만 저장 (내용 지문이 같은 행은 건너뜀)
+                result = pageWriter.write(parsed);
+                totalInserted += result.getInserted();
+                totalUpdated += result.getUpdated();
+                totalSkipped += result.getSkipped();
+                log.info("페이지 {}/{} 처리 완료 (신규: {}, 변경: {}, 동일: {}, 필수값 누락: {})",
+                        pageNo, lastPage, result.getInserted(), result.getUpdated(),
+                        result.getSkipped(), result.getFiltered());
 
             } catch (Exception e) {
                 log.error("페이지 {} 처리 중 오류 발생: {}", pageNo, e.getMessage());
-                log.info("페이지 {} 건너뛰고 다음 페이지 계속 처리...", pageNo);
+                log.info("페이지 {} 건너뛰고 다음 페이지 계속 처리... (다음 실행에서 재시도)", pageNo);
+                journalService.markFailed(job, page, retryCount + 1, e.getMessage());
+                continue;
+            }
+
+            journalService.markCompleted(job, page, retryCount + 1, result);
+
+            // 증분 모드: 이미 알고 있는 리콜에 도달하면 그 뒤 페이지는 모두 기존 데이터이므로 중단
+            if (reachedKnown) {
+                log.info("페이지 {}에서 기존 체크포인트 리콜에 도달 → 증분 동기화 조기 종료", pageNo);
+                journalService.skipRemaining(job);
+                break;
             }
 
             // API 호출 간격 조절 (서버 부하 방지) - 간격을 늘림
-            Thread.sleep(500);
+            // import는 외부 호출이 없으므로 대기 없이 디스크 속도로 진행
+            if (!importing) Thread.sleep(500);
+        }
+
+        job = journalService.finish(job);
+        log.info("해외리콜 데이터 업데이트 완료 (jobId={}, mode={}, status={})! 이번 실행 - 신규: {}, 변경: {}, 동일(건너뜀): {} / 작업 누적 저장 수: {}",
+                job.getId(), mode, job.getStatus(), totalInserted, totalUpdated, totalSkipped, job.getRowsSaved());
+
+        // 실패한 페이지가 남아 있으면 체크포인트를 앞당기지 않음 (다음 실행에서 작업을 재개해 마저 처리)
+        // dump는 기록 시점의 스냅샷이라 현재 API 상태와 다를 수 있으므로 import 결과로는 체크포인트를 갱신하지 않음
+        if (importing) {
+            log.info("dump import 작업이므로 동기화 체크포인트는 갱신하지 않습니다. (jobId={})", job.getId());
+        } else if (job.getStatus() == RecallIngestionJob.Status.COMPLETED) {
+            saveCheckpoint(checkpoint, job);
+        } else {
+            log.warn("실패한 페이지 {}개가 있어 동기화 체크포인트를 갱신하지 않습니다. (jobId={})",
+                    job.getPagesFailed(), job.getId());
+        }
+
+        // 검색용 사전은 RecallPageWriter가 변경된 행만 페이지마다 반영하므로 전체 새로고침은 하지 않음
+    }
+
+    /* 증분 동기화 관련 내부 메서드 */
+
+    // 새로 늘어난 건수만큼의 페이지 + 경계가 걸칠 수 있는 1페이지만 조회
+    // (API가 최신 공표순으로 내려준다는 전제, 건수가 줄어든 경우에도 최소 1페이지는 확인)
+    private int incrementalPageLimit(int allCnt, int previousCount, int cntPerPage, int totalPages) {
+        int added = Math.max(allCnt - previousCount, 0);
+        int pages = (int) Math.ceil((double) added / cntPerPage) + 1;
+        return Math.max(1, Math.min(pages, totalPages));
+    }
+
+    // 체크포인트의 리콜번호와 같거나, 체크포인트 공표일보다 오래된 리콜이면 "이미 아는 데이터"
+    private boolean isKnown(RecallProduct product, RecallSyncCheckpoint checkpoint) {
+        if (product.getRecallSn() != null && product.getRecallSn().equals(checkpoint.getLastRecallSn())) {
+            return true;
         }
+        return compareDate(product.getRecallPublictBgnde(), checkpoint.getLastRecallPublictBgnde()) < 0;
+    }
 
-        log.info("해외리콜 전체 데이터 업데이트 완료! 총 저장된 데이터 수: {}", totalSavedCount);
+    private boolean isNewer(RecallProduct product, String currentNewestDate) {
+        if (!isNotBlank(product.getRecallSn()) || !isNotBlank(product.getRecallPublictBgnde())) return false;
+        return currentNewestDate == null || compareDate(product.getRecallPublictBgnde(), currentNewestDate) > 0;
+    }
 
-        // 데이터 저장 끝난 후 캐시 새로고침
-        recallDictionaryService.refresh();
-        log.info("검색용 사전 캐시 새로고침 완료");
+    // 공표일 비교 (구분자 형식이 달라도 숫자만 남겨 사전순 비교), 한쪽이라도 없으면 0
+    private int compareDate(String a, String b) {
+        if (!isNotBlank(a) || !isNotBlank(b)) return 0;
+        return a.replaceAll("\\D", "").compareTo(b.replaceAll("\\D", ""));
     }
 
-    private String getTagValue(String tag, Element element) {
-        NodeList nodeList = element.getElementsByTagName(tag);
-        if (nodeList.getLength() == 0) return null;
-        Node node = nodeList.item(0).getFirstChild();
-        return node != null ? node.getNodeValue().trim() : null;
+    private void saveCheckpoint(RecallSyncCheckpoint checkpoint, RecallIngestionJob job) {
+        if (checkpoint == null) {
+            checkpoint = new RecallSyncCheckpoint();
+        }
+        // 이번 작업에서 본 최신 리콜이 기존 체크포인트보다 최신일 때만 교체
+        if (job.getNewestRecallPublictBgnde() != null && (checkpoint.getLastRecallPublictBgnde() == null
+                || compareDate(job.getNewestRecallPublictBgnde(), checkpoint.getLastRecallPublictBgnde()) >= 0)) {
+            checkpoint.setLastRecallSn(job.getNewestRecallSn());
+            checkpoint.setLastRecallPublictBgnde(job.getNewestRecallPublictBgnde());
+        }
+        checkpoint.setTotalCount(job.getAllCnt());
+        checkpoint.setTotalPages(job.getTotalPages());
+        checkpoint.setSyncMode(job.getSyncMode());
+        checkpoint.setSyncedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+        log.info("동기화 체크포인트 저장 - 리콜번호: {}, 공표일: {}, 전체 건수: {}",
+                checkpoint.getLastRecallSn(), checkpoint.getLastRecallPublictBgnde(), job.getAllCnt());
     }
 
     private boolean isNotBlank(String value) {
         return value != null && !value.trim().isEmpty();
     }
 
-    //XML 파싱
-    private Document parseXmlFromUrl(String urlString) throws Exception {
+    // 페이지 원문 기록 시작 (기록 파일을 만들 수 없으면 경고만 남기고 null → 기록 없이 수집)
+    private RecallDumpService.Capture openCapture(Long jobId, int pageNo) {
+        try {
+            return dumpService.openCapture(jobId, pageNo);
+        } catch (IOException e) {
+            log.warn("페이지 {} 원문 기록 파일을 열지 못해 기록 없이 진행합니다: {}", pageNo, e.getMessage());
+            return null;
+        }
+    }
+
+    //XML 스트리밍 파싱
+    // 응답 본문을 String/DOM으로 만들지 않고 (gzip) 스트림에서 바로 RecallXmlParser로 넘김
+    // 파라미터 sink: <content> 하나가 파싱될 때마다 호출되는 콜백
+    // 파라미터 capture: 응답 원문(gzip 해제 후)을 함께 기록할 dump, 기록하지 않으면 null
+    // 리턴값: 응답의 allCnt (없으면 -1)
+    private int fetchAndParse(String urlString, Consumer<RecallProduct> sink, RecallDumpService.Capture capture) throws Exception {
+        try {
+            return doFetchAndParse(urlString, sink, capture);
+        } catch (Exception e) {
+            // 연결/파싱 실패 시 기록 중이던 임시 dump 삭제
+            if (capture != null) capture.abort();
+            throw e;
+        }
+    }
+
+    /* API 연결 확인 (/recalls/test) */
+    // 리턴값: 응답 코드와 응답 앞부분 (실패해도 예외 대신 메시지)
+    public String probe(String urlString) {
+        try {
+            return recallRestTemplate.execute(URI.create(urlString), HttpMethod.GET,
+                    request -> setBrowserHeaders(request.getHeaders()),
+                    response -> {
+                        String content = new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+                        return "응답 코드: " + response.getStatusCode().value()
+                                + "\n응답 길이: " + content.length()
+                                + "\n응답 내용 (처음 200자): " + content.substring(0, Math.min(200, content.length()));
+                    });
+        } catch (HttpStatusCodeException e) {
+            return "응답 코드: " + e.getStatusCode().value()
+                    + "\n오류 메시지: " + e.getStatusText()
+                    + "\n오류 내용: " + e.getResponseBodyAsString(StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            return "테스트 실패: " + e.getMessage();
+        }
+    }
+
+    private int doFetchAndParse(String urlString, Consumer<RecallProduct> sink, RecallDumpService.Capture capture) throws Exception {
         log.info("API 호출 시작: {}", urlString);
-        
-        URL url = new URL(urlString);
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        
-        connection.setRequestMethod("GET");
-        
-        // 테스트 API에서 성공한 헤더 설정 적용
-        connection.setRequestProperty("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8,application/json");
-        connection.setRequestProperty("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
-        connection.setRequestProperty("Accept-Language", "ko-KR,ko;q=0.9,en;q=0.8");
-        connection.setRequestProperty("Accept-Encoding", "gzip, deflate, br");
-        connection.setRequestProperty("Connection", "keep-alive");
-        connection.setRequestProperty("Upgrade-Insecure-Requests", "1");
-        connection.setConnectTimeout(30000);
-        connection.setReadTimeout(60000);
-        
-        log.info("설정된 헤더:");
-        log.info("  Accept: {}", connection.getRequestProperty("Accept"));
-        log.info("  User-Agent: {}", connection.getRequestProperty("User-Agent"));
-        log.info("  Accept-Language: {}", connection.getRequestProperty("Accept-Language"));
-        log.info("  Accept-Encoding: {}", connection.getRequestProperty("Accept-Encoding"));
-        log.info("  Connection: {}", connection.getRequestProperty("Connection"));
-        log.info("  Upgrade-Insecure-Requests: {}", connection.getRequestProperty("Upgrade-Insecure-Requests"));
-        
-        int responseCode = connection.getResponseCode();
+
+        // serviceKey가 이미 인코딩되어 있으므로 URI로 넘겨 다시 인코딩되지 않게 함
+        // 연결은 recallRestTemplate 풀에서 재사용 (페이지마다 TCP/TLS 연결을 새로 맺지 않음)
+        try {
+            Integer allCnt = recallRestTemplate.execute(URI.create(urlString), HttpMethod.GET,
+                    request -> setBrowserHeaders(request.getHeaders()),
+                    response -> parseResponse(response, sink, capture));
+            return allCnt != null ? allCnt : -1;
+        } catch (HttpStatusCodeException e) {
+            String errBody = e.getResponseBodyAsString(StandardCharsets.UTF_8);
+            log.error("오류 응답 본문: {}", errBody);
+            throw new Exception("HTTP 오류: " + e.getStatusCode().value() + (errBody.isEmpty() ? "" : " - " + errBody), e);
+        }
+    }
+
+    private int parseResponse(ClientHttpResponse response, Consumer<RecallProduct> sink,
+                              RecallDumpService.Capture capture) throws IOException {
+        int responseCode = response.getStatusCode().value();
         log.info("응답 코드: {}", responseCode);
-        
-        InputStream rawStream;
         if (responseCode != 200) {
-            // 오류 스트림 우선적으로 읽어 상세 로그 출력
-            InputStream err = connection.getErrorStream();
-            String errBody = err != null ? new String(err.readAllBytes(), StandardCharsets.UTF_8) : "";
-            log.error("오류 응답 본문: {}", errBody);
-            throw new Exception("HTTP 오류: " + responseCode + (errBody.isEmpty() ? "" : " - " + errBody));
-        } else {
-            rawStream = connection.getInputStream();
+            throw new IOException("HTTP 오류: " + responseCode);
         }
-        
-        // Content-Encoding 검사 후 gzip 처리
-        String contentEncoding = connection.getHeaderField("Content-Encoding");
-        InputStream inputStream;
+
+        // HttpClient가 풀지 않은 gzip 응답이 오는 경우 대비
+        String contentEncoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        InputStream inputStream = response.getBody();
         if (contentEncoding != null && contentEncoding.contains("gzip")) {
-            inputStream = new java.util.zip.GZIPInputStream(rawStream);
-        } else {
-            inputStream = rawStream;
+            inputStream = new GZIPInputStream(inputStream);
         }
-        
-        String xmlContent = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-        inputStream.close();
-        connection.disconnect();
-        
-        log.info("XML 응답 받음, 길이: {}", xmlContent.length());
-        log.debug("XML 내용 (처음 500자): {}", xmlContent.substring(0, Math.min(500, xmlContent.length())));
-        
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(true);
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        Document doc = builder.parse(new java.io.ByteArrayInputStream(xmlContent.getBytes(StandardCharsets.UTF_8)));
-        
-        return doc;
-    }
 
-    //SSL 인증서 검증을 우회하는 설정
-    private void disableSSLVerification() {
-        try {
-            // 모든 인증서를 신뢰하는 TrustManager 생성
-            TrustManager[] trustAllCerts = new TrustManager[] {
-                new X509TrustManager() {
-                    public X509Certificate[] getAcceptedIssuers() {
-                        return new X509Certificate[0];
-                    }
-                    public void checkClientTrusted(X509Certificate[] certs, String authType) {
-                        // 모든 클라이언트 인증서 신뢰
-                    }
-                    public void checkServerTrusted(X509Certificate[] certs, String authType) {
-                        // 모든 서버 인증서 신뢰
-                    }
-                }
-            };
-
-            // SSL 컨텍스트 초기화 (TLS 사용)
-            SSLContext sc = SSLContext.getInstance("TLS");
-            sc.init(null, trustAllCerts, new java.security.SecureRandom());
-            HttpsURLConnection.setDefaultSSLSocketFactory(sc.getSocketFactory());
+        if (capture != null) {
+            inputStream = new TeeInputStream(inputStream, capture.stream());
+        }
 
-            // 호스트명 검증 비활성화
-            HttpsURLConnection.setDefaultHostnameVerifier(new HostnameVerifier() {
-                public boolean verify(String hostname, SSLSession session) {
-                    return true;
-                }
+        int[] contentCount = {0};
+        try (InputStream in = new BufferedInputStream(inputStream, 16 * 1024)) {
+            int allCnt = RecallXmlParser.parse(in, product -> {
+                contentCount[0]++;
+                sink.accept(product);
             });
-
-            // 시스템 속성 설정으로 추가 보안 검증 우회
-            System.setProperty("com.sun.net.ssl.checkRevocation", "false");
-            System.setProperty("sun.security.ssl.allowUnsafeRenegotiation", "true");
-            
-            log.info("SSL 인증서 검증 우회 설정 완료");
-        } catch (Exception e) {
-            log.error("SSL 설정 중 오류 발생", e);
-            throw new RuntimeException("SSL 설정 실패", e);
+            log.info("XML 스트리밍 파싱 완료, content 수: {}", contentCount[0]);
+            if (capture != null) {
+                // 파서가 문서 끝 이후를 읽지 않았을 수 있으므로 남은 바이트까지 기록한 뒤 확정
+                in.transferTo(OutputStream.nullOutputStream());
+                capture.commit();
+            }
+            return allCnt;
+        } catch (XMLStreamException e) {
+            throw new IOException("XML 파싱 실패: " + e.getMessage(), e);
         }
     }
+
+    // 테스트 API에서 성공한 헤더 설정 적용 (Accept-Encoding/압축 해제와 keep-alive는 HttpClient가 처리)
+    private void setBrowserHeaders(HttpHeaders headers) {
+        headers.set(HttpHeaders.ACCEPT, "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8,application/json");
+        headers.set(HttpHeaders.USER_AGENT, "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
+        headers.set(HttpHeaders.ACCEPT_LANGUAGE, "ko-KR,ko;q=0.9,en;q=0.8");
+        headers.set("Upgrade-Insecure-Requests", "1");
+    }
 }
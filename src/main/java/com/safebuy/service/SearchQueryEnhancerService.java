@@ -3,7 +3,13 @@ package com.safebuy.service;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safebuy.monitoring.RequestTiming;
+import com.safebuy.monitoring.SearchMetrics;
+import com.safebuy.resilience.OpenAiBulkheads;
+import com.safebuy.resilience.OutboundPolicies;
+import com.safebuy.util.SingleFlight;
 import com.safebuy.util.TextNormalizer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import lombok.extern.slf4j.Slf4j;
@@ -25,12 +31,19 @@ public class SearchQueryEnhancerService {
     private final RestTemplate restTemplate; // HTTP 요청 클라이언트
     private final ObjectMapper objectMapper; // JSON 문자열을 Java 객체로 변환하기 위한 도구
     private final RecallDictionaryService recallDictionaryService; // 딕셔너리 기반 후보 필터링
+    private final SearchMetrics searchMetrics; // 캐시 hit/miss 메트릭
+    private final OpenAiBulkheads openAiBulkheads; // OpenAI 동시 호출 제한
+    private final OutboundPolicies outboundPolicies; // 서킷 브레이커 + hedged request
 
     @Value("${spring.ai.openai.api-key}")
     private String openaiApiKey;
 
-    // OpenAI API 엔드포인트
-    private static final String OPENAI_API_URL = "https://api.openai.com/v1/chat/completions";
+    // OpenAI API 주소 (부하 테스트 시 스텁 서버 주소로 교체)
+    @Value("${spring.ai.openai.base-url:https://api.openai.com}")
+    private String openaiBaseUrl;
+
+    // OpenAI API 엔드포인트 경로
+    private static final String CHAT_COMPLETIONS_PATH = "/v1/chat/completions";
 
     // 확장에서 제거할 무의미한 키워드
     private static final Set<String> INVALID_TERMS = Set.of(
@@ -50,10 +63,16 @@ public class SearchQueryEnhancerService {
     }
 
     private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>(); // 캐시 저장공간
+    private final SingleFlight<String, List<String>> inFlight = new SingleFlight<>(); // 동시 캐시 miss 합치기
     private static final Duration CACHE_TTL = Duration.ofMinutes(10);
     private static final int CACHE_MAX_SIZE = 5_000;
 
 
+    @PostConstruct
+    void registerMetrics() {
+        searchMetrics.registerSingleFlight("enhancer", inFlight);
+    }
+
     /* 입력된 검색어를 gpt-4o 모델을 사용하여 다양한 변형 후보 리스트로 변환하는 메서드 */
     // 파라미터 originalQuery: 원본 검색어
     // 파라미터 field: RecallDictionaryService의 필드
@@ -76,11 +95,28 @@ public class SearchQueryEnhancerService {
 
         // 캐시 조회
         List<String> cached = getFromCache(cacheKey);
+        searchMetrics.recordCache("enhancer", fieldKey, cached != null);
+        // Server-Timing의 expand_product 등 확장 단계 항목에 캐시 여부 표시
+        RequestTiming.describe("expand_" + fieldKey.toLowerCase(Locale.ROOT), cached != null ? "cache hit" : "cache miss");
         if (cached != null) {
             log.debug("[Enhancer] 캐시 hit: key={} (size={})", cacheKey, cached.size());
             return cached;
         }
 
+        // 같은 키로 동시에 들어온 캐시 miss는 OpenAI 호출을 한 번만 하고 결과를 함께 받음
+        return inFlight.execute(cacheKey, () -> {
+            // 먼저 끝난 동일 요청이 방금 캐시에 넣었을 수 있음
+            List<String> loaded = getFromCache(cacheKey);
+            if (loaded != null) return loaded;
+            return fetchExpansion(originalQuery, field, cacheKey);
+        });
+    }
+
+    // 내부 메서드
+
+    /* gpt-4o 호출 → 응답 파싱/정제 → 사전 필터 → 캐시 저장 */
+    // 리턴값: 확장 결과, 호출 생략/실패 시 원본 검색어만 (이 경우 캐시에 넣지 않음)
+    private List<String> fetchExpansion(String originalQuery, RecallDictionaryService.Field field, String cacheKey) {
         try {
             // 1. OpenAI 호출
             // HTTP 요청 헤더 설정
@@ -102,13 +138,21 @@ public class SearchQueryEnhancerService {
 
             // RestTemplate으로 POST 요청 준비
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
-            // API 호출
-            ResponseEntity<String> response = restTemplate.exchange(
-                    OPENAI_API_URL,
-                    HttpMethod.POST,
-                    entity,
-                    String.class
-            );
+            // API 호출 (동시 호출 수 제한 → 서킷 브레이커 → 느리면 hedge, hedge 호출도 bulkhead 자리를 따로 사용)
+            // 자리를 못 얻었거나 회로가 열려 있거나 호출이 실패하면 null
+            ResponseEntity<String> response = outboundPolicies.enhancer().execute(
+                    openAiBulkheads.enhancer(),
+                    () -> restTemplate.exchange(
+                            openaiBaseUrl + CHAT_COMPLETIONS_PATH,
+                            HttpMethod.POST,
+                            entity,
+                            String.class
+                    ),
+                    () -> null);
+            if (response == null) {
+                // 확장 없이 원본 검색어로 바로 진행 (캐시에 넣지 않음 → 여유가 생기면 다음 요청에서 확장)
+                return List.of(originalQuery);
+            }
 
             // 응답 처리
             if (response.getStatusCode() != HttpStatus.OK) {
@@ -145,7 +189,6 @@ public class SearchQueryEnhancerService {
         }
     }
 
-    // 내부 메서드
 
     /* 필드별 힌트를 프롬프트에 반영하는 메서드 */
     // 제조사: Inc/Ltd/주식회사/㈜ 등 회사형태 제거된 "순수 명칭" 위주 변형
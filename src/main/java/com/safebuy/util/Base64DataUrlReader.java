@@ -0,0 +1,71 @@
+package com.safebuy.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Base64;
+
+// 바이너리 스트림을 "data:<mime>;base64,..." 문자열로 읽어 주는 Reader
+// 원본을 한 번에 byte[]/String으로 만들지 않고 고정 크기 버퍼 단위로 인코딩하므로 이미지 크기와 무관하게 메모리 사용량이 일정함
+// (Jackson JsonGenerator.writeString(Reader, -1)과 함께 요청 본문에 바로 흘려 쓰기 위함)
+public class Base64DataUrlReader extends Reader {
+
+    // 3의 배수여야 중간 청크에 패딩(=)이 생기지 않음
+    private static final int CHUNK_BYTES = 3 * 4096;
+
+    private final InputStream in;
+    private final Base64.Encoder encoder = Base64.getEncoder();
+    private final byte[] raw = new byte[CHUNK_BYTES];
+    private final byte[] encoded = new byte[CHUNK_BYTES / 3 * 4];
+    private final char[] chars = new char[CHUNK_BYTES / 3 * 4];
+    private String prefix;
+    private int pos;
+    private int limit;
+    private boolean eof;
+
+    public Base64DataUrlReader(String mimeType, InputStream in) {
+        this.in = in;
+        this.prefix = "data:" + mimeType + ";base64,";
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) return 0;
+        if (prefix != null) {
+            int n = Math.min(len, prefix.length());
+            prefix.getChars(0, n, cbuf, off);
+            prefix = n < prefix.length() ? prefix.substring(n) : null;
+            return n;
+        }
+        if (pos == limit && !fill()) return -1;
+
+        int n = Math.min(len, limit - pos);
+        System.arraycopy(chars, pos, cbuf, off, n);
+        pos += n;
+        return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // 내부 메서드
+
+    // 원본을 CHUNK_BYTES만큼(마지막은 남은 만큼) 읽어 인코딩, 더 읽을 것이 없으면 false
+    private boolean fill() throws IOException {
+        if (eof) return false;
+        int n = in.readNBytes(raw, 0, CHUNK_BYTES);
+        if (n < CHUNK_BYTES) eof = true;
+        if (n == 0) return false;
+
+        int length = encoder.encode(n == CHUNK_BYTES ? raw : Arrays.copyOf(raw, n), encoded);
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) encoded[i];
+        }
+        pos = 0;
+        limit = length;
+        return true;
+    }
+}
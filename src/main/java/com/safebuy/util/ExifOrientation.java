@@ -0,0 +1,104 @@
+package com.safebuy.util;
+
+import java.awt.geom.AffineTransform;
+
+// JPEG의 EXIF Orientation 태그(0x0112) 읽기 + 방향 보정 변환 유틸
+// ImageIO는 EXIF 방향을 적용하지 않으므로 세로로 찍은 휴대폰 사진이 옆으로 누운 채 디코딩됨
+// 값: 1=정상, 2=좌우반전, 3=180도, 4=상하반전, 5=전치, 6=시계 90도, 7=역전치, 8=반시계 90도
+public class ExifOrientation {
+    private ExifOrientation() {}
+
+    public static final int NORMAL = 1;
+
+    private static final int TAG_ORIENTATION = 0x0112;
+
+    /* JPEG 앞부분에서 Orientation 값을 읽는 메서드 */
+    // 파라미터 data/length: 파일 앞부분 (APP1 세그먼트는 보통 앞쪽 64KB 안에 있음)
+    // 리턴값: 1~8, JPEG가 아니거나 태그가 없으면 NORMAL
+    public static int read(byte[] data, int length) {
+        int len = Math.min(length, data.length);
+        if (len < 4 || u8(data, 0) != 0xFF || u8(data, 1) != 0xD8) return NORMAL;
+
+        int pos = 2;
+        while (pos + 4 <= len) {
+            if (u8(data, pos) != 0xFF) return NORMAL;
+            int marker = u8(data, pos + 1);
+            if (marker == 0xFF) { pos++; continue; }                 // 채움 바이트
+            if (marker == 0xDA || marker == 0xD9) return NORMAL;    // 이미지 데이터 시작 전까지 없으면 없음
+            int segmentLength = u16(data, pos + 2, false);
+            if (segmentLength < 2) return NORMAL;
+            if (marker == 0xE1 && isExifHeader(data, pos + 4, len)) {
+                return readTiff(data, pos + 10, Math.min(len, pos + 2 + segmentLength));
+            }
+            pos += 2 + segmentLength;
+        }
+        return NORMAL;
+    }
+
+    // 방향 보정 후 크기 (5~8은 가로/세로가 바뀜)
+    public static boolean swapsDimensions(int orientation) {
+        return orientation >= 5 && orientation <= 8;
+    }
+
+    /* 원본 좌표(width x height)를 보정된 좌표로 옮기는 변환 */
+    // 보정된 이미지 크기는 swapsDimensions가 true면 height x width
+    public static AffineTransform transform(int orientation, double width, double height) {
+        return switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, width, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, width, height);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, height);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, height, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, height, width);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, width);
+            default -> new AffineTransform();
+        };
+    }
+
+    // 내부 메서드
+    private static boolean isExifHeader(byte[] d, int pos, int len) {
+        return pos + 6 <= len
+                && d[pos] == 'E' && d[pos + 1] == 'x' && d[pos + 2] == 'i' && d[pos + 3] == 'f'
+                && d[pos + 4] == 0 && d[pos + 5] == 0;
+    }
+
+    // TIFF 헤더(바이트 순서 + 42 + IFD0 위치) → IFD0 항목 중 Orientation 탐색
+    private static int readTiff(byte[] d, int start, int end) {
+        if (start + 8 > end) return NORMAL;
+        boolean little;
+        if (d[start] == 'I' && d[start + 1] == 'I') little = true;
+        else if (d[start] == 'M' && d[start + 1] == 'M') little = false;
+        else return NORMAL;
+        if (u16(d, start + 2, little) != 42) return NORMAL;
+
+        long ifdOffset = u32(d, start + 4, little);
+        if (ifdOffset < 8 || start + ifdOffset + 2 > end) return NORMAL;
+        int ifd = (int) (start + ifdOffset);
+        int count = u16(d, ifd, little);
+        for (int i = 0; i < count; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > end) return NORMAL;
+            if (u16(d, entry, little) == TAG_ORIENTATION) {
+                int value = u16(d, entry + 8, little);
+                return value >= 1 && value <= 8 ? value : NORMAL;
+            }
+        }
+        return NORMAL;
+    }
+
+    private static int u8(byte[] d, int pos) {
+        return d[pos] & 0xFF;
+    }
+
+    private static int u16(byte[] d, int pos, boolean little) {
+        return little
+                ? u8(d, pos) | (u8(d, pos + 1) << 8)
+                : (u8(d, pos) << 8) | u8(d, pos + 1);
+    }
+
+    private static long u32(byte[] d, int pos, boolean little) {
+        return little
+                ? (u16(d, pos, true) & 0xFFFFL) | ((long) u16(d, pos + 2, true) << 16)
+                : ((long) u16(d, pos, false) << 16) | (u16(d, pos + 2, false) & 0xFFFFL);
+    }
+}
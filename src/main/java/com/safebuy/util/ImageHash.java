@@ -0,0 +1,44 @@
+package com.safebuy.util;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+// 유사 이미지 판별용 지각 해시(dHash) 계산 유틸 (정확 일치용 SHA-256은 ImagePreprocessor가 업로드 스트림을 읽으면서 계산)
+// dHash: 9x8 흑백으로 축소한 뒤 가로로 이웃한 픽셀의 밝기 비교 결과 64비트
+// → 재압축/크기 변경/약간의 밝기 차이에도 값이 거의 같아 해밍 거리로 유사도 판단 가능
+public class ImageHash {
+    private ImageHash() {}
+
+    private static final int DHASH_WIDTH = 9;
+    private static final int DHASH_HEIGHT = 8;
+
+    /* 이미지의 dHash 계산 */
+    // 파라미터 image: 디코딩된 이미지 (ImagePreprocessor가 방향 보정/축소한 결과)
+    // 리턴값: 64비트 dHash
+    public static long dHash(BufferedImage image) {
+        BufferedImage small = new BufferedImage(DHASH_WIDTH, DHASH_HEIGHT, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = small.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image, 0, 0, DHASH_WIDTH, DHASH_HEIGHT, null);
+        } finally {
+            g.dispose();
+        }
+
+        long hash = 0;
+        for (int y = 0; y < DHASH_HEIGHT; y++) {
+            for (int x = 0; x < DHASH_WIDTH - 1; x++) {
+                int left = small.getRaster().getSample(x, y, 0);
+                int right = small.getRaster().getSample(x + 1, y, 0);
+                hash = (hash << 1) | (left > right ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    // 두 dHash 사이의 다른 비트 수 (0이면 사실상 같은 이미지)
+    public static int hammingDistance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+}
@@ -0,0 +1,110 @@
+package com.safebuy.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.safebuy.dto.AlternativeProductDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// 네이버 쇼핑 검색 API의 JSON 응답을 토큰 단위(Jackson streaming)로 파싱하는 유틸 클래스
+// - items 배열의 항목을 POJO로 만들지 않고 필요한 필드만 읽으며, 제조사/카테고리 필터(리콜 제조사 제외 포함)를 파싱 중에 적용
+// - 통과한 항목이 limit개 모이면 나머지 응답은 읽지 않고 종료
+public class NaverShopJsonParser {
+    private NaverShopJsonParser() {}
+
+    // JsonFactory는 스레드 간 공유해도 안전함 (parser는 호출마다 새로 생성)
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    // 제목의 검색어 강조 태그(<b>...</b>) 제거, 가격 천 단위 구분
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern THOUSANDS = Pattern.compile("(\\d)(?=(\\d{3})+$)");
+
+    /* 응답 스트림을 파싱해서 필터를 통과한 항목을 DTO로 만드는 메서드 */
+    // 파라미터 in: 응답 본문 스트림, 호출한 쪽에서 close 책임
+    // 파라미터 category: 카테고리 필터 (빈 문자열이면 필터 없음), category1~4 중 하나라도 포함하면 통과
+    // 파라미터 excludedMaker: 제외할 제조사 (리콜 제품의 제조사, null이면 제외 없음), 제외한 항목은 limit에 세지 않음
+    // 파라미터 limit: 최대 결과 수 (0 이하면 제한 없음)
+    // 리턴값: 제조사 없음/UNKNOWN/제외 제조사, 카테고리 불일치 항목을 제외한 DTO 리스트 (응답 순서 유지)
+    public static List<AlternativeProductDto> parse(InputStream in, String category, String excludedMaker, int limit)
+            throws IOException {
+        List<AlternativeProductDto> results = new ArrayList<>(limit > 0 ? limit : 16);
+        try (JsonParser parser = FACTORY.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) return results;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!"items".equals(field) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    AlternativeProductDto dto = readItem(parser, category, excludedMaker);
+                    if (dto == null) continue;
+                    results.add(dto);
+                    if (limit > 0 && results.size() >= limit) {
+                        return results; // 충분히 모였으므로 남은 항목은 읽지 않음
+                    }
+                }
+                return results;
+            }
+        }
+        return results;
+    }
+
+    // 내부 메서드
+
+    // 항목 하나(START_OBJECT 다음 위치)를 끝까지 읽고 필터를 통과하면 DTO, 아니면 null
+    private static AlternativeProductDto readItem(JsonParser parser, String category, String excludedMaker)
+            throws IOException {
+        String title = null, maker = null, price = null, image = null, link = null;
+        boolean categoryMatched = category.isEmpty();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "title" -> title = parser.getValueAsString();
+                case "maker" -> maker = parser.getValueAsString();
+                case "lprice" -> price = parser.getValueAsString();
+                case "image" -> image = parser.getValueAsString();
+                case "link" -> link = parser.getValueAsString();
+                case "category1", "category2", "category3", "category4" -> {
+                    if (!categoryMatched) {
+                        String value = parser.getValueAsString();
+                        categoryMatched = value != null && value.contains(category);
+                    }
+                }
+                default -> parser.skipChildren(); // 사용하지 않는 필드 (값이 객체/배열이어도 건너뜀)
+            }
+        }
+
+        if (maker == null || maker.isEmpty() || maker.equalsIgnoreCase("UNKNOWN")) return null;
+        if (maker.equals(excludedMaker)) return null;
+        if (!categoryMatched) return null;
+
+        AlternativeProductDto dto = new AlternativeProductDto();
+        dto.setTitle(stripTags(title));
+        dto.setMaker(maker);
+        dto.setPrice(formatPrice(price));
+        dto.setImage(image);
+        dto.setLink(link);
+        return dto;
+    }
+
+    static String stripTags(String title) {
+        if (title == null || title.indexOf('<') < 0) return title;
+        return HTML_TAG.matcher(title).replaceAll("");
+    }
+
+    static String formatPrice(String price) {
+        if (price == null) return null;
+        return THOUSANDS.matcher(price).replaceAll("$1,") + "원";
+    }
+}
@@ -0,0 +1,113 @@
+package com.safebuy.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 자유 텍스트(OCR 결과, 바코드 내용, 리콜 모델명 정보 등)에서 모델번호/GTIN처럼 생긴 코드를 뽑는 유틸 클래스
+// - 모델번호: 영문과 숫자가 모두 들어간 4~24자 토큰 (내부 하이픈 허용, 예: KB-1234, AB123C)
+// - GTIN: 8/12/13/14자리 숫자 중 체크 디지트가 맞는 것 (EAN-8, UPC-A, EAN-13, GTIN-14)
+// - 결과는 대문자, 앞뒤 구분기호 제거, 등장 순서 유지(중복 제거)
+public class ProductCodeExtractor {
+    private ProductCodeExtractor() {}
+
+    private static final int MIN_LENGTH = 4;
+    private static final int MAX_LENGTH = 24;
+
+    // 영숫자와 내부 하이픈으로 이어진 덩어리 (슬래시/점은 URL·경로 구분으로 보고 끊음)
+    private static final Pattern TOKEN = Pattern.compile("[A-Z0-9]+(?:-[A-Z0-9]+)*");
+    // 숫자 사이의 공백/하이픈 (인쇄된 바코드 숫자 "8 801234 567893" 형태)
+    private static final Pattern SPACED_DIGITS = Pattern.compile("\\d[\\d -]{6,20}\\d");
+    private static final Pattern DIGIT = Pattern.compile("\\d");
+    private static final Pattern LETTER = Pattern.compile("[A-Z]");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^A-Z0-9]");
+
+    /* 텍스트에서 코드 후보를 뽑는 메서드 */
+    // 파라미터 limit: 최대 후보 수 (0 이하면 제한 없음)
+    // 리턴값: GTIN을 먼저, 그다음 모델번호 (각각 등장 순서)
+    public static List<String> extract(String text, int limit) {
+        if (text == null || text.isBlank()) return List.of();
+        String upper = text.toUpperCase(Locale.ROOT);
+
+        Set<String> gtins = new LinkedHashSet<>();
+        Set<String> models = new LinkedHashSet<>();
+
+        Matcher spaced = SPACED_DIGITS.matcher(upper);
+        while (spaced.find()) {
+            String digits = spaced.group().replaceAll("[ -]", "");
+            if (isGtin(digits)) gtins.add(digits);
+        }
+
+        Matcher m = TOKEN.matcher(upper);
+        while (m.find()) {
+            String token = m.group();
+            if (isGtin(token)) {
+                gtins.add(token);
+            } else if (isModelCode(token)) {
+                models.add(token);
+            }
+        }
+
+        List<String> results = new ArrayList<>(gtins.size() + models.size());
+        results.addAll(gtins);
+        results.addAll(models);
+        return limit > 0 && results.size() > limit ? results.subList(0, limit) : results;
+    }
+
+    /* 텍스트에서 뽑은 코드를 정확 일치 조회용 키로 정규화한 집합 */
+    // 리콜 모델명 정보(수집 시)와 검색어(조회 시)에 같은 규칙을 적용해야 키가 맞음
+    public static Set<String> normalizedCodes(String text) {
+        Set<String> codes = new LinkedHashSet<>();
+        for (String token : extract(text, 0)) {
+            codes.add(normalize(token));
+        }
+        return codes;
+    }
+
+    // 조회 키 정규화: GTIN은 14자리로 0 채움(UPC-A/EAN-13/GTIN-14 통일), 모델번호는 대문자 영숫자만 (KB-1234A → KB1234A)
+    public static String normalize(String code) {
+        if (isGtin(code)) {
+            return "0".repeat(14 - code.length()) + code;
+        }
+        return NON_ALNUM.matcher(code.toUpperCase(Locale.ROOT)).replaceAll("");
+    }
+
+    // 모델번호로 볼 만한 토큰인지 (영문/숫자가 모두 있고 길이 범위 안)
+    public static boolean isModelCode(String token) {
+        if (token == null) return false;
+        int len = token.length();
+        if (len < MIN_LENGTH || len > MAX_LENGTH) return false;
+        return DIGIT.matcher(token).find() && LETTER.matcher(token).find();
+    }
+
+    /* GTIN(EAN-8/UPC-A/EAN-13/GTIN-14) 체크 디지트 검증 */
+    // 오른쪽 끝(체크 디지트 제외)부터 가중치 3,1,3,1... 합의 10의 보수가 체크 디지트
+    public static boolean isGtin(String digits) {
+        if (digits == null) return false;
+        int len = digits.length();
+        if (len != 8 && len != 12 && len != 13 && len != 14) return false;
+
+        int sum = 0;
+        for (int i = len - 2, weight = 3; i >= 0; i--, weight = 4 - weight) {
+            char c = digits.charAt(i);
+            if (c < '0' || c > '9') return false;
+            sum += (c - '0') * weight;
+        }
+        char check = digits.charAt(len - 1);
+        if (check < '0' || check > '9') return false;
+        return (10 - sum % 10) % 10 == check - '0';
+    }
+
+    // 같은 상품의 다른 GTIN 표기 (UPC-A 12자리 ↔ 앞에 0을 붙인 EAN-13)
+    // 리턴값: 입력을 포함한 표기 목록, GTIN이 아니면 입력만
+    public static List<String> gtinVariants(String digits) {
+        if (!isGtin(digits)) return List.of(digits);
+        if (digits.length() == 12) return List.of(digits, "0" + digits);
+        if (digits.length() == 13 && digits.charAt(0) == '0') return List.of(digits, digits.substring(1));
+        return List.of(digits);
+    }
+}
@@ -0,0 +1,51 @@
+package com.safebuy.util;
+
+import com.safebuy.entity.RecallProduct;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// 리콜 행의 내용 지문(SHA-256) 계산 유틸
+// 저장된 지문과 같으면 내용이 바뀌지 않은 행이므로 수집 시 다시 쓰지 않음
+public class RecallFingerprint {
+    private RecallFingerprint() {}
+
+    // 필드 구분자 / null 표시 (값 안에 나올 일이 없는 제어 문자 사용)
+    private static final byte SEPARATOR = 0x1F;
+    private static final byte NULL_MARKER = 0x00;
+
+    /* 저장 대상 필드 전체로 지문을 계산하는 메서드 */
+    // 리턴값: 64자리 16진수 문자열
+    public static String of(RecallProduct p) {
+        MessageDigest digest = newDigest();
+        update(digest, p.getRecallSn());
+        update(digest, p.getProductNm());
+        update(digest, p.getBsnmNm());
+        update(digest, p.getMakr());
+        update(digest, p.getModlNmInfo());
+        update(digest, p.getRecallPublictBgnde());
+        update(digest, p.getShrtcomCn());
+        update(digest, p.getCategory()); // 분류 규칙이 바뀌면 카테고리도 다시 써야 하므로 포함
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // 내부 메서드
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update(NULL_MARKER);
+        } else {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(SEPARATOR);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.safebuy.util;
+
+import com.safebuy.entity.RecallProduct;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+// 해외리콜 API의 XML 응답을 StAX(pull 방식)로 스트리밍 파싱하는 유틸 클래스
+// - 응답 전체를 String/DOM으로 만들지 않고 InputStream에서 바로 읽음
+// - <content> 하나가 끝날 때마다 RecallProduct 하나를 sink로 넘기므로 페이지 크기와 무관하게 메모리 사용량이 일정함
+public class RecallXmlParser {
+    private RecallXmlParser() {}
+
+    // XMLInputFactory는 설정 후에는 스레드 간 공유해도 안전함 (reader는 호출마다 새로 생성)
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // 외부 엔티티/DTD 차단 (XXE 방어)
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        // 텍스트를 한 번에 모아서 받도록 설정 (구현체가 지원하지 않아도 아래에서 누적하므로 문제 없음)
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /* XML 스트림을 파싱해서 <content> 단위로 RecallProduct를 sink에 전달하는 메서드 */
+    // 파라미터 in: 응답 본문 스트림 (gzip 해제된 상태), 호출한 쪽에서 close 책임
+    // 파라미터 sink: 파싱된 RecallProduct를 받을 콜백 (category는 채우지 않음)
+    // 리턴값: 응답에 포함된 전체 건수(allCnt), 태그가 없으면 -1
+    public static int parse(InputStream in, Consumer<RecallProduct> sink) throws XMLStreamException {
+        XMLStreamReader reader = FACTORY.createXMLStreamReader(in, "UTF-8");
+        try {
+            int allCnt = -1;
+            RecallProduct current = null;   // 현재 파싱 중인 <content>
+            String currentField = null;      // 현재 값을 모으는 중인 태그명
+            StringBuilder text = new StringBuilder(256);
+
+            while (reader.hasNext()) {
+                int event = reader.next();
+                switch (event) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        String name = reader.getLocalName();
+                        if ("content".equals(name)) {
+                            current = new RecallProduct();
+                            currentField = null;
+                        } else if (current != null ? isProductField(name) : "allCnt".equals(name)) {
+                            currentField = name;
+                            text.setLength(0);
+                        }
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                        if (currentField != null) {
+                            text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        }
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        String name = reader.getLocalName();
+                        if ("content".equals(name) && current != null) {
+                            sink.accept(current);
+                            current = null;
+                            currentField = null;
+                        } else if (name.equals(currentField)) {
+                            // 텍스트 노드가 아예 없는 빈 태그는 DOM 방식과 동일하게 null 처리
+                            String value = text.length() == 0 ? null : text.toString().trim();
+                            if (current != null) {
+                                applyField(current, name, value);
+                            } else if (value != null && !value.isEmpty()) {
+                                allCnt = Integer.parseInt(value);
+                            }
+                            currentField = null;
+                        }
+                    }
+                    default -> {
+                        // 주석, 공백 등은 무시
+                    }
+                }
+            }
+            return allCnt;
+        } finally {
+            reader.close();
+        }
+    }
+
+    // 내부 메서드
+    private static boolean isProductField(String name) {
+        return switch (name) {
+            case "recallSn", "productNm", "bsnmNm", "makr", "modlNmInfo", "recallPublictBgnde", "shrtcomCn" -> true;
+            default -> false;
+        };
+    }
+
+    // 같은 태그가 여러 번 나오면 DOM 방식(getElementsByTagName(...).item(0))과 동일하게 첫 번째 값만 사용
+    private static void applyField(RecallProduct p, String name, String value) {
+        switch (name) {
+            case "recallSn" -> { if (p.getRecallSn() == null) p.setRecallSn(value); }
+            case "productNm" -> { if (p.getProductNm() == null) p.setProductNm(value); }
+            case "bsnmNm" -> { if (p.getBsnmNm() == null) p.setBsnmNm(value); }
+            case "makr" -> { if (p.getMakr() == null) p.setMakr(value); }
+            case "modlNmInfo" -> { if (p.getModlNmInfo() == null) p.setModlNmInfo(value); }
+            case "recallPublictBgnde" -> { if (p.getRecallPublictBgnde() == null) p.setRecallPublictBgnde(value); }
+            case "shrtcomCn" -> { if (p.getShrtcomCn() == null) p.setShrtcomCn(value); }
+            default -> { }
+        }
+    }
+}
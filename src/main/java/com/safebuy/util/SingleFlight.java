@@ -0,0 +1,65 @@
+package com.safebuy.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// 같은 키로 동시에 들어온 요청을 하나로 합치는 유틸 클래스
+// - 먼저 들어온 스레드(leader)만 loader를 실행하고, 실행 중에 같은 키로 들어온 스레드는 그 결과를 기다렸다가 함께 받음
+// - 결과를 보관하지는 않음 (완료되면 키를 제거) → 캐시 앞단에서 cache stampede 방지용으로 사용
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /* 키별로 loader를 한 번만 실행하고 결과를 공유하는 메서드 */
+    // loader가 예외를 던지면 기다리던 스레드에도 같은 예외가 전달됨
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return await(existing);
+        }
+
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // 다른 요청의 결과를 받아 간 횟수 (누적)
+    public long coalescedCount() {
+        return coalesced.get();
+    }
+
+    // 현재 실행 중인 키 수
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    // 내부 메서드
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("SingleFlight 대기 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new CompletionException(cause);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.safebuy.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+// 읽은 바이트를 그대로 다른 OutputStream에도 복사하는 InputStream
+// (원본 스트림을 한 번만 읽으면서 파싱과 파일 기록을 동시에 하기 위함)
+// close 시 branch는 닫지 않음 → 기록 확정/폐기는 호출한 쪽에서 결정
+public class TeeInputStream extends FilterInputStream {
+
+    private final OutputStream branch;
+
+    public TeeInputStream(InputStream in, OutputStream branch) {
+        super(in);
+        this.branch = branch;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            branch.write(b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buf, int off, int len) throws IOException {
+        int n = super.read(buf, off, len);
+        if (n > 0) {
+            branch.write(buf, off, n);
+        }
+        return n;
+    }
+
+    // skip한 바이트도 기록되어야 하므로 읽어서 버리는 방식으로 처리
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] buf = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int r = read(buf, 0, (int) Math.min(buf.length, n - skipped));
+            if (r < 0) break;
+            skipped += r;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
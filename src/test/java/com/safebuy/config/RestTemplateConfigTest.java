@@ -0,0 +1,55 @@
+package com.safebuy.config;
+
+import com.safebuy.loadtest.StubApiServer;
+import com.safebuy.loadtest.StubApiTestSupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 외부 호출 연결 풀 검증: 연속 호출이 같은 keep-alive 연결을 재사용하고 풀 상태가 메트릭으로 나가는지
+class RestTemplateConfigTest extends StubApiTestSupport {
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void stubRoutes() {
+        STUB.route("naver-shop", "GET", "/v1/search/shop.json", null,
+                StubApiServer.Latency.fixed(0), 0, "stub/naver-shop.json");
+    }
+
+    @Test
+    void testSequentialCallsReuseOnePooledConnection() {
+        assertInstanceOf(HttpComponentsClientHttpRequestFactory.class, restTemplate.getRequestFactory());
+        // 컨텍스트를 다른 테스트와 나눠 쓰므로 이미 풀에 남아 있는 유휴 연결 수를 기준으로 비교
+        double idleBefore = gauge("httpcomponents.httpclient.pool.total.connections", "state", "available");
+
+        for (int i = 0; i < 5; i++) {
+            String body = restTemplate.getForObject(STUB.baseUrl() + "/v1/search/shop.json?query=pool" + i, String.class);
+            assertNotNull(body);
+        }
+
+        assertEquals(5, STUB.stats().get("naver-shop").count());
+        // 호출마다 새 연결을 맺었다면 반납된 연결이 5개 늘어남
+        assertTrue(gauge("httpcomponents.httpclient.pool.total.connections", "state", "available")
+                        <= Math.max(idleBefore, 1.0), "연속 호출이 연결 하나를 재사용하지 않았습니다.");
+        // 사용 중 연결 수는 다른 테스트에서 끝나지 않은 호출이 있을 수 있어 노출 여부만 확인
+        assertNotNull(meterRegistry.find("httpcomponents.httpclient.pool.total.connections")
+                .tags("httpclient", "default", "state", "leased").gauge());
+        assertNotNull(meterRegistry.find("safebuy.http.pool.leased")
+                .tags("client", "default", "route", "naver").gauge());
+    }
+
+    // 내부 메서드
+    private double gauge(String name, String tagKey, String tagValue) {
+        return meterRegistry.get(name).tags("httpclient", "default", tagKey, tagValue).gauge().value();
+    }
+}
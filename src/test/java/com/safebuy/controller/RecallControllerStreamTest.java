@@ -0,0 +1,165 @@
+package com.safebuy.controller;
+
+import com.safebuy.dto.AlternativeProductDto;
+import com.safebuy.dto.ProductSearchRequest;
+import com.safebuy.entity.RecallProduct;
+import com.safebuy.loadtest.StubApiServer;
+import com.safebuy.loadtest.StubApiTestSupport;
+import com.safebuy.monitoring.SearchMetrics;
+import com.safebuy.repository.RecallProductRepository;
+import com.safebuy.service.AlternativeProductService;
+import com.safebuy.service.ImageAnalysisService;
+import com.safebuy.service.ProductSearchService;
+import com.safebuy.service.RecallCodeIndex;
+import com.safebuy.service.RecallDictionaryService;
+import com.safebuy.service.RecallIngestionJobService;
+import com.safebuy.service.RecallService;
+import com.safebuy.service.SearchQueryEnhancerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// 점진적 검색(/recalls/search/stream) 이벤트 순서 검증 (외부 API는 지연 없는 스텁 서버로 대체)
+class RecallControllerStreamTest extends StubApiTestSupport {
+
+    private static final String SN_PREFIX = "SSE-";
+    private static final Pattern EVENT_NAME = Pattern.compile("(?m)^event:(\\S+)$");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RecallProductRepository repository;
+
+    @Autowired
+    private RecallDictionaryService recallDictionaryService;
+
+    @Autowired
+    private ImageAnalysisService imageAnalysisService;
+
+    @Autowired
+    private AlternativeProductService alternativeProductService;
+
+    @Autowired
+    private SearchQueryEnhancerService searchQueryEnhancerService;
+
+    @Autowired
+    private SearchMetrics searchMetrics;
+
+    @Autowired
+    private RecallCodeIndex recallCodeIndex;
+
+    @Autowired
+    private RecallIngestionJobService ingestionJobService;
+
+    @Autowired
+    private RecallService recallService;
+
+    private final List<String> insertedIds = new ArrayList<>();
+
+    @BeforeAll
+    static void stubRoutes() {
+        StubApiServer.Latency none = StubApiServer.Latency.fixed(0);
+        STUB.route("openai-enhance-manufacturer", "POST", "/v1/chat/completions",
+                        body -> body.contains("Load Test"), none, 0, "stub/openai-enhance-manufacturer.json")
+                .route("openai-enhance-product", "POST", "/v1/chat/completions",
+                        body -> body.contains("로드테스트"), none, 0, "stub/openai-enhance-product.json")
+                .route("openai-enhance-empty", "POST", "/v1/chat/completions",
+                        null, none, 0, "stub/openai-enhance-empty.json")
+                .route("naver-shop", "GET", "/v1/search/shop.json", null, none, 0, "stub/naver-shop.json");
+    }
+
+    @BeforeEach
+    void insertRecall() {
+        RecallProduct p = new RecallProduct();
+        p.setRecallSn(SN_PREFIX + "0");
+        p.setProductNm("로드테스트 유아침대 0");
+        p.setMakr("Load Test Baby Co");
+        p.setModlNmInfo("LT-100");
+        p.setRecallPublictBgnde("2024-01-01");
+        p.setShrtcomCn("점진적 검색 테스트용 리콜 데이터");
+        p.setCategory("기타");
+        repository.save(p);
+        recallDictionaryService.applyChanges(List.of(p));
+        insertedIds.add(p.getRecallSn());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAllByIdInBatch(insertedIds);
+        insertedIds.clear();
+    }
+
+    @Test
+    void testRecallEventIsSentBeforeAlternatives() throws Exception {
+        String body = stream(mockMvc, "로드테스트 유아침대", "Load Test Baby Co", "LT-100");
+
+        assertEquals(List.of("recall", "alternatives"), eventNames(body));
+        assertTrue(body.contains("\"alternativesPending\":true"), "recall 이벤트에 대체 상품 대기 표시가 없습니다.");
+    }
+
+    @Test
+    void testUnmatchedSearchSendsSingleEvent() throws Exception {
+        String body = stream(mockMvc, "존재하지않는제품", "없는제조사", "NONE-0");
+
+        assertEquals(List.of("recall"), eventNames(body));
+    }
+
+    @Test
+    void testFailedAlternativesSendErrorEvent() throws Exception {
+        // 대체 상품 조회 future만 실패로 바꾼 검색 서비스로 컨트롤러 구성
+        ProductSearchService failingAlternatives = new ProductSearchService(repository, imageAnalysisService,
+                alternativeProductService, searchQueryEnhancerService, searchMetrics, recallCodeIndex) {
+            @Override
+            public ProgressiveSearch searchProgressive(ProductSearchRequest request) {
+                ProgressiveSearch result = super.searchProgressive(request);
+                if (result.alternatives() == null) return result;
+                return new ProgressiveSearch(result.recall(),
+                        CompletableFuture.<List<AlternativeProductDto>>failedFuture(new IllegalStateException("stub failure")));
+            }
+        };
+        MockMvc standalone = MockMvcBuilders.standaloneSetup(
+                new RecallController(failingAlternatives, ingestionJobService, recallService)).build();
+
+        String body = stream(standalone, "로드테스트 유아침대", "Load Test Baby Co", "LT-100");
+
+        assertEquals(List.of("recall", "error"), eventNames(body));
+    }
+
+    // 내부 메서드
+    private String stream(MockMvc mvc, String productName, String manufacturer, String modelName) throws Exception {
+        MvcResult result = mvc.perform(multipart("/recalls/search/stream")
+                        .param("productName", productName)
+                        .param("manufacturer", manufacturer)
+                        .param("modelName", modelName))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // emitter가 complete될 때까지 대기
+        result.getAsyncResult(10_000);
+        return result.getResponse().getContentAsString();
+    }
+
+    private List<String> eventNames(String body) {
+        List<String> names = new ArrayList<>();
+        Matcher m = EVENT_NAME.matcher(body);
+        while (m.find()) {
+            names.add(m.group(1));
+        }
+        return names;
+    }
+}
@@ -0,0 +1,48 @@
+package com.safebuy.loadtest;
+
+import java.util.Arrays;
+
+// 지연 시간 샘플을 모아 백분위수를 계산하는 단순 집계기 (부하 테스트용)
+// 샘플 수가 수십만 건 수준이므로 히스토그램 없이 정렬 방식으로 계산
+public class LatencyStats {
+
+    private long[] samples = new long[1024];
+    private int size;
+
+    public synchronized void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    public synchronized int count() {
+        return size;
+    }
+
+    // 파라미터 percentile: 0 ~ 100, 리턴값: 해당 백분위 지연 시간(ms), 샘플이 없으면 0
+    public synchronized double percentileMillis(double percentile) {
+        if (size == 0) return 0;
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * size) - 1;
+        return sorted[Math.max(0, Math.min(index, size - 1))] / 1e6;
+    }
+
+    public synchronized double maxMillis() {
+        long max = 0;
+        for (int i = 0; i < size; i++) max = Math.max(max, samples[i]);
+        return max / 1e6;
+    }
+
+    // 보고서 한 줄: 이름, 건수, p50/p90/p95/p99/max (ms)
+    public String format(String name) {
+        return String.format("%-24s %8d %9.1f %9.1f %9.1f %9.1f %9.1f",
+                name, count(), percentileMillis(50), percentileMillis(90),
+                percentileMillis(95), percentileMillis(99), maxMillis());
+    }
+
+    public static String header() {
+        return String.format("%-24s %8s %9s %9s %9s %9s %9s", "stage", "count", "p50", "p90", "p95", "p99", "max");
+    }
+}
@@ -0,0 +1,180 @@
+package com.safebuy.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// /recalls/search 에 목표 RPS로 요청을 보내고 지연 시간 백분위수를 집계하는 부하 생성기
+// - open-loop 방식: 응답을 기다리지 않고 정해진 간격으로 요청을 보냄
+//   지연 시간은 "보내려고 했던 시각" 기준으로 측정 → 서버가 밀려도 대기 시간이 결과에서 빠지지 않음
+// - 응답의 Server-Timing 헤더가 있으면 단계별(name;dur=ms) 지연 시간도 함께 집계
+public class SearchLoadGenerator implements AutoCloseable {
+
+    // 요청 1건의 폼 데이터 (image는 선택)
+    public record SearchForm(String productName, String manufacturer, String modelName, byte[] image) {
+    }
+
+    public record Result(int sent, int failed, int dropped, double achievedRps,
+                         LatencyStats endToEnd, Map<String, LatencyStats> stages) {
+
+        public String report() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("요청: %d, 실패: %d, 동시 요청 한도 초과로 미전송: %d, 실제 RPS: %.1f%n",
+                    sent, failed, dropped, achievedRps));
+            sb.append(LatencyStats.header()).append('\n');
+            sb.append(endToEnd.format("end-to-end")).append('\n');
+            new TreeMap<>(stages).forEach((name, stats) -> sb.append(stats.format(name)).append('\n'));
+            return sb.toString();
+        }
+    }
+
+    private final URI searchUri;
+    private final List<SearchForm> forms;
+    private final int maxInFlight;
+    private final ExecutorService executor;
+    private final HttpClient client;
+
+    // 파라미터 maxInFlight: 동시에 처리 중인 요청 상한 (넘으면 해당 요청은 보내지 않고 dropped로 집계)
+    public SearchLoadGenerator(URI searchUri, List<SearchForm> forms, int maxInFlight) {
+        this.searchUri = searchUri;
+        this.forms = forms;
+        this.maxInFlight = maxInFlight;
+        this.executor = Executors.newFixedThreadPool(Math.max(4, maxInFlight / 4), r -> {
+            Thread t = new Thread(r, "load-generator");
+            t.setDaemon(true);
+            return t;
+        });
+        // h2c 업그레이드 시도 없이 브라우저/앱과 같은 HTTP/1.1 keep-alive 연결 사용
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    public Result run(double targetRps, Duration duration) throws InterruptedException {
+        LatencyStats endToEnd = new LatencyStats();
+        Map<String, LatencyStats> stages = new ConcurrentHashMap<>();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger dropped = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        ConcurrentLinkedQueue<CompletableFuture<?>> pending = new ConcurrentLinkedQueue<>();
+
+        long intervalNanos = (long) (1e9 / targetRps);
+        long total = (long) (targetRps * duration.toMillis() / 1000.0);
+        long start = System.nanoTime();
+        int sent = 0;
+
+        for (long i = 0; i < total; i++) {
+            long intended = start + i * intervalNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+
+            if (!inFlight.tryAcquire()) {
+                dropped.incrementAndGet();
+                continue;
+            }
+            sent++;
+            HttpRequest request = buildRequest(forms.get((int) (i % forms.size())));
+            CompletableFuture<?> future = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        inFlight.release();
+                        endToEnd.record(System.nanoTime() - intended);
+                        // 404(리콜 미발견)는 정상 응답으로 취급
+                        if (error != null || response.statusCode() >= 500) {
+                            failed.incrementAndGet();
+                            return;
+                        }
+                        response.headers().allValues("Server-Timing")
+                                .forEach(header -> recordServerTiming(header, stages));
+                    });
+            pending.add(future);
+        }
+
+        for (CompletableFuture<?> future : pending) {
+            try {
+                future.get(60, TimeUnit.SECONDS);
+            } catch (Exception ignored) {
+                // 실패는 whenComplete에서 집계됨
+            }
+        }
+        double elapsedSec = (System.nanoTime() - start) / 1e9;
+        return new Result(sent, failed.get(), dropped.get(), sent / elapsedSec, endToEnd, stages);
+    }
+
+    // 내부 메서드
+
+    // Server-Timing: enhance;dur=12.3, db;desc="..";dur=4
+    static void recordServerTiming(String header, Map<String, LatencyStats> stages) {
+        for (String metric : header.split(",")) {
+            String[] parts = metric.trim().split(";");
+            if (parts[0].isBlank()) continue;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("dur=")) {
+                    try {
+                        double ms = Double.parseDouble(param.substring(4));
+                        stages.computeIfAbsent(parts[0].trim(), k -> new LatencyStats()).record((long) (ms * 1e6));
+                    } catch (NumberFormatException ignored) {
+                        // 형식이 잘못된 항목은 건너뜀
+                    }
+                }
+            }
+        }
+    }
+
+    private HttpRequest buildRequest(SearchForm form) {
+        String boundary = "----safebuy-load-" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        writeField(body, boundary, "productName", form.productName());
+        writeField(body, boundary, "manufacturer", form.manufacturer());
+        writeField(body, boundary, "modelName", form.modelName());
+        if (form.image() != null) {
+            write(body, "--" + boundary + "\r\n"
+                    + "Content-Disposition: form-data; name=\"image\"; filename=\"load.png\"\r\n"
+                    + "Content-Type: image/png\r\n\r\n");
+            body.writeBytes(form.image());
+            write(body, "\r\n");
+        }
+        write(body, "--" + boundary + "--\r\n");
+
+        return HttpRequest.newBuilder(searchUri)
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private void writeField(ByteArrayOutputStream body, String boundary, String name, String value) {
+        if (value == null) return;
+        write(body, "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                + value + "\r\n");
+    }
+
+    private void write(ByteArrayOutputStream body, String text) {
+        body.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,130 @@
+package com.safebuy.loadtest;
+
+import com.safebuy.entity.RecallProduct;
+import com.safebuy.repository.RecallProductRepository;
+import com.safebuy.service.RecallDictionaryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// OpenAI / 네이버 API를 스텁 서버로 바꾸고 /recalls/search 에 목표 RPS로 부하를 주는 end-to-end 테스트
+// 실행: ./gradlew loadTest -Dloadtest.rps=50 -Dloadtest.seconds=30
+// 실제 포트가 필요해 컨텍스트를 따로 만들므로 운영과 같게 hedge를 켬
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "safebuy.resilience.enhancer.hedge.enabled=true",
+        "safebuy.resilience.naver.hedge.enabled=true"})
+@Tag("load")
+class SearchLoadTest extends StubApiTestSupport {
+
+    private static final String SN_PREFIX = "LOADTEST-";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RecallProductRepository repository;
+
+    @Autowired
+    private RecallDictionaryService recallDictionaryService;
+
+    private final List<String> insertedIds = new ArrayList<>();
+
+    // 스텁 지연 시간/오류율 (운영에서 관측한 값에 맞춰 조정)
+    @BeforeAll
+    static void stubRoutes() {
+        // 이미지 분석 요청 (image_url 파트 포함)
+        STUB.route("openai-image", "POST", "/v1/chat/completions", body -> body.contains("image_url"),
+                        new StubApiServer.Latency(1800, 6000), 0.02,
+                        "stub/openai-image-analysis.json")
+                // 검색어 확장 요청
+                .route("openai-enhance", "POST", "/v1/chat/completions", null,
+                        new StubApiServer.Latency(900, 3500), 0.01,
+                        "stub/openai-enhance-product.json", "stub/openai-enhance-manufacturer.json")
+                .route("naver-shop", "GET", "/v1/search/shop.json", null,
+                        new StubApiServer.Latency(120, 600), 0.005,
+                        "stub/naver-shop.json");
+    }
+
+    @BeforeEach
+    void insertRecalls() {
+        List<RecallProduct> rows = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            RecallProduct p = new RecallProduct();
+            p.setRecallSn(SN_PREFIX + i);
+            p.setProductNm("로드테스트 유아침대 " + i);
+            p.setMakr("Load Test Baby Co");
+            p.setModlNmInfo("LT-" + (100 + i));
+            p.setRecallPublictBgnde("2024-01-01");
+            p.setShrtcomCn("부하 테스트용 리콜 데이터");
+            p.setCategory("기타");
+            rows.add(p);
+            insertedIds.add(p.getRecallSn());
+        }
+        repository.saveAll(rows);
+        recallDictionaryService.applyChanges(rows);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAllByIdInBatch(insertedIds);
+        insertedIds.clear();
+    }
+
+    @Test
+    void searchUnderTargetRps() throws Exception {
+        double rps = Double.parseDouble(System.getProperty("loadtest.rps", "20"));
+        int seconds = Integer.parseInt(System.getProperty("loadtest.seconds", "15"));
+
+        byte[] image = samplePng();
+        List<SearchLoadGenerator.SearchForm> forms = List.of(
+                new SearchLoadGenerator.SearchForm("로드테스트 유아침대", "Load Test Baby Co", "LT-100", null),
+                new SearchLoadGenerator.SearchForm("로드테스트 유아침대", null, null, null),
+                new SearchLoadGenerator.SearchForm(null, null, null, image),
+                new SearchLoadGenerator.SearchForm("존재하지않는제품", null, null, null)
+        );
+
+        SearchLoadGenerator.Result result;
+        try (SearchLoadGenerator generator = new SearchLoadGenerator(
+                URI.create("http://localhost:" + port + "/recalls/search"), forms, 200)) {
+            // 워밍업 (JIT, 커넥션, 캐시) 후 본 측정
+            generator.run(Math.min(rps, 10), Duration.ofSeconds(3));
+            result = generator.run(rps, Duration.ofSeconds(seconds));
+        }
+
+        System.out.printf("%n=== /recalls/search 부하 테스트 (목표 %.1f RPS, %d초) ===%n", rps, seconds);
+        System.out.print(result.report());
+        System.out.println("--- 스텁 주입 지연 (외부 API 단계) ---");
+        System.out.print(STUB.report());
+
+        assertTrue(result.sent() > 0, "요청이 전송되지 않았습니다.");
+        assertTrue(result.failed() < result.sent(), "모든 요청이 실패했습니다.");
+    }
+
+    // 내부 메서드
+    private static byte[] samplePng() throws Exception {
+        BufferedImage img = new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 64; y++) {
+            for (int x = 0; x < 64; x++) {
+                img.setRGB(x, y, (x * 4) << 16 | (y * 4) << 8);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(img, "png", out);
+        return out.toByteArray();
+    }
+}
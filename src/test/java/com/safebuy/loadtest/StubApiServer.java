@@ -0,0 +1,207 @@
+package com.safebuy.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+// OpenAI / 네이버 쇼핑 API를 대신하는 in-process 스텁 서버 (JDK HttpServer 기반)
+// - 라우트마다 기록해 둔 응답(src/test/resources/stub)을 돌려주고, 지연 시간 분포와 오류율을 설정할 수 있음
+// - 서비스의 base-url 설정(spring.ai.openai.base-url, shop.base-url)을 이 서버 주소로 바꿔서 사용
+public class StubApiServer implements AutoCloseable {
+
+    /* 지연 시간 분포 (로그정규분포: 중앙값과 p99로 지정) */
+    public record Latency(double medianMs, double p99Ms) {
+        private static final double Z_99 = 2.326;
+
+        public static Latency fixed(double ms) {
+            return new Latency(ms, ms);
+        }
+
+        long sampleMillis() {
+            if (medianMs <= 0) return 0;
+            double sigma = p99Ms > medianMs ? Math.log(p99Ms / medianMs) / Z_99 : 0;
+            double gaussian = ThreadLocalRandom.current().nextGaussian();
+            return Math.round(medianMs * Math.exp(sigma * gaussian));
+        }
+    }
+
+    /* 라우트 1개: 메서드 + 경로 (+ 요청 조건) → 기록된 응답 중 하나 */
+    // requestMatcher는 "디코딩된 쿼리스트링 + 줄바꿈 + 요청 본문" 문자열을 받음 (null이면 항상 일치)
+    public record Route(String name, String method, String path, Predicate<String> requestMatcher,
+                        List<byte[]> responses, Latency latency, double errorRate) {
+    }
+
+    /* 라우트별 처리 통계 */
+    public static final class RouteStats {
+        final LatencyStats injected = new LatencyStats();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong requestBytes = new AtomicLong();
+
+        public int count() {
+            return injected.count();
+        }
+
+        public long errors() {
+            return errors.get();
+        }
+
+        // 받은 요청 본문 바이트 합계
+        public long requestBytes() {
+            return requestBytes.get();
+        }
+    }
+
+    private final List<Route> routes = new CopyOnWriteArrayList<>();
+    private final Map<String, RouteStats> stats = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private ExecutorService executor;
+    private volatile int bodyCaptureLimit = Integer.MAX_VALUE;
+
+    // 파라미터 resources: 클래스패스 기준 응답 파일 경로 (여러 개면 요청마다 무작위로 하나 선택)
+    public StubApiServer route(String name, String method, String path, Predicate<String> requestMatcher,
+                               Latency latency, double errorRate, String... resources) {
+        List<byte[]> bodies = java.util.Arrays.stream(resources).map(StubApiServer::load).toList();
+        routes.add(new Route(name, method, path, requestMatcher, bodies, latency, errorRate));
+        stats.put(name, new RouteStats());
+        return this;
+    }
+
+    // requestMatcher에 넘길 요청 본문 최대 바이트 (나머지는 읽고 버림, 대용량 업로드 테스트용)
+    public StubApiServer captureBodyUpTo(int bytes) {
+        this.bodyCaptureLimit = bytes;
+        return this;
+    }
+
+    // 라우트/통계/본문 보관 한도를 초기화 (여러 테스트 클래스가 서버 하나를 나눠 쓸 때 클래스마다 호출)
+    public StubApiServer reset() {
+        routes.clear();
+        stats.clear();
+        bodyCaptureLimit = Integer.MAX_VALUE;
+        return this;
+    }
+
+    public StubApiServer start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "stub-api");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public Map<String, RouteStats> stats() {
+        return stats;
+    }
+
+    // 라우트별 주입 지연 시간 보고서
+    public String report() {
+        StringBuilder sb = new StringBuilder(LatencyStats.header()).append("  errors\n");
+        stats.forEach((name, s) -> sb.append(s.injected.format("stub:" + name))
+                .append(String.format("  %6d%n", s.errors())));
+        return sb.toString();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) server.stop(0);
+        if (executor != null) executor.shutdownNow();
+    }
+
+    // 내부 메서드
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            long[] bodyBytes = new long[1];
+            String body = readBody(exchange.getRequestBody(), bodyBytes);
+            String query = exchange.getRequestURI().getRawQuery();
+            String request = (query != null ? URLDecoder.decode(query, StandardCharsets.UTF_8) : "") + "\n" + body;
+            Route route = routes.stream()
+                    .filter(r -> r.method().equalsIgnoreCase(exchange.getRequestMethod()))
+                    .filter(r -> r.path().equals(exchange.getRequestURI().getPath()))
+                    .filter(r -> r.requestMatcher() == null || r.requestMatcher().test(request))
+                    .findFirst()
+                    .orElse(null);
+            if (route == null) {
+                send(exchange, 404, "{\"error\":\"no stub route\"}".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+
+            // reset() 직전에 들어온 요청도 처리할 수 있도록 통계가 없으면 새로 만듦
+            RouteStats routeStats = stats.computeIfAbsent(route.name(), name -> new RouteStats());
+            routeStats.requestBytes.addAndGet(bodyBytes[0]);
+            long delay = route.latency().sampleMillis();
+            routeStats.injected.record(delay * 1_000_000L);
+            if (delay > 0) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextDouble() < route.errorRate()) {
+                routeStats.errors.incrementAndGet();
+                send(exchange, 500, "{\"error\":{\"message\":\"stub injected error\"}}".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            send(exchange, 200, route.responses().get(random.nextInt(route.responses().size())));
+        }
+    }
+
+    // 본문을 끝까지 읽되 앞쪽 bodyCaptureLimit 바이트만 문자열로 보관 (totalBytes[0]에 전체 크기 기록)
+    private String readBody(InputStream in, long[] totalBytes) throws IOException {
+        java.io.ByteArrayOutputStream captured = new java.io.ByteArrayOutputStream();
+        byte[] buf = new byte[16 * 1024];
+        long total = 0;
+        int n;
+        while ((n = in.read(buf)) != -1) {
+            int keep = (int) Math.max(0, Math.min(n, bodyCaptureLimit - total));
+            if (keep > 0) captured.write(buf, 0, keep);
+            total += n;
+        }
+        totalBytes[0] = total;
+        return captured.toString(StandardCharsets.UTF_8);
+    }
+
+    private void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] load(String resource) {
+        try (InputStream in = StubApiServer.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) throw new IllegalArgumentException("스텁 응답 파일이 없습니다: " + resource);
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
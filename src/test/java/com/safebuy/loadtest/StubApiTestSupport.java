@@ -0,0 +1,77 @@
+package com.safebuy.loadtest;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// 외부 API(OpenAI / 네이버 쇼핑 / 공공데이터 리콜)를 스텁 서버로 바꾸는 테스트의 공통 설정
+// - 스텁 서버는 JVM에서 하나만 띄우고 닫지 않음 (데몬 스레드) → 하위 클래스의 속성 값이 모두 같아 Spring 컨텍스트가 캐시되어 재사용됨
+// - 클래스가 시작될 때 라우트/통계를 비우므로 하위 클래스는 @BeforeAll에서 STUB.route(...)로 필요한 라우트만 등록
+// - 속성은 이 클래스에서만 등록 (하위 클래스에서 속성을 추가하면 컨텍스트를 따로 만들게 됨), MockMvc도 같은 이유로 여기서 구성
+@SpringBootTest
+@AutoConfigureMockMvc
+public abstract class StubApiTestSupport {
+
+    protected static final StubApiServer STUB = SharedStub.INSTANCE;
+
+    // recall.dump.dir (dump 가져오기 테스트는 이 아래 하위 폴더에 페이지 파일을 만들어 사용)
+    protected static final Path DUMP_DIR = createDumpDir();
+
+    @DynamicPropertySource
+    static void stubProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.ai.openai.base-url", STUB::baseUrl);
+        registry.add("spring.ai.openai.api-key", () -> "stub-key");
+        registry.add("shop.base-url", STUB::baseUrl);
+        registry.add("shop.client-id", () -> "stub-id");
+        registry.add("shop.client-secret", () -> "stub-secret");
+        // 단어별 검색 병렬도/마감 (운영 기본값과 같지만 fan-out 테스트가 의존하므로 고정)
+        registry.add("shop.fanout.parallelism", () -> "4");
+        registry.add("shop.fanout.deadline-ms", () -> "1500");
+        // 미리 조회는 최신 리콜 몇 건만, 대기 없이
+        registry.add("shop.prewarm.max-recalls", () -> "3");
+        registry.add("shop.prewarm.interval-ms", () -> "0");
+        // 컨텍스트를 나눠 쓰면 앞 클래스의 호출 시간으로 p95가 학습되어 호출 횟수 검증이 흔들리므로 hedge는 끔 (Hedger는 HedgerTest에서 검증)
+        registry.add("safebuy.resilience.enhancer.hedge.enabled", () -> "false");
+        registry.add("safebuy.resilience.naver.hedge.enabled", () -> "false");
+        // 리콜 API는 /openapi/recall/... 경로 라우트로, 받은 원문은 DUMP_DIR 아래에 기록
+        registry.add("consumer.api.base-url", () -> STUB.baseUrl() + "/openapi/recall/contents/index.do");
+        registry.add("consumer.api.service-key", () -> "stub-key");
+        registry.add("recall.dump.dir", DUMP_DIR::toString);
+        registry.add("recall.dump.capture-enabled", () -> "true");
+    }
+
+    @BeforeAll
+    static void resetStub() {
+        STUB.reset();
+    }
+
+    private static Path createDumpDir() {
+        try {
+            return Files.createTempDirectory("safebuy-dump-test");
+        } catch (IOException e) {
+            throw new UncheckedIOException("dump 테스트 폴더 생성 실패", e);
+        }
+    }
+
+    // 최초 사용 시 1회 시작, JVM 종료 시 닫음
+    private static final class SharedStub {
+        static final StubApiServer INSTANCE = start();
+
+        private static StubApiServer start() {
+            try {
+                StubApiServer stub = new StubApiServer().start();
+                Runtime.getRuntime().addShutdownHook(new Thread(stub::close, "stub-api-shutdown"));
+                return stub;
+            } catch (Exception e) {
+                throw new IllegalStateException("스텁 서버 시작 실패", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.safebuy.monitoring;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+// 테스트에서 코드 경로별 JDBC statement 수 상한을 검증하는 헬퍼
+// (StatementCountingDataSource가 적용된 @SpringBootTest 컨텍스트에서 사용)
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    // body 실행 중 statement 수가 max를 넘으면 실패 (반복 실행된 SQL 상위 5개를 메시지에 포함)
+    public static <T> T assertMaxQueries(int max, Supplier<T> body) {
+        try (QueryCounter queries = QueryCounter.open()) {
+            T result = body.get();
+            if (queries.count() > max) {
+                fail("쿼리 수 " + queries.count() + "개가 허용치 " + max + "개를 초과했습니다. 반복 SQL: "
+                        + queries.topStatements(5));
+            }
+            return result;
+        }
+    }
+
+    // body 실행 중 statement 수
+    public static int countQueries(Runnable body) {
+        try (QueryCounter queries = QueryCounter.open()) {
+            body.run();
+            return queries.count();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.safebuy.monitoring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTiming.end();
+    }
+
+    @Test
+    void testHeaderValueKeepsOrderAndMergesRepeatedStages() {
+        RequestTiming timing = RequestTiming.start();
+        RequestTiming.record("image_analysis", 1_250_000_000L);
+        RequestTiming.describe("expand_product", "cache hit");
+        RequestTiming.record("expand_product", 300_000L);
+        RequestTiming.record("naver", 120_000_000L);
+        RequestTiming.record("naver", 80_000_000L);
+
+        assertEquals("image_analysis;dur=1250.0, expand_product;desc=\"cache hit\";dur=0.3, naver;desc=\"2 calls\";dur=200.0",
+                timing.toHeaderValue());
+    }
+
+    @Test
+    void testRecordWithoutContextIsIgnored() {
+        RequestTiming.record("image_analysis", 1_000_000L);
+        RequestTiming.describe("expand_product", "cache miss");
+
+        assertNull(RequestTiming.current());
+    }
+}
@@ -0,0 +1,89 @@
+package com.safebuy.repository;
+
+import com.safebuy.entity.RecallProduct;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 10만 행 적재 시 JPA saveAll()과 bulk upsert의 쓰기 처리량(rows/s) 비교
+// 실행: ./gradlew loadTest
+// MySQL 기준 수치: SPRING_DATASOURCE_URL / SPRING_DATASOURCE_USERNAME / SPRING_DATASOURCE_PASSWORD 환경 변수로 대상 DB 지정 (없으면 H2)
+@SpringBootTest
+@Tag("load")
+class RecallProductBulkWriterTest {
+
+    private static final int ROWS = 100_000;
+    private static final String SN_PREFIX = "BENCH-";
+
+    @Autowired
+    private RecallProductRepository repository;
+
+    @Autowired
+    private RecallProductBulkWriter bulkWriter;
+
+    private final List<String> insertedIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        for (int from = 0; from < insertedIds.size(); from += 1_000) {
+            repository.deleteAllByIdInBatch(insertedIds.subList(from, Math.min(from + 1_000, insertedIds.size())));
+        }
+        insertedIds.clear();
+    }
+
+    @Test
+    void benchmarkSaveAllAgainstBulkUpsert() {
+        List<RecallProduct> jpaRows = buildRows("JPA-", ROWS);
+        long jpaStart = System.nanoTime();
+        for (int from = 0; from < ROWS; from += 100) {
+            // 기존 수집 경로와 동일하게 페이지(100건) 단위로 saveAll
+            repository.saveAll(jpaRows.subList(from, from + 100));
+        }
+        long jpaNanos = System.nanoTime() - jpaStart;
+
+        List<RecallProduct> bulkRows = buildRows("BULK-", ROWS);
+        long bulkStart = System.nanoTime();
+        for (int from = 0; from < ROWS; from += 100) {
+            bulkWriter.upsertAll(bulkRows.subList(from, from + 100));
+        }
+        long bulkNanos = System.nanoTime() - bulkStart;
+
+        // 이미 존재하는 행 재저장(update 경로)
+        long reStart = System.nanoTime();
+        bulkWriter.upsertAll(bulkRows);
+        long reNanos = System.nanoTime() - reStart;
+
+        System.out.printf("JPA saveAll (page=100)      : %.0f rows/s%n", ROWS / (jpaNanos / 1e9));
+        System.out.printf("bulk upsert (page=100)      : %.0f rows/s%n", ROWS / (bulkNanos / 1e9));
+        System.out.printf("bulk upsert (single call)   : %.0f rows/s (기존 행 갱신)%n", ROWS / (reNanos / 1e9));
+
+        RecallProduct stored = repository.findById(SN_PREFIX + "BULK-" + 42).orElse(null);
+        assertNotNull(stored, "bulk upsert로 저장한 행을 찾을 수 없습니다.");
+        assertEquals("결함내용 42", stored.getShrtcomCn());
+    }
+
+    private List<RecallProduct> buildRows(String kind, int count) {
+        List<RecallProduct> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            RecallProduct p = new RecallProduct();
+            p.setRecallSn(SN_PREFIX + kind + i);
+            p.setProductNm("샘플제품 " + i);
+            p.setBsnmNm("샘플사업자");
+            p.setMakr("Sample Maker Co., Ltd");
+            p.setModlNmInfo("MC" + i);
+            p.setRecallPublictBgnde("2024-01-01");
+            p.setShrtcomCn("결함내용 " + i);
+            p.setCategory("기타");
+            rows.add(p);
+            insertedIds.add(p.getRecallSn());
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,90 @@
+package com.safebuy.resilience;
+
+import com.safebuy.monitoring.SearchMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    @Test
+    void testCallersBeyondLimitFallBackFast() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Bulkhead bulkhead = new Bulkhead("test", 2, 1, Duration.ofMillis(500), new SearchMetrics(registry));
+
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            // 느린 외부 호출 2건이 자리를 모두 차지
+            Future<String> first = pool.submit(() -> bulkhead.execute(() -> block(started, release), () -> "fallback"));
+            Future<String> second = pool.submit(() -> bulkhead.execute(() -> block(started, release), () -> "fallback"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertEquals(2, bulkhead.activeCount());
+
+            // 세 번째는 대기열에서 max-wait 동안 기다린 뒤 포기
+            Future<String> queued = pool.submit(() -> bulkhead.execute(() -> "call", () -> "fallback"));
+            waitUntil(() -> bulkhead.waitingCount() == 1);
+
+            // 대기열이 가득 찼으므로 네 번째는 기다리지 않고 바로 fallback
+            long start = System.nanoTime();
+            assertEquals("fallback", bulkhead.execute(() -> "call", () -> "fallback"));
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+
+            assertEquals("fallback", queued.get(5, TimeUnit.SECONDS));
+
+            release.countDown();
+            assertEquals("call", first.get(5, TimeUnit.SECONDS));
+            assertEquals("call", second.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+
+        // 자리가 비면 바로 실행
+        assertEquals("call", bulkhead.execute(() -> "call", () -> "fallback"));
+        assertEquals(0, bulkhead.activeCount());
+        assertEquals(2, bulkhead.rejectedCount());
+        assertEquals(1.0, registry.get("safebuy.bulkhead.rejected").tags("name", "test", "reason", "queue_full").counter().count());
+        assertEquals(1.0, registry.get("safebuy.bulkhead.rejected").tags("name", "test", "reason", "timeout").counter().count());
+        assertTrue(registry.get("safebuy.bulkhead.queue.wait").tag("name", "test").timer().count() >= 5);
+    }
+
+    @Test
+    void testCallExceptionIsPropagatedAndPermitReleased() {
+        Bulkhead bulkhead = new Bulkhead("error", 1, 0, Duration.ZERO, new SearchMetrics(new SimpleMeterRegistry()));
+
+        assertThrows(IllegalStateException.class,
+                () -> bulkhead.execute(() -> { throw new IllegalStateException("upstream"); }, () -> "fallback"));
+        assertEquals(0, bulkhead.activeCount());
+        assertEquals("call", bulkhead.execute(() -> "call", () -> "fallback"));
+    }
+
+    // 내부 메서드
+    private static String block(CountDownLatch started, CountDownLatch release) {
+        started.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "call";
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,83 @@
+package com.safebuy.resilience;
+
+import com.safebuy.monitoring.SearchMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    @Test
+    void testOpensOnFailuresAndClosesAfterTrialCalls() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CircuitBreaker breaker = new CircuitBreaker("test", 10, 4, 0.5, 1.0,
+                Duration.ofSeconds(5), Duration.ofMillis(200), 2, new SearchMetrics(registry));
+        AtomicInteger calls = new AtomicInteger();
+
+        // 성공 2건 + 실패 2건 → 실패율 50%로 열림 (실패한 호출은 fallback 결과)
+        assertEquals("ok", breaker.execute(() -> count(calls, "ok"), () -> "fallback"));
+        assertEquals("ok", breaker.execute(() -> count(calls, "ok"), () -> "fallback"));
+        assertEquals("fallback", breaker.execute(() -> fail(calls), () -> "fallback"));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals("fallback", breaker.execute(() -> fail(calls), () -> "fallback"));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        // 열려 있는 동안은 호출하지 않음
+        assertEquals("fallback", breaker.execute(() -> count(calls, "ok"), () -> "fallback"));
+        assertEquals(4, calls.get());
+        assertEquals(1, breaker.rejectedCount());
+        assertEquals(1.0, registry.get("safebuy.circuit.state").tag("name", "test").gauge().value());
+
+        // open 시간이 지나면 시험 호출 2건이 성공해야 닫힘
+        Thread.sleep(250);
+        assertEquals("ok", breaker.execute(() -> count(calls, "ok"), () -> "fallback"));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertEquals("ok", breaker.execute(() -> count(calls, "ok"), () -> "fallback"));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(0.0, breaker.failureRate());
+        assertEquals(1.0, registry.get("safebuy.circuit.transitions").tags("name", "test", "state", "half_open").counter().count());
+        assertEquals(1.0, registry.get("safebuy.circuit.rejected").tag("name", "test").counter().count());
+    }
+
+    @Test
+    void testOpensOnSlowCallsAndReopensOnSlowTrial() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("slow", 10, 3, 1.0, 0.6,
+                Duration.ofMillis(20), Duration.ofMillis(200), 1, new SearchMetrics(new SimpleMeterRegistry()));
+
+        // 응답은 정상이지만 느린 호출이 3건 중 2건 → 열림
+        assertEquals("ok", breaker.execute(() -> sleep(40), () -> "fallback"));
+        assertEquals("ok", breaker.execute(() -> "ok", () -> "fallback"));
+        assertEquals("ok", breaker.execute(() -> sleep(40), () -> "fallback"));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        // 시험 호출도 느리면 다시 열림
+        Thread.sleep(250);
+        assertEquals("ok", breaker.execute(() -> sleep(40), () -> "fallback"));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals("fallback", breaker.execute(() -> "ok", () -> "fallback"));
+    }
+
+    // 내부 메서드
+    private static String count(AtomicInteger calls, String value) {
+        calls.incrementAndGet();
+        return value;
+    }
+
+    private static String fail(AtomicInteger calls) {
+        calls.incrementAndGet();
+        throw new IllegalStateException("upstream 503");
+    }
+
+    private static String sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "ok";
+    }
+}
@@ -0,0 +1,149 @@
+package com.safebuy.resilience;
+
+import com.safebuy.monitoring.SearchMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgerTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testSlowFirstCallIsHedgedAndFasterResultWins() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Hedger hedger = new Hedger("test", executor, Duration.ofMillis(50), Duration.ofMillis(50), 1.0,
+                new SearchMetrics(registry));
+        AtomicInteger attempts = new AtomicInteger();
+
+        // 첫 호출만 2초 걸리고 중복 호출은 바로 응답
+        long start = System.nanoTime();
+        String result = hedger.execute(() -> attempts.incrementAndGet() == 1 ? sleep(2_000, "slow") : "fast");
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals("fast", result);
+        assertEquals(2, attempts.get());
+        assertTrue(elapsedMs < 1_000, "중복 호출 결과를 기다리지 않았습니다: " + elapsedMs + "ms");
+        assertEquals(1.0, registry.get("safebuy.hedge.requests").tags("name", "test", "outcome", "sent").counter().count());
+        assertEquals(1.0, registry.get("safebuy.hedge.requests").tags("name", "test", "outcome", "won").counter().count());
+    }
+
+    @Test
+    void testFastCallsAreNotHedgedAndFailuresAreNotRetried() {
+        Hedger hedger = new Hedger("fast", executor, Duration.ofMillis(200), Duration.ofMillis(200), 1.0,
+                new SearchMetrics(new SimpleMeterRegistry()));
+        AtomicInteger attempts = new AtomicInteger();
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("ok", hedger.execute(() -> {
+                attempts.incrementAndGet();
+                return "ok";
+            }));
+        }
+        assertEquals(10, attempts.get());
+
+        // 지연 시간 안에 실패하면 중복 호출 없이 예외 전달
+        assertThrows(IllegalStateException.class, () -> hedger.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("upstream 500");
+        }));
+        assertEquals(11, attempts.get());
+    }
+
+    @Test
+    void testHedgeBudgetLimitsExtraCalls() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // 호출당 0.01개 적립, 처음 보유량 10개 → 느린 호출 12건 중 10건만 중복 호출
+        Hedger hedger = new Hedger("budget", executor, Duration.ofMillis(10), Duration.ofMillis(10), 0.01,
+                new SearchMetrics(registry));
+
+        for (int i = 0; i < 12; i++) {
+            assertEquals("ok", hedger.execute(() -> sleep(30, "ok")));
+        }
+        assertEquals(10.0, registry.get("safebuy.hedge.requests").tags("name", "budget", "outcome", "sent").counter().count());
+        assertEquals(2.0, registry.get("safebuy.hedge.requests").tags("name", "budget", "outcome", "budget_exhausted").counter().count());
+    }
+
+    @Test
+    void testHedgeHoldsItsOwnBulkheadPermitUntilLoserFinishes() throws Exception {
+        Hedger hedger = new Hedger("permit", executor, Duration.ofMillis(50), Duration.ofMillis(50), 1.0,
+                new SearchMetrics(new SimpleMeterRegistry()));
+        Bulkhead bulkhead = new Bulkhead("permit", 2, 0, Duration.ZERO, new SearchMetrics(new SimpleMeterRegistry()));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+
+        try {
+            String result = bulkhead.executeHolding(permit -> hedger.execute(
+                    () -> attempts.incrementAndGet() == 1 ? await(release, "slow") : "fast", permit), () -> "fallback");
+
+            assertEquals("fast", result);
+            // 진 쪽 첫 호출이 아직 실행 중이므로 자리 1개를 계속 잡고 있음
+            assertEquals(1, bulkhead.activeCount());
+        } finally {
+            release.countDown();
+        }
+        waitUntil(() -> bulkhead.activeCount() == 0);
+    }
+
+    @Test
+    void testHedgeIsSkippedWhenBulkheadIsFull() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Hedger hedger = new Hedger("full", executor, Duration.ofMillis(50), Duration.ofMillis(50), 1.0,
+                new SearchMetrics(registry));
+        Bulkhead bulkhead = new Bulkhead("full", 1, 0, Duration.ZERO, new SearchMetrics(new SimpleMeterRegistry()));
+        AtomicInteger attempts = new AtomicInteger();
+
+        // 자리가 1개뿐이라 중복 호출을 보내지 않고 첫 호출을 기다림
+        String result = bulkhead.executeHolding(permit -> hedger.execute(() -> {
+            attempts.incrementAndGet();
+            return sleep(300, "slow");
+        }, permit), () -> "fallback");
+
+        assertEquals("slow", result);
+        assertEquals(1, attempts.get());
+        assertEquals(0, bulkhead.activeCount());
+        assertEquals(1.0, registry.get("safebuy.hedge.requests").tags("name", "full", "outcome", "bulkhead_full").counter().count());
+    }
+
+    // 내부 메서드
+    private static String sleep(long millis, String value) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+
+    private static String await(CountDownLatch latch, String value) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,106 @@
+package com.safebuy.service;
+
+import com.safebuy.dto.AlternativeProductDto;
+import com.safebuy.entity.RecallProduct;
+import com.safebuy.loadtest.StubApiServer;
+import com.safebuy.loadtest.StubApiTestSupport;
+import com.safebuy.repository.RecallAlternativeRepository;
+import com.safebuy.repository.RecallProductRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 수집 후 대체 상품 미리 조회 → 검색 시 저장 결과 우선 사용, 일부/빈 결과는 재사용하지 않는지 검증 (네이버 API는 스텁 서버로 대체)
+class AlternativePrewarmServiceTest extends StubApiTestSupport {
+
+    @Autowired
+    private AlternativePrewarmService prewarmService;
+
+    @Autowired
+    private AlternativeProductService alternativeProductService;
+
+    @Autowired
+    private RecallProductRepository recallProductRepository;
+
+    @Autowired
+    private RecallAlternativeRepository alternativeRepository;
+
+    @Autowired
+    private RecallAlternativeStore alternativeStore;
+
+    @BeforeAll
+    static void stubRoutes() {
+        // "조회실패" 단어가 들어간 검색은 항상 오류 → 나머지 단어만 결과가 있는 일부 결과
+        STUB.route("naver-error", "GET", "/v1/search/shop.json", req -> req.contains("query=조회실패"),
+                        StubApiServer.Latency.fixed(0), 1.0, "stub/naver-shop.json")
+                .route("naver-shop", "GET", "/v1/search/shop.json", null,
+                        StubApiServer.Latency.fixed(0), 0, "stub/naver-shop.json");
+    }
+
+    @Test
+    void testPrewarmedAlternativesAreServedFromStore() {
+        RecallProduct recall = new RecallProduct();
+        recall.setRecallSn("PREWARM-0001");
+        recall.setProductNm("미리조회 유모차");
+        recall.setMakr("미리조회제조사");
+        recall.setCategory("육아");
+        recall.setRecallPublictBgnde("9999-12-31"); // 최신 공표순 첫 번째가 되도록
+        recallProductRepository.save(recall);
+        try {
+            AlternativePrewarmService.PrewarmResult first = prewarmService.prewarm();
+            assertTrue(first.stored() >= 1);
+            assertTrue(alternativeRepository.existsById(recall.getRecallSn()));
+
+            // 유효한 결과가 있으면 다시 실행해도 조회하지 않음
+            AlternativePrewarmService.PrewarmResult second = prewarmService.prewarm();
+            assertTrue(second.skipped() >= 1);
+
+            int calls = STUB.stats().get("naver-shop").count();
+            List<AlternativeProductDto> alternatives = alternativeProductService.findAlternatives(recall);
+            assertFalse(alternatives.isEmpty());
+            assertEquals(calls, STUB.stats().get("naver-shop").count(), "저장된 결과가 있는데 네이버 API가 호출되었습니다.");
+        } finally {
+            alternativeRepository.deleteById(recall.getRecallSn());
+            recallProductRepository.deleteById(recall.getRecallSn());
+        }
+    }
+
+    @Test
+    void testPartialLookupIsNotStored() {
+        RecallProduct recall = new RecallProduct();
+        recall.setRecallSn("PREWARM-0002");
+        recall.setProductNm("조회실패 유모차");
+        recall.setMakr("미리조회제조사");
+        recall.setCategory("육아");
+        recall.setRecallPublictBgnde("9999-12-31");
+        recallProductRepository.save(recall);
+        try {
+            AlternativePrewarmService.PrewarmResult result = prewarmService.prewarm();
+
+            assertTrue(result.failed() >= 1);
+            assertTrue(STUB.stats().get("naver-error").count() >= 1);
+            assertFalse(alternativeRepository.existsById(recall.getRecallSn()),
+                    "일부 키워드 조회가 실패한 결과가 저장되었습니다.");
+        } finally {
+            alternativeRepository.findById(recall.getRecallSn()).ifPresent(alternativeRepository::delete);
+            recallProductRepository.deleteById(recall.getRecallSn());
+        }
+    }
+
+    @Test
+    void testStoredEmptyResultIsTreatedAsMiss() {
+        String recallSn = "PREWARM-0003";
+        alternativeStore.save(recallSn, List.of());
+        try {
+            assertTrue(alternativeStore.find(recallSn).isEmpty(), "저장된 빈 결과가 적중으로 사용되었습니다.");
+            assertTrue(alternativeStore.freshRecallSns(List.of(recallSn)).isEmpty(),
+                    "저장된 빈 결과 때문에 미리 조회 대상에서 빠졌습니다.");
+        } finally {
+            alternativeRepository.deleteById(recallSn);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.safebuy.service;
+
+import com.safebuy.dto.AlternativeProductDto;
+import com.safebuy.loadtest.StubApiServer;
+import com.safebuy.loadtest.StubApiTestSupport;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 네이버 검색 결과 캐시/동시 요청 합치기 검증 (네이버 API는 스텁 서버로 대체)
+class AlternativeProductServiceCacheTest extends StubApiTestSupport {
+
+    @Autowired
+    private AlternativeProductService service;
+
+    @BeforeAll
+    static void stubRoutes() {
+        STUB.route("naver-shop", "GET", "/v1/search/shop.json", null,
+                StubApiServer.Latency.fixed(300), 0, "stub/naver-shop.json");
+    }
+
+    @Test
+    void testRepeatedLookupIsServedFromCache() {
+        List<AlternativeProductDto> first = service.findAlternatives("캐시테스트 유아침대", "유아침대", "아가방");
+        int calls = STUB.stats().get("naver-shop").count();
+        List<AlternativeProductDto> second = service.findAlternatives("캐시테스트 유아침대", "유아침대", "아가방");
+
+        assertFalse(first.isEmpty());
+        assertEquals(first.size(), second.size());
+        assertEquals(calls, STUB.stats().get("naver-shop").count(), "두 번째 조회에서 네이버 API가 다시 호출되었습니다.");
+        // 제조사 제외 필터는 캐시 이후에 적용
+        assertTrue(first.stream().noneMatch(dto -> "아가방".equals(dto.getMaker())));
+        assertTrue(service.cacheHitRatio() > 0);
+    }
+
+    @Test
+    void testConcurrentLookupsAreCoalesced() throws Exception {
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        int before = STUB.stats().get("naver-shop").count();
+        try {
+            List<Future<List<AlternativeProductDto>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(pool.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+                    return service.findAlternatives("동시요청테스트", "유아가구", "꿈비");
+                }));
+            }
+            for (Future<List<AlternativeProductDto>> f : futures) {
+                assertFalse(f.get().isEmpty());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(before + 1, STUB.stats().get("naver-shop").count(), "동시 요청이 하나로 합쳐지지 않았습니다.");
+    }
+}
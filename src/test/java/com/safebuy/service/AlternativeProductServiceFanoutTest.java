@@ -0,0 +1,70 @@
+package com.safebuy.service;
+
+import com.safebuy.dto.AlternativeProductDto;
+import com.safebuy.loadtest.StubApiServer;
+import com.safebuy.loadtest.StubApiTestSupport;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 전체 제품명 검색 결과가 없을 때 단어별 네이버 검색을 병렬로 실행하고 마감 시간을 지키는지 검증
+// (병렬도 4, 마감 1500ms는 StubApiTestSupport 공통 속성)
+class AlternativeProductServiceFanoutTest extends StubApiTestSupport {
+
+    @Autowired
+    private AlternativeProductService service;
+
+    @BeforeAll
+    static void stubRoutes() {
+        // 공백이 포함된 전체 제품명 검색은 결과 없음 → 단어별 검색으로 넘어감
+        STUB.route("naver-full-name", "GET", "/v1/search/shop.json", req -> req.contains("query=병렬A ")
+                                || req.contains("query=마감느림 ") || req.contains("query=차례01 "),
+                        StubApiServer.Latency.fixed(50), 0, "stub/naver-shop-empty.json")
+                .route("naver-lane", "GET", "/v1/search/shop.json", req -> req.contains("query=차례"),
+                        StubApiServer.Latency.fixed(900), 0, "stub/naver-shop.json")
+                .route("naver-slow", "GET", "/v1/search/shop.json", req -> req.contains("query=마감느림&"),
+                        StubApiServer.Latency.fixed(4_000), 0, "stub/naver-shop.json")
+                .route("naver-keyword", "GET", "/v1/search/shop.json", null,
+                        StubApiServer.Latency.fixed(300), 0, "stub/naver-shop.json");
+    }
+
+    @Test
+    void testKeywordsAreSearchedConcurrently() {
+        // 단어 6개 x 300ms: 순차 실행이면 1.8초, 4개씩 병렬이면 약 0.6초
+        long start = System.nanoTime();
+        List<AlternativeProductDto> results =
+                service.findAlternatives("병렬A 병렬B 병렬C 병렬D 병렬E 병렬F", "유아가구", "꿈비");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertFalse(results.isEmpty());
+        assertEquals(results.size(), results.stream().map(AlternativeProductDto::getLink).distinct().count(),
+                "링크 기준 중복이 제거되지 않았습니다.");
+        assertTrue(elapsedMs < 1_200, "단어별 검색이 병렬로 실행되지 않았습니다: " + elapsedMs + "ms");
+    }
+
+    @Test
+    void testSlowKeywordIsDroppedAtDeadline() {
+        long start = System.nanoTime();
+        List<AlternativeProductDto> results = service.findAlternatives("마감느림 마감빠름", "유아가구", "꿈비");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // 느린 키워드(4초)는 기다리지 않고, 빠른 키워드 결과만 반환
+        assertFalse(results.isEmpty());
+        assertTrue(elapsedMs < 2_500, "마감 시간 이후에도 응답을 기다렸습니다: " + elapsedMs + "ms");
+    }
+
+    @Test
+    void testLanesStopStartingKeywordsAfterDeadline() throws Exception {
+        // 단어 12개, lane 4개 x 3단어, 단어당 900ms: 마감(1500ms) 전에 시작한 두 번째 단어까지만 호출
+        service.findAlternatives("차례01 차례02 차례03 차례04 차례05 차례06 차례07 차례08 차례09 차례10 차례11 차례12",
+                "유아가구", "꿈비");
+
+        // 이미 보낸 호출이 끝날 때까지 기다린 뒤 세 번째 단어가 호출되지 않았는지 확인
+        Thread.sleep(1_500);
+        assertEquals(8, STUB.stats().get("naver-lane").count(), "마감 시간 이후에도 lane이 다음 단어를 호출했습니다.");
+    }
+}
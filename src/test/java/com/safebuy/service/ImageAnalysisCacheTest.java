@@ -0,0 +1,106 @@
+package com.safebuy.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safebuy.monitoring.SearchMetrics;
+import com.safebuy.repository.ImageAnalysisCacheRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 유사 이미지(dHash) 캐시 재사용 조건 검증
+// 공유 빈의 메모리 항목이 다른 테스트의 이미지와 섞이지 않도록 캐시 인스턴스를 따로 만들어 사용 (임계값은 기본값 3)
+@SpringBootTest
+class ImageAnalysisCacheTest {
+
+    private static final String SHA_PREFIX = "IMGCACHE-TEST-";
+    private static final String RESULT_A = "{\"productName\":\"유아침대\",\"manufacturer\":\"제조사A\",\"modelName\":\"A-1\"}";
+    private static final String RESULT_B = "{\"productName\":\"보행기\",\"manufacturer\":\"제조사B\",\"modelName\":\"B-1\"}";
+    // 다른 테스트의 이미지와 가까울 일이 없는 비트 패턴
+    private static final long BASE_HASH = 0x5A5A_3C3C_0F0F_A5A5L;
+
+    @Autowired
+    private ImageAnalysisCacheRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SearchMetrics searchMetrics;
+
+    private final List<String> savedShas = new ArrayList<>();
+    private ImageAnalysisCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ImageAnalysisCache(repository, objectMapper, searchMetrics);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        ReflectionTestUtils.setField(cache, "hammingThreshold", 3);
+        ReflectionTestUtils.setField(cache, "touchIntervalMinutes", 60L);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAllById(savedShas);
+        savedShas.clear();
+    }
+
+    @Test
+    void testNearDuplicateReusesResult() {
+        put("A", BASE_HASH, RESULT_A);
+
+        assertEquals(RESULT_A, cache.find(key("Q", BASE_HASH ^ 0b11L)));
+    }
+
+    @Test
+    void testDistinctProductBeyondThresholdIsMiss() {
+        put("A", BASE_HASH, RESULT_A);
+
+        // 배경이 같은 다른 제품 사진 수준의 거리 (ImageHashTest 기준 6)
+        assertNull(cache.find(key("Q", BASE_HASH ^ 0b111111L)));
+    }
+
+    @Test
+    void testAmbiguousNearMatchIsMiss() {
+        put("A", BASE_HASH, RESULT_A);
+        put("B", BASE_HASH ^ 0b1111L, RESULT_B);
+
+        // A와 거리 1, B와 거리 3: 둘 다 임계값 이내이고 결과가 다르므로 재사용하지 않음
+        assertNull(cache.find(key("Q", BASE_HASH ^ 0b1L)));
+        // 정확 일치(SHA-256)는 그대로 사용
+        assertEquals(RESULT_A, cache.find(key("A", BASE_HASH)));
+    }
+
+    @Test
+    void testHitsAreWrittenBackOncePerTouchInterval() {
+        put("A", BASE_HASH, RESULT_A);
+
+        // 저장 직후라 갱신 간격이 지나지 않음 → 적중해도 테이블은 그대로
+        cache.find(key("A", BASE_HASH));
+        cache.find(key("A", BASE_HASH));
+        assertEquals(0, repository.findById(SHA_PREFIX + "A").orElseThrow().getHitCount());
+
+        // 간격이 지나면 다음 적중 때 모아 둔 횟수까지 한 번에 반영
+        ReflectionTestUtils.setField(cache, "touchIntervalMinutes", 0L);
+        cache.find(key("A", BASE_HASH));
+        assertEquals(3, repository.findById(SHA_PREFIX + "A").orElseThrow().getHitCount());
+    }
+
+    // 내부 메서드
+    private void put(String id, long dhash, String result) {
+        cache.put(key(id, dhash), result);
+        savedShas.add(SHA_PREFIX + id);
+    }
+
+    private ImageAnalysisCache.Key key(String id, long dhash) {
+        return new ImageAnalysisCache.Key(SHA_PREFIX + id, dhash);
+    }
+}
@@ -0,0 +1,156 @@
+package com.safebuy.service;
+
+import com.safebuy.loadtest.StubApiServer;
+import com.safebuy.loadtest.StubApiTestSupport;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 대용량 업로드 동시 분석 시 이미지 1건당 힙 사용량이 업로드 크기와 무관하게 일정한지 검증
+// - 디코딩할 수 없는 원본(HEIC 헤더 + 무작위 바이트)을 그대로 전송하는 경로 = 가장 큰 요청 본문
+// - 스레드별 할당 바이트(ThreadMXBean)로 측정: 할당량이 업로드 크기보다 훨씬 작으면 원본/base64를 통째로 들고 있지 않은 것
+// - 업로드는 임시 파일 기반 MultipartFile로 전달하고 getBytes()는 호출되면 실패하도록 함
+// 실행: ./gradlew loadTest (16 MB 임시 파일 8개를 만들므로 기본 test 태스크에서는 제외)
+@Tag("load")
+class ImageAnalysisServiceMemoryTest extends StubApiTestSupport {
+
+    private static final int UPLOAD_BYTES = 16 * 1024 * 1024;
+    private static final int CONCURRENT_UPLOADS = 8;
+
+    @Autowired
+    private ImageAnalysisService service;
+
+    @BeforeAll
+    static void stubRoutes() {
+        STUB.captureBodyUpTo(4 * 1024)
+                .route("openai-image", "POST", "/v1/chat/completions", null,
+                        StubApiServer.Latency.fixed(50), 0, "stub/openai-image-analysis.json");
+    }
+
+    @Test
+    void testConcurrentLargeUploadsUseBoundedHeap() throws Exception {
+        List<Path> uploads = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(CONCURRENT_UPLOADS);
+        try {
+            for (int i = 0; i < CONCURRENT_UPLOADS; i++) {
+                uploads.add(writeUpload(i));
+            }
+
+            CountDownLatch ready = new CountDownLatch(CONCURRENT_UPLOADS);
+            List<Future<Long>> allocations = new ArrayList<>();
+            for (Path upload : uploads) {
+                allocations.add(pool.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+                    long before = allocatedBytes();
+                    String result = service.analyzeImage(new FileMultipartFile(upload));
+                    long allocated = allocatedBytes() - before;
+                    assertNotNull(result);
+                    return allocated;
+                }));
+            }
+
+            for (Future<Long> allocation : allocations) {
+                long bytes = allocation.get();
+                System.out.printf("업로드 %,d bytes → 분석 스레드 할당 %,d bytes%n", UPLOAD_BYTES, bytes);
+                assertTrue(bytes < UPLOAD_BYTES / 4,
+                        "이미지 1건 처리 중 할당량이 업로드 크기에 비례합니다: " + bytes + " bytes");
+            }
+            // 원본 전체가 base64로 전송되었는지 (base64는 원본의 4/3)
+            long expectedMinimum = (long) CONCURRENT_UPLOADS * UPLOAD_BYTES / 3 * 4;
+            assertTrue(STUB.stats().get("openai-image").requestBytes() >= expectedMinimum);
+        } finally {
+            pool.shutdownNow();
+            for (Path upload : uploads) {
+                Files.deleteIfExists(upload);
+            }
+        }
+    }
+
+    // 내부 메서드
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static Path writeUpload(int seed) throws IOException {
+        Path file = Files.createTempFile("upload-" + seed + "-", ".heic");
+        Random random = new Random(seed);
+        byte[] chunk = new byte[64 * 1024];
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(new byte[]{0, 0, 0, 24, 'f', 't', 'y', 'p', 'h', 'e', 'i', 'c'});
+            for (int written = 12; written < UPLOAD_BYTES; written += chunk.length) {
+                random.nextBytes(chunk);
+                out.write(chunk, 0, Math.min(chunk.length, UPLOAD_BYTES - written));
+            }
+        }
+        return file;
+    }
+
+    // 임시 파일 기반 업로드 (서블릿 컨테이너가 디스크에 저장한 multipart 파일과 같은 형태)
+    private record FileMultipartFile(Path path) implements MultipartFile {
+
+        @Override
+        public String getName() {
+            return "image";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return path.getFileName().toString();
+        }
+
+        @Override
+        public String getContentType() {
+            return "image/heic";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return getSize() == 0;
+        }
+
+        @Override
+        public long getSize() {
+            try {
+                return Files.size(path);
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+
+        @Override
+        public byte[] getBytes() {
+            throw new UnsupportedOperationException("업로드 전체를 메모리로 읽으면 안 됩니다.");
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(path);
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.copy(path, dest.toPath());
+        }
+    }
+}
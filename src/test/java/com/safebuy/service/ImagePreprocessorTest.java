@@ -0,0 +1,110 @@
+package com.safebuy.service;
+
+import com.safebuy.util.ExifOrientation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 이미지 전처리(방향 보정/축소/재압축) 검증 (기본 설정: 긴 변 1024px, JPEG 품질 0.8)
+@SpringBootTest(classes = ImagePreprocessor.class)
+class ImagePreprocessorTest {
+
+    @Autowired
+    private ImagePreprocessor preprocessor;
+
+    @Test
+    void testLargePhotoIsRotatedAndDownscaled() throws Exception {
+        // 센서 기준 가로(4000x3000)로 저장되고 EXIF로 시계 90도 회전이 지정된 휴대폰 세로 사진
+        byte[] jpeg = withOrientation(encode(drawPhoto(4000, 3000), "jpg"), 6);
+        assertEquals(6, ExifOrientation.read(jpeg, jpeg.length));
+
+        ImagePreprocessor.Prepared prepared = prepare(jpeg, "image/jpeg");
+
+        assertTrue(prepared.reencoded());
+        assertEquals("image/jpeg", prepared.mimeType());
+        assertEquals(4000, prepared.originalWidth());
+        assertEquals(768, prepared.width());
+        assertEquals(1024, prepared.height());
+        assertTrue(prepared.bodyBytes() < jpeg.length / 4,
+                "전송 크기가 충분히 줄지 않았습니다: " + jpeg.length + " → " + prepared.bodyBytes());
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(jpeg)), prepared.sha256());
+        // 원본의 왼쪽 위(빨간 표시)가 회전 후 오른쪽 위로 이동
+        int topRight = prepared.image().getRGB(prepared.width() - 20, 20);
+        assertTrue(new Color(topRight).getRed() > 200 && new Color(topRight).getBlue() < 80);
+    }
+
+    @Test
+    void testSmallPngKeepsOriginalTypeWhenSmaller() throws Exception {
+        BufferedImage icon = new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB);
+        byte[] png = encode(icon, "png");
+
+        ImagePreprocessor.Prepared prepared = prepare(png, "application/octet-stream");
+
+        assertFalse(prepared.reencoded());
+        assertEquals("image/png", prepared.mimeType());
+        assertArrayEquals(png, prepared.body().getInputStream().readAllBytes());
+    }
+
+    @Test
+    void testUndecodableUploadIsSentAsIs() throws Exception {
+        byte[] heic = new byte[]{0, 0, 0, 24, 'f', 't', 'y', 'p', 'h', 'e', 'i', 'c', 0, 0, 0, 0};
+
+        ImagePreprocessor.Prepared prepared = prepare(heic, null);
+
+        assertFalse(prepared.reencoded());
+        assertEquals("image/heic", prepared.mimeType());
+        assertNull(prepared.image());
+        // 디코딩할 수 없어도 정확 일치용 해시는 계산됨
+        assertEquals(64, prepared.sha256().length());
+    }
+
+    // 내부 메서드
+    private ImagePreprocessor.Prepared prepare(byte[] upload, String contentType) throws Exception {
+        return preprocessor.prepare(new ByteArrayResource(upload), upload.length, contentType);
+    }
+
+    private BufferedImage drawPhoto(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.LIGHT_GRAY);
+        g.fillRect(0, 0, width, height);
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, width / 8, height / 8);
+        g.dispose();
+        return image;
+    }
+
+    private byte[] encode(BufferedImage image, String format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    // SOI 바로 뒤에 Orientation 태그 하나만 있는 EXIF(APP1) 세그먼트 삽입
+    private byte[] withOrientation(byte[] jpeg, int orientation) {
+        byte[] app1 = {
+                (byte) 0xFF, (byte) 0xE1, 0, 34,
+                'E', 'x', 'i', 'f', 0, 0,
+                'M', 'M', 0, 42, 0, 0, 0, 8,
+                0, 1,
+                0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, (byte) orientation, 0, 0,
+                0, 0, 0, 0
+        };
+        byte[] out = new byte[jpeg.length + app1.length];
+        System.arraycopy(jpeg, 0, out, 0, 2);
+        System.arraycopy(app1, 0, out, 2, app1.length);
+        System.arraycopy(jpeg, 2, out, 2 + app1.length, jpeg.length - 2);
+        return out;
+    }
+}
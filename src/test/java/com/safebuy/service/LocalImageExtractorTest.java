@@ -0,0 +1,56 @@
+package com.safebuy.service;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.MultiFormatWriter;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 바코드 로컬 추출 검증 (기본 설정: OCR 꺼짐)
+@SpringBootTest(classes = LocalImageExtractor.class)
+class LocalImageExtractorTest {
+
+    @Autowired
+    private LocalImageExtractor extractor;
+
+    @Test
+    void testReadsBarcodesFromProductPhoto() throws Exception {
+        // 전처리 후 크기(1024x768) 사진 안에 EAN-13 바코드와 모델번호가 든 QR 코드가 함께 찍힌 경우
+        BufferedImage photo = canvas(1024, 768);
+        Graphics2D g = photo.createGraphics();
+        g.drawImage(MatrixToImageWriter.toBufferedImage(
+                new MultiFormatWriter().encode("8801234567893", BarcodeFormat.EAN_13, 420, 160)), 60, 520, null);
+        g.drawImage(MatrixToImageWriter.toBufferedImage(
+                new MultiFormatWriter().encode("https://example.com/p/KB-1234A", BarcodeFormat.QR_CODE, 260, 260)), 680, 80, null);
+        g.dispose();
+
+        LocalImageExtractor.Extraction extraction = extractor.extract(photo);
+
+        assertEquals("8801234567893", extraction.barcodes().get(0), "GTIN이 가장 먼저 와야 합니다: " + extraction);
+        assertTrue(extraction.barcodes().contains("KB-1234A"), "QR 코드의 모델번호를 읽지 못했습니다: " + extraction);
+        assertEquals(List.of(), extraction.texts());
+    }
+
+    @Test
+    void testPhotoWithoutBarcodeIsEmpty() {
+        assertTrue(extractor.extract(canvas(800, 600)).isEmpty());
+        assertTrue(extractor.extract(null).isEmpty());
+    }
+
+    private BufferedImage canvas(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(new Color(235, 230, 220));
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+        return image;
+    }
+}
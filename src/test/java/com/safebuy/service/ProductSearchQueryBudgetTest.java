@@ -0,0 +1,105 @@
+package com.safebuy.service;
+
+import com.safebuy.dto.ProductSearchRequest;
+import com.safebuy.dto.ProductSearchResponse;
+import com.safebuy.entity.RecallProduct;
+import com.safebuy.loadtest.StubApiServer;
+import com.safebuy.loadtest.StubApiTestSupport;
+import com.safebuy.repository.RecallProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.safebuy.monitoring.QueryCountAssertions.assertMaxQueries;
+import static com.safebuy.monitoring.QueryCountAssertions.countQueries;
+import static org.junit.jupiter.api.Assertions.*;
+
+// 검색 경로별 DB 쿼리 수 회귀 테스트 (외부 API는 지연 없는 스텁 서버로 대체)
+// 후보 조합 루프가 바뀌어 쿼리 수가 늘어나면 여기서 실패함
+class ProductSearchQueryBudgetTest extends StubApiTestSupport {
+
+    private static final String SN_PREFIX = "QBUDGET-";
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private RecallProductRepository repository;
+
+    @Autowired
+    private RecallDictionaryService recallDictionaryService;
+
+    private final List<String> insertedIds = new ArrayList<>();
+
+    @BeforeAll
+    static void stubRoutes() {
+        StubApiServer.Latency none = StubApiServer.Latency.fixed(0);
+        // 테스트 데이터와 관련된 질의만 변형 후보를 돌려주고, 나머지는 빈 배열
+        STUB.route("openai-enhance-manufacturer", "POST", "/v1/chat/completions",
+                        body -> body.contains("Load Test"), none, 0, "stub/openai-enhance-manufacturer.json")
+                .route("openai-enhance-product", "POST", "/v1/chat/completions",
+                        body -> body.contains("로드테스트"), none, 0, "stub/openai-enhance-product.json")
+                .route("openai-enhance-empty", "POST", "/v1/chat/completions",
+                        null, none, 0, "stub/openai-enhance-empty.json")
+                .route("naver-shop", "GET", "/v1/search/shop.json", null, none, 0, "stub/naver-shop.json");
+    }
+
+    @BeforeEach
+    void insertRecalls() {
+        List<RecallProduct> rows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            RecallProduct p = new RecallProduct();
+            p.setRecallSn(SN_PREFIX + i);
+            p.setProductNm("로드테스트 유아침대 " + i);
+            p.setMakr("Load Test Baby Co");
+            p.setModlNmInfo("LT-" + (100 + i));
+            p.setRecallPublictBgnde("2024-01-01");
+            p.setShrtcomCn("쿼리 수 테스트용 리콜 데이터");
+            p.setCategory("기타");
+            rows.add(p);
+            insertedIds.add(p.getRecallSn());
+        }
+        repository.saveAll(rows);
+        recallDictionaryService.applyChanges(rows);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAllByIdInBatch(insertedIds);
+        insertedIds.clear();
+    }
+
+    @Test
+    void testMatchedSearchStaysWithinQueryBudget() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setProductName("로드테스트 유아침대");
+        request.setManufacturer("Load Test Baby Co");
+        request.setModelName("LT-100");
+
+        ProductSearchResponse response = assertMaxQueries(3, () -> productSearchService.searchProduct(request));
+        assertTrue(response.isFound());
+    }
+
+    @Test
+    void testUnmatchedSearchStaysWithinQueryBudget() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setProductName("존재하지않는제품");
+        request.setManufacturer("없는제조사");
+        request.setModelName("NONE-0");
+
+        // 확장 후보가 없으므로 단계 검색 없이 fallback 조회 1회
+        ProductSearchResponse response = assertMaxQueries(2, () -> productSearchService.searchProduct(request));
+        assertNotNull(response);
+    }
+
+    @Test
+    void testStatementsAreCountedAtJdbcLevel() {
+        int queries = countQueries(() -> repository.findByProductNmContainingIgnoreCase("로드테스트"));
+        assertEquals(1, queries);
+    }
+}
@@ -0,0 +1,123 @@
+package com.safebuy.service;
+
+import com.safebuy.dto.ProductSearchRequest;
+import com.safebuy.dto.ProductSearchResponse;
+import com.safebuy.entity.RecallProduct;
+import com.safebuy.loadtest.StubApiServer;
+import com.safebuy.loadtest.StubApiTestSupport;
+import com.safebuy.monitoring.RequestTiming;
+import com.safebuy.repository.RecallProductRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 같은 검색어로 동시에 들어온 검색 요청 합치기 검증 (외부 API는 스텁 서버로 대체)
+// 검색어 확장(OpenAI) 응답을 늦춰 먼저 들어온 요청이 검색 중일 때 나머지 요청이 합류하게 함
+class ProductSearchSingleFlightTest extends StubApiTestSupport {
+
+    private static final String RECALL_SN = "SFLIGHT-0";
+    private static final String PRODUCT_NAME = "동시검색 로드테스트 유아침대";
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private RecallProductRepository repository;
+
+    @Autowired
+    private RecallDictionaryService recallDictionaryService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void stubRoutes() {
+        STUB.route("openai-enhance", "POST", "/v1/chat/completions", null,
+                        StubApiServer.Latency.fixed(300), 0, "stub/openai-enhance-product.json")
+                .route("naver-shop", "GET", "/v1/search/shop.json", null,
+                        StubApiServer.Latency.fixed(0), 0, "stub/naver-shop.json");
+    }
+
+    @BeforeEach
+    void insertRecall() {
+        RecallProduct p = new RecallProduct();
+        p.setRecallSn(RECALL_SN);
+        p.setProductNm(PRODUCT_NAME);
+        p.setMakr("Load Test Baby Co");
+        p.setModlNmInfo("SF-100");
+        p.setRecallPublictBgnde("2024-01-01");
+        p.setShrtcomCn("동시 검색 테스트용 리콜 데이터");
+        p.setCategory("기타");
+        repository.save(p);
+        recallDictionaryService.applyChanges(List.of(p));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAllByIdInBatch(List.of(RECALL_SN));
+    }
+
+    @Test
+    void testConcurrentIdenticalSearchesShareOneCandidateSearch() throws Exception {
+        int threads = 6;
+        DistributionSummary searched = meterRegistry.get("safebuy.search.candidates").tag("kind", "searched").summary();
+        long recordedBefore = searched.count();
+        int enhanceBefore = STUB.stats().get("openai-enhance").count();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        List<Result> results = new ArrayList<>();
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(pool.submit(() -> {
+                    ProductSearchRequest request = new ProductSearchRequest();
+                    request.setProductName(PRODUCT_NAME);
+                    ready.countDown();
+                    ready.await();
+                    RequestTiming timing = RequestTiming.start();
+                    try {
+                        ProductSearchResponse response = productSearchService.searchProduct(request);
+                        return new Result(response, timing.toHeaderValue());
+                    } finally {
+                        RequestTiming.end();
+                    }
+                }));
+            }
+            for (Future<Result> f : futures) {
+                results.add(f.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // 검색 단계(확장 호출 + 후보 DB 검색)는 먼저 들어온 요청 1건만 실행하고 후보 수도 그 요청만 기록
+        assertEquals(enhanceBefore + 1, STUB.stats().get("openai-enhance").count(), "동시 검색이 하나로 합쳐지지 않았습니다.");
+        assertEquals(recordedBefore + 1, searched.count(), "합류한 요청의 후보 수가 기록되었습니다.");
+
+        // 나머지 요청은 Server-Timing에 합류 여부가 표시되고 같은 결과를 받음
+        long coalesced = results.stream().filter(r -> r.serverTiming().contains("search;desc=\"coalesced\"")).count();
+        assertEquals(threads - 1, coalesced, "Server-Timing: " + results);
+        ProductSearchResponse first = results.get(0).response();
+        assertTrue(results.stream().allMatch(r -> r.response().isFound() == first.isFound()
+                && Objects.equals(r.response().getProductName(), first.getProductName())));
+    }
+
+    // 요청 1건의 응답과 Server-Timing 헤더 값
+    private record Result(ProductSearchResponse response, String serverTiming) {
+    }
+}
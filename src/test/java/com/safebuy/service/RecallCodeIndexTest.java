@@ -0,0 +1,100 @@
+package com.safebuy.service;
+
+import com.safebuy.dto.ProductSearchRequest;
+import com.safebuy.dto.ProductSearchResponse;
+import com.safebuy.entity.RecallProduct;
+import com.safebuy.repository.RecallProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 수집 시 모델명 정보 토큰화 → 코드 인덱스 정확 일치 조회 → 이름 부분 일치보다 우선 매칭 검증
+@SpringBootTest
+class RecallCodeIndexTest {
+
+    @Autowired
+    private RecallPageWriter pageWriter;
+
+    @Autowired
+    private RecallCodeIndex codeIndex;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private RecallProductRepository recallProductRepository;
+
+    @Test
+    void testModelCodeResolvesAheadOfNameMatch() {
+        RecallProduct coded = recall("CODEIDX-0001", "접이식 보행기", "모델명: CX-9001A / cx-9001b, 바코드 8801234567893");
+        RecallProduct named = recall("CODEIDX-0002", "코드검색 유모차", "ZZ1");
+        pageWriter.write(List.of(coded, named));
+        try {
+            // 하이픈/대소문자, UPC-A·EAN-13 표기 차이와 무관하게 정확 일치
+            assertEquals(List.of("CODEIDX-0001"), codeIndex.lookup("cx9001a"));
+            assertEquals(List.of("CODEIDX-0001"), codeIndex.lookup("cx-9001b 제품"));
+            assertEquals(List.of("CODEIDX-0001"), codeIndex.lookup("08801234567893"));
+            assertTrue(codeIndex.contains("8801234567893"));
+            assertEquals(List.of(), codeIndex.lookup("CX-9001"));
+
+            // 제품명만 보면 다른 리콜이 걸리지만 모델번호가 일치하는 리콜이 우선
+            ProductSearchRequest request = new ProductSearchRequest();
+            request.setProductName("코드검색 유모차");
+            request.setModelName("CX-9001A");
+            ProductSearchResponse response = productSearchService.searchProgressive(request).recall();
+            assertTrue(response.isFound());
+            assertEquals("접이식 보행기", response.getProductName());
+
+            // 모델명 정보가 바뀌면 빠진 코드는 인덱스에서도 빠짐
+            coded.setModlNmInfo("CX-9002C");
+            pageWriter.write(List.of(coded));
+            assertEquals(List.of(), codeIndex.lookup("CX-9001A"));
+            assertEquals(List.of("CODEIDX-0001"), codeIndex.lookup("CX-9002C"));
+        } finally {
+            coded.setModlNmInfo("");
+            named.setModlNmInfo("");
+            codeIndex.applyChanges(List.of(coded, named));
+            recallProductRepository.deleteAllById(List.of(coded.getRecallSn(), named.getRecallSn()));
+        }
+    }
+
+    @Test
+    void testProductNameFallsBackToGtinOnly() {
+        RecallProduct coded = recall("CODEIDX-0003", "접이식 아기욕조", "모델: BT300, 바코드 8801234567893");
+        RecallProduct named = recall("CODEIDX-0004", "코드검색 아기욕조 BT300", "ZZ2");
+        pageWriter.write(List.of(coded, named));
+        try {
+            // 제품명에 든 모델번호 모양 단어는 코드 조회에 쓰지 않고, 체크 디지트가 맞는 GTIN만 사용
+            assertEquals(List.of(), codeIndex.lookupGtins("코드검색 아기욕조 BT300"));
+            assertEquals(List.of(), codeIndex.lookupGtins("아기욕조 8801234567890"));
+            assertEquals(List.of("CODEIDX-0003"), codeIndex.lookupGtins("아기욕조 8801234567893"));
+
+            // 모델명 입력 없이 제품명만 있으면 이름이 맞는 리콜이 우선 (제품명 속 BT300으로 다른 리콜을 고르지 않음)
+            ProductSearchRequest request = new ProductSearchRequest();
+            request.setProductName("코드검색 아기욕조 BT300");
+            ProductSearchResponse response = productSearchService.searchProgressive(request).recall();
+            assertTrue(response.isFound());
+            assertEquals("코드검색 아기욕조 BT300", response.getProductName());
+        } finally {
+            coded.setModlNmInfo("");
+            named.setModlNmInfo("");
+            codeIndex.applyChanges(List.of(coded, named));
+            recallProductRepository.deleteAllById(List.of(coded.getRecallSn(), named.getRecallSn()));
+        }
+    }
+
+    private RecallProduct recall(String recallSn, String productNm, String modlNmInfo) {
+        RecallProduct p = new RecallProduct();
+        p.setRecallSn(recallSn);
+        p.setProductNm(productNm);
+        p.setMakr("코드인덱스제조사");
+        p.setModlNmInfo(modlNmInfo);
+        p.setRecallPublictBgnde("2024-05-01");
+        p.setShrtcomCn("결함내용");
+        return p;
+    }
+}
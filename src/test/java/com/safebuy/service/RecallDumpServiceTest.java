@@ -0,0 +1,162 @@
+package com.safebuy.service;
+
+import com.safebuy.entity.RecallIngestionJob;
+import com.safebuy.entity.RecallIngestionPage;
+import com.safebuy.loadtest.StubApiServer;
+import com.safebuy.loadtest.StubApiTestSupport;
+import com.safebuy.repository.RecallIngestionJobRepository;
+import com.safebuy.repository.RecallIngestionPageRepository;
+import com.safebuy.repository.RecallProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 리콜 API 원문 기록(capture)과 dump import 검증 (리콜 API는 스텁 서버로 대체)
+class RecallDumpServiceTest extends StubApiTestSupport {
+
+    private static final String RECALL_PATH = "/openapi/recall/contents/index.do";
+
+    @Autowired
+    private RecallService recallService;
+
+    @Autowired
+    private RecallDumpService dumpService;
+
+    @Autowired
+    private RecallIngestionJournalService journalService;
+
+    @Autowired
+    private RecallIngestionJobRepository jobRepository;
+
+    @Autowired
+    private RecallIngestionPageRepository pageRepository;
+
+    @Autowired
+    private RecallProductRepository recallProductRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final List<String> insertedSns = new ArrayList<>();
+
+    @BeforeAll
+    static void stubRoutes() {
+        // 1페이지(건수 확인 포함)는 정상, 2페이지는 중간에 끊긴 XML
+        STUB.route("recall-page-1", "GET", RECALL_PATH, request -> request.contains("pageNo=1&"),
+                        StubApiServer.Latency.fixed(0), 0, "stub/recall-page.xml")
+                .route("recall-page-2", "GET", RECALL_PATH, request -> request.contains("pageNo=2&"),
+                        StubApiServer.Latency.fixed(0), 0, "stub/recall-page-malformed.xml");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        recallProductRepository.deleteAllByIdInBatch(insertedSns);
+        insertedSns.clear();
+    }
+
+    @Test
+    void testCaptureIsCommittedOnlyAfterSuccessfulParse() throws Exception {
+        RecallIngestionJob job = journalService.createJob(RecallService.SyncMode.FULL.name());
+        insertedSns.add("DUMPTEST-0001");
+        try {
+            recallService.runJob(job);
+        } finally {
+            // 실패 페이지가 남은 PARTIAL 작업이 다른 테스트에서 재개되지 않도록 종료 처리
+            RecallIngestionJob stored = jobRepository.findById(job.getId()).orElseThrow();
+            stored.setStatus(RecallIngestionJob.Status.FAILED);
+            jobRepository.save(stored);
+        }
+
+        Path jobDir = DUMP_DIR.resolve("job-" + job.getId());
+        byte[] expected;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("stub/recall-page.xml")) {
+            expected = in.readAllBytes();
+        }
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(jobDir.resolve("page-00001.xml.gz")))) {
+            assertArrayEquals(expected, in.readAllBytes(), "기록된 원문이 받은 응답과 다릅니다.");
+        }
+        // 파싱에 실패한 페이지는 재시도를 모두 거친 뒤에도 기록 파일/임시 파일이 남지 않아야 함
+        assertFalse(Files.exists(jobDir.resolve("page-00002.xml.gz")));
+        assertFalse(Files.exists(jobDir.resolve("page-00002.xml.gz.part")));
+        assertEquals(3, STUB.stats().get("recall-page-2").count());
+    }
+
+    @Test
+    void testImportReadsPagesInFileOrder() throws Exception {
+        String name = "order-" + UUID.randomUUID();
+        Path dir = Files.createDirectories(DUMP_DIR.resolve(name));
+        // 파일명 순서: a.xml(1건) → b.xml(2건) → c.xml.gz(3건), 만든 순서와 다르게 기록
+        writeDump(dir.resolve("b.xml"), name, "B", 2);
+        writeDump(dir.resolve("c.xml.gz"), name, "C", 3);
+        writeDump(dir.resolve("a.xml"), name, "A", 1);
+
+        assertEquals(List.of(dir.resolve("a.xml"), dir.resolve("b.xml"), dir.resolve("c.xml.gz")),
+                dumpService.resolveDumpFiles(name));
+
+        RecallIngestionJob job = journalService.createJob(RecallService.SyncMode.IMPORT.name(), name);
+        recallService.runJob(job);
+
+        List<Integer> savedRowsByPage = pageRepository.findByJobIdAndStatusInOrderByPageNo(job.getId(),
+                        EnumSet.of(RecallIngestionPage.Status.COMPLETED)).stream()
+                .map(RecallIngestionPage::getSavedRows)
+                .toList();
+        assertEquals(List.of(1, 2, 3), savedRowsByPage);
+        assertEquals(RecallIngestionJob.Status.COMPLETED, jobRepository.findById(job.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testInvalidImportPathIsRejectedBeforeJobIsCreated() throws Exception {
+        long jobsBefore = jobRepository.count();
+
+        mockMvc.perform(post("/recalls/import").param("path", "../outside"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/recalls/import").param("path", "missing-" + UUID.randomUUID()))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(jobsBefore, jobRepository.count(), "잘못된 경로인데 수집 작업이 만들어졌습니다.");
+    }
+
+    // 내부 메서드
+    private void writeDump(Path file, String name, String page, int rows) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<response>\n<allCnt>6</allCnt>\n");
+        for (int i = 0; i < rows; i++) {
+            String sn = "DUMPTEST-" + name.substring(6, 14) + "-" + page + i;
+            insertedSns.add(sn);
+            sb.append("<content>\n")
+                    .append("<recallSn>").append(sn).append("</recallSn>\n")
+                    .append("<productNm>순서테스트 보행기 ").append(page).append(i).append("</productNm>\n")
+                    .append("<makr>Order Test Co</makr>\n")
+                    .append("<modlNmInfo>OT-").append(page).append(i).append("</modlNmInfo>\n")
+                    .append("<recallPublictBgnde>2000-01-01</recallPublictBgnde>\n")
+                    .append("<shrtcomCn>결함 ").append(i).append("</shrtcomCn>\n")
+                    .append("</content>\n");
+        }
+        sb.append("</response>");
+        byte[] xml = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        try (OutputStream out = file.toString().endsWith(".gz")
+                ? new GZIPOutputStream(Files.newOutputStream(file))
+                : Files.newOutputStream(file)) {
+            out.write(xml);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.safebuy.service;
+
+import com.safebuy.dto.IngestionJobStatusResponse;
+import com.safebuy.entity.RecallIngestionJob;
+import com.safebuy.loadtest.StubApiServer;
+import com.safebuy.loadtest.StubApiTestSupport;
+import com.safebuy.repository.RecallAlternativeRepository;
+import com.safebuy.repository.RecallIngestionJobRepository;
+import com.safebuy.repository.RecallProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 수집 작업 요청 → 백그라운드 실행 → 진행 상황 조회, 실행 중 합류, 미리 조회 중 새 작업 실행, 다른 방식의 남은 작업 거절 검증
+// 외부 리콜 API 대신 dump import 작업을 사용 (미리 조회의 네이버 API는 스텁 서버로 대체)
+class RecallIngestionJobServiceTest extends StubApiTestSupport {
+
+    private static final String SN_PREFIX = "JOBTEST-";
+
+    @Autowired
+    private RecallIngestionJobService jobService;
+
+    @Autowired
+    private RecallIngestionJournalService journalService;
+
+    @Autowired
+    private RecallIngestionJobRepository jobRepository;
+
+    @Autowired
+    private RecallProductRepository recallProductRepository;
+
+    @Autowired
+    private RecallAlternativeRepository alternativeRepository;
+
+    @Autowired
+    @Qualifier("ingestionExecutor")
+    private TaskExecutor ingestionExecutor;
+
+    @Autowired
+    @Qualifier("prewarmExecutor")
+    private ThreadPoolTaskExecutor prewarmExecutor;
+
+    private final List<String> insertedSns = new ArrayList<>();
+
+    @BeforeAll
+    static void stubRoutes() {
+        STUB.route("naver-shop", "GET", "/v1/search/shop.json", null,
+                StubApiServer.Latency.fixed(0), 0, "stub/naver-shop.json");
+    }
+
+    @AfterEach
+    void cleanUp() throws InterruptedException {
+        // 백그라운드 미리 조회가 다음 테스트와 겹치지 않도록 끝날 때까지 대기
+        awaitPrewarmIdle();
+        alternativeRepository.deleteAllByIdInBatch(insertedSns);
+        recallProductRepository.deleteAllByIdInBatch(insertedSns);
+        insertedSns.clear();
+    }
+
+    @Test
+    void testSubmittedImportRunsInBackgroundAndReportsStatus() throws Exception {
+        String sourcePath = writeDump(2, 3);
+
+        RecallIngestionJobService.SubmitResult submitted = jobService.submitImport(sourcePath);
+        assertFalse(submitted.merged());
+
+        IngestionJobStatusResponse status = awaitFinished(submitted.jobId());
+        assertEquals("COMPLETED", status.getStatus());
+        assertEquals("IMPORT", status.getSyncMode());
+        assertEquals(sourcePath, status.getSourcePath());
+        assertEquals(2, status.getPlannedPages());
+        assertEquals(2, status.getPagesCompleted());
+        assertEquals(0, status.getPagesFailed());
+        assertEquals(0, status.getPagesPending());
+        assertEquals(6, status.getRowsInserted());
+        assertNull(status.getEtaSeconds(), "끝난 작업에 ETA가 남아 있습니다.");
+        assertTrue(recallProductRepository.existsById(insertedSns.get(0)));
+    }
+
+    @Test
+    void testRequestWhileRunningMergesIntoActiveJob() throws Exception {
+        String sourcePath = writeDump(1, 2);
+
+        // 수집 스레드를 잡아 두어 작업이 큐에 대기한 상태(=실행 중)로 유지
+        CountDownLatch release = new CountDownLatch(1);
+        ingestionExecutor.execute(() -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        RecallIngestionJobService.SubmitResult first;
+        RecallIngestionJobService.SubmitResult second;
+        try {
+            first = jobService.submitImport(sourcePath);
+            second = jobService.submit(RecallService.SyncMode.INCREMENTAL);
+
+            assertTrue(jobService.getStatus(first.jobId()).orElseThrow().isRunning());
+        } finally {
+            release.countDown();
+        }
+
+        assertFalse(first.merged());
+        assertTrue(second.merged());
+        assertEquals(first.jobId(), second.jobId(), "실행 중인 작업이 있는데 새 작업이 만들어졌습니다.");
+
+        IngestionJobStatusResponse status = awaitFinished(first.jobId());
+        assertEquals("COMPLETED", status.getStatus());
+        assertEquals(2, status.getRowsInserted());
+    }
+
+    @Test
+    void testPrewarmDoesNotKeepCompletedJobRunning() throws Exception {
+        // 미리 조회 스레드를 잡아 두어 수집이 끝난 뒤의 미리 조회가 대기하는 상태로 만듦
+        CountDownLatch release = new CountDownLatch(1);
+        prewarmExecutor.execute(() -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try {
+            RecallIngestionJobService.SubmitResult first = jobService.submitImport(writeDump(1, 1));
+            assertEquals("COMPLETED", awaitFinished(first.jobId()).getStatus());
+
+            // 미리 조회가 끝나지 않았어도 새 요청은 끝난 작업에 합류하지 않고 새 작업으로 실행
+            RecallIngestionJobService.SubmitResult second = jobService.submitImport(writeDump(1, 1));
+            assertFalse(second.merged());
+            assertNotEquals(first.jobId(), second.jobId());
+            assertEquals("COMPLETED", awaitFinished(second.jobId()).getStatus());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testResumableJobOfAnotherModeIsNotResumed() {
+        RecallIngestionJob pending = journalService.createJob(RecallService.SyncMode.IMPORT.name(), "other-dump");
+        try {
+            RecallService.ResumableJobConflictException e = assertThrows(
+                    RecallService.ResumableJobConflictException.class,
+                    () -> jobService.submit(RecallService.SyncMode.FULL));
+            assertEquals(pending.getId(), e.getJob().getId());
+
+            RecallIngestionJob stored = jobRepository.findById(pending.getId()).orElseThrow();
+            assertEquals(RecallIngestionJob.Status.QUEUED, stored.getStatus());
+            assertEquals(0, stored.getResumeCount());
+        } finally {
+            pending.setStatus(RecallIngestionJob.Status.FAILED);
+            jobRepository.save(pending);
+        }
+    }
+
+    // 내부 메서드
+
+    // dump 폴더 아래에 페이지 파일을 만들고 dump-dir 기준 상대 경로를 반환
+    private String writeDump(int pages, int rowsPerPage) throws Exception {
+        String name = "job-test-" + UUID.randomUUID();
+        Path dir = Files.createDirectories(DUMP_DIR.resolve(name));
+        int allCnt = pages * rowsPerPage;
+        for (int page = 1; page <= pages; page++) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<response>\n<allCnt>")
+                    .append(allCnt).append("</allCnt>\n");
+            for (int i = 0; i < rowsPerPage; i++) {
+                String sn = SN_PREFIX + name.substring(9, 17) + "-" + page + "-" + i;
+                insertedSns.add(sn);
+                sb.append("<content>\n")
+                        .append("<recallSn>").append(sn).append("</recallSn>\n")
+                        .append("<productNm>작업테스트 보행기 ").append(page).append('-').append(i).append("</productNm>\n")
+                        .append("<makr>Job Test Co</makr>\n")
+                        .append("<modlNmInfo>JT-").append(page).append(i).append("</modlNmInfo>\n")
+                        .append("<recallPublictBgnde>2000-01-01</recallPublictBgnde>\n")
+                        .append("<shrtcomCn>결함 ").append(i).append("</shrtcomCn>\n")
+                        .append("</content>\n");
+            }
+            sb.append("</response>");
+            Files.writeString(dir.resolve(String.format("page-%05d.xml", page)), sb, StandardCharsets.UTF_8);
+        }
+        return name;
+    }
+
+    private void awaitPrewarmIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            if (prewarmExecutor.getActiveCount() == 0 && prewarmExecutor.getThreadPoolExecutor().getQueue().isEmpty()) return;
+            Thread.sleep(50);
+        }
+        fail("대체 상품 미리 조회가 10초 안에 끝나지 않았습니다.");
+    }
+
+    private IngestionJobStatusResponse awaitFinished(Long jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            IngestionJobStatusResponse status = jobService.getStatus(jobId).orElseThrow();
+            if (!status.isRunning()) return status;
+            Thread.sleep(50);
+        }
+        fail("작업 " + jobId + "이 10초 안에 끝나지 않았습니다.");
+        return null;
+    }
+}
@@ -0,0 +1,115 @@
+package com.safebuy.service;
+
+import com.safebuy.entity.RecallProduct;
+import com.safebuy.repository.RecallProductBulkWriter;
+import com.safebuy.repository.RecallProductRepository;
+import com.safebuy.util.RecallFingerprint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 내용 지문 기반 변경 감지 검증: 같은 행은 건너뛰고, 바뀐 행만 다시 저장/사전 반영
+@SpringBootTest
+class RecallPageWriterTest {
+
+    private static final String SN_PREFIX = "PAGEWRITER-";
+
+    @Autowired
+    private RecallProductRepository repository;
+
+    @Autowired
+    private RecallProductBulkWriter bulkWriter;
+
+    @Autowired
+    private CategoryClassifierService categoryClassifierService;
+
+    @Autowired
+    private RecallCodeIndex recallCodeIndex;
+
+    // applyChanges로 넘어온 리콜번호를 호출마다 기록하는 사전
+    private final List<List<String>> dictionaryCalls = new ArrayList<>();
+    private RecallPageWriter pageWriter;
+
+    @BeforeEach
+    void setUp() {
+        RecallDictionaryService recordingDictionary = new RecallDictionaryService(repository) {
+            @Override
+            public synchronized void applyChanges(Collection<RecallProduct> changed) {
+                dictionaryCalls.add(changed.stream().map(RecallProduct::getRecallSn).toList());
+                super.applyChanges(changed);
+            }
+        };
+        pageWriter = new RecallPageWriter(repository, bulkWriter, categoryClassifierService,
+                recordingDictionary, recallCodeIndex);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAllByIdInBatch(List.of(SN_PREFIX + "A", SN_PREFIX + "B", SN_PREFIX + "C"));
+    }
+
+    @Test
+    void testUnchangedRowIsSkipped() {
+        RecallPageWriter.PageResult first = pageWriter.write(List.of(recall("A", "결함 A"), recall("B", "결함 B")));
+        assertEquals(2, first.getInserted());
+
+        // 같은 내용을 다시 수집 (파서가 매번 새 객체를 만드는 것과 같게 새로 생성)
+        RecallPageWriter.PageResult second = pageWriter.write(List.of(recall("A", "결함 A"), recall("B", "결함 B")));
+
+        assertEquals(0, second.getInserted());
+        assertEquals(0, second.getUpdated());
+        assertEquals(2, second.getSkipped());
+        assertEquals(1, dictionaryCalls.size(), "변경 없는 페이지가 사전에 다시 반영되었습니다.");
+    }
+
+    @Test
+    void testChangedRowIsUpdatedAndHashRefreshed() {
+        pageWriter.write(List.of(recall("A", "결함 A")));
+        String oldHash = repository.findById(SN_PREFIX + "A").orElseThrow().getContentHash();
+
+        RecallProduct changed = recall("A", "결함 A (정정)");
+        RecallPageWriter.PageResult result = pageWriter.write(List.of(changed));
+
+        assertEquals(1, result.getUpdated());
+        assertEquals(0, result.getSkipped());
+        RecallProduct stored = repository.findById(SN_PREFIX + "A").orElseThrow();
+        assertEquals("결함 A (정정)", stored.getShrtcomCn());
+        assertNotEquals(oldHash, stored.getContentHash());
+        assertEquals(RecallFingerprint.of(changed), stored.getContentHash());
+    }
+
+    @Test
+    void testOnlyChangedRowsReachDictionary() {
+        pageWriter.write(List.of(recall("A", "결함 A"), recall("B", "결함 B")));
+        dictionaryCalls.clear();
+
+        // A: 그대로, B: 변경, C: 신규
+        RecallPageWriter.PageResult result = pageWriter.write(
+                List.of(recall("A", "결함 A"), recall("B", "결함 B (정정)"), recall("C", "결함 C")));
+
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getUpdated());
+        assertEquals(1, result.getSkipped());
+        assertEquals(List.of(List.of(SN_PREFIX + "B", SN_PREFIX + "C")), dictionaryCalls);
+    }
+
+    // 내부 메서드
+    private RecallProduct recall(String id, String defect) {
+        RecallProduct p = new RecallProduct();
+        p.setRecallSn(SN_PREFIX + id);
+        p.setProductNm("변경감지 유아침대 " + id);
+        p.setMakr("Change Detect Co");
+        p.setModlNmInfo("CD-" + id);
+        p.setRecallPublictBgnde("2024-01-01");
+        p.setShrtcomCn(defect);
+        return p;
+    }
+}
@@ -0,0 +1,68 @@
+package com.safebuy.service;
+
+import com.safebuy.loadtest.StubApiServer;
+import com.safebuy.loadtest.StubApiTestSupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 검색어 확장의 동시 요청 합치기 검증 (OpenAI API는 스텁 서버로 대체)
+class SearchQueryEnhancerServiceTest extends StubApiTestSupport {
+
+    @Autowired
+    private SearchQueryEnhancerService service;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void stubRoutes() {
+        STUB.route("openai-enhance", "POST", "/v1/chat/completions", null,
+                StubApiServer.Latency.fixed(300), 0, "stub/openai-enhance-product.json");
+    }
+
+    @Test
+    void testConcurrentCacheMissesShareOneCall() throws Exception {
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        int before = STUB.stats().get("openai-enhance").count();
+        List<List<String>> results = new ArrayList<>();
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                // 공백만 다른 입력도 정규화된 키가 같으면 합쳐짐
+                String query = i % 2 == 0 ? "동시확장 로드테스트" : "  동시확장   로드테스트 ";
+                futures.add(pool.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+                    return service.enhanceQuery(query, RecallDictionaryService.Field.PRODUCT);
+                }));
+            }
+            for (Future<List<String>> f : futures) {
+                results.add(f.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(before + 1, STUB.stats().get("openai-enhance").count(), "동시 요청이 하나로 합쳐지지 않았습니다.");
+        assertTrue(results.stream().allMatch(r -> r.equals(results.get(0))));
+        assertTrue(meterRegistry.get("safebuy.singleflight.coalesced").tag("name", "enhancer")
+                .functionCounter().count() >= 1);
+
+        // 이후 요청은 캐시에서 처리
+        service.enhanceQuery("동시확장 로드테스트", RecallDictionaryService.Field.PRODUCT);
+        assertEquals(before + 1, STUB.stats().get("openai-enhance").count());
+    }
+}
@@ -0,0 +1,93 @@
+package com.safebuy.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageHashTest {
+
+    @Test
+    void testNearDuplicatesAreWithinThreshold() throws Exception {
+        BufferedImage original = drawProduct(640, 480, Color.BLUE);
+        BufferedImage resized = drawProduct(320, 240, Color.BLUE);
+
+        long a = dHash(encode(original, "png"));
+        long b = dHash(encode(resized, "jpg")); // 크기 변경 + JPEG 재압축
+
+        assertTrue(ImageHash.hammingDistance(a, b) <= 3,
+                "같은 이미지의 dHash 거리가 너무 큽니다: " + ImageHash.hammingDistance(a, b));
+    }
+
+    @Test
+    void testDifferentImagesAreFarApart() throws Exception {
+        long a = dHash(encode(drawProduct(640, 480, Color.BLUE), "png"));
+        long b = dHash(encode(drawStripes(640, 480), "png"));
+
+        assertTrue(ImageHash.hammingDistance(a, b) > 6,
+                "다른 이미지의 dHash 거리가 너무 작습니다: " + ImageHash.hammingDistance(a, b));
+    }
+
+    @Test
+    void testDistinctProductsOnSameBackgroundExceedThreshold() throws Exception {
+        // 배경/조명이 같은 촬영 환경에서 찍은 서로 다른 제품 (원형 vs 사각형)
+        long oval = dHash(encode(drawProduct(640, 480, Color.BLUE), "png"));
+        long box = dHash(encode(drawBox(640, 480, Color.BLUE), "png"));
+
+        assertTrue(ImageHash.hammingDistance(oval, box) > 3,
+                "다른 제품 사진의 dHash 거리가 캐시 임계값 이내입니다: " + ImageHash.hammingDistance(oval, box));
+    }
+
+    // 내부 메서드
+
+    // 업로드 바이트를 디코딩한 이미지로 계산 (검색 시 ImagePreprocessor가 디코딩한 이미지를 쓰는 것과 같게)
+    private long dHash(byte[] bytes) throws Exception {
+        return ImageHash.dHash(ImageIO.read(new ByteArrayInputStream(bytes)));
+    }
+
+    private BufferedImage drawProduct(int width, int height, Color color) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, Color.WHITE, width, height, Color.GRAY));
+        g.fillRect(0, 0, width, height);
+        g.setColor(color);
+        g.fillOval(width / 4, height / 4, width / 2, height / 2);
+        g.dispose();
+        return image;
+    }
+
+    private BufferedImage drawBox(int width, int height, Color color) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, Color.WHITE, width, height, Color.GRAY));
+        g.fillRect(0, 0, width, height);
+        g.setColor(color);
+        g.fillRect(width / 4, height / 3, width / 2, height / 3);
+        g.dispose();
+        return image;
+    }
+
+    private BufferedImage drawStripes(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        for (int x = 0; x < width; x += 40) {
+            g.setColor((x / 40) % 2 == 0 ? Color.BLACK : Color.WHITE);
+            g.fillRect(x, 0, 40, height);
+        }
+        g.dispose();
+        return image;
+    }
+
+    private byte[] encode(BufferedImage image, String format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,174 @@
+package com.safebuy.util;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safebuy.dto.AlternativeProductDto;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NaverShopJsonParserTest {
+
+    private static final int ITEMS_PER_PAGE = 100;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void testParseMatchesPojoPath() throws Exception {
+        byte[] json = buildPage(ITEMS_PER_PAGE);
+
+        for (String category : List.of("", "유아가구", "없는카테고리")) {
+            List<AlternativeProductDto> streamed = NaverShopJsonParser.parse(new ByteArrayInputStream(json), category, null, 0);
+            List<AlternativeProductDto> pojo = parseWithPojo(json, category);
+            assertEquals(describe(pojo), describe(streamed), "스트리밍 파싱 결과가 기존 POJO 파싱 결과와 다릅니다. category=" + category);
+        }
+
+        AlternativeProductDto first = NaverShopJsonParser.parse(new ByteArrayInputStream(json), "", null, 0).get(0);
+        assertEquals("샘플 유아침대 0", first.getTitle());
+        assertEquals("1,234,000원", first.getPrice());
+    }
+
+    @Test
+    void testParseStopsAtLimit() throws Exception {
+        byte[] json = buildPage(ITEMS_PER_PAGE);
+
+        List<AlternativeProductDto> all = NaverShopJsonParser.parse(new ByteArrayInputStream(json), "", null, 0);
+        List<AlternativeProductDto> limited = NaverShopJsonParser.parse(new ByteArrayInputStream(json), "", null, 5);
+
+        assertEquals(5, limited.size());
+        assertEquals(describe(all.subList(0, 5)), describe(limited));
+    }
+
+    @Test
+    void testExcludedMakerDoesNotCountTowardLimit() throws Exception {
+        byte[] json = buildPage(ITEMS_PER_PAGE);
+
+        // 제외한 제조사 항목을 건너뛰고 다음 항목으로 limit을 채움
+        List<AlternativeProductDto> limited = NaverShopJsonParser.parse(new ByteArrayInputStream(json), "", "아가방", 5);
+        List<AlternativeProductDto> expected = NaverShopJsonParser.parse(new ByteArrayInputStream(json), "", null, 0).stream()
+                .filter(d -> !d.getMaker().equals("아가방"))
+                .limit(5)
+                .toList();
+
+        assertEquals(5, limited.size());
+        assertEquals(describe(expected), describe(limited));
+    }
+
+    // 기존 POJO 경로와 스트리밍 경로의 호출당 할당량/처리량 비교 (결과는 콘솔 출력)
+    // 실행: ./gradlew loadTest
+    @Test
+    @Tag("load")
+    void benchmarkStreamingAgainstPojo() throws Exception {
+        byte[] json = buildPage(ITEMS_PER_PAGE);
+        int warmup = 2_000;
+        int iterations = 10_000;
+
+        for (int i = 0; i < warmup; i++) {
+            parseWithPojo(json, "유아가구");
+            NaverShopJsonParser.parse(new ByteArrayInputStream(json), "유아가구", null, 30);
+        }
+
+        long pojoBytes = allocatedBytes();
+        long pojoStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            parseWithPojo(json, "유아가구");
+        }
+        long pojoNanos = System.nanoTime() - pojoStart;
+        pojoBytes = allocatedBytes() - pojoBytes;
+
+        long streamBytes = allocatedBytes();
+        long streamStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            NaverShopJsonParser.parse(new ByteArrayInputStream(json), "유아가구", null, 30);
+        }
+        long streamNanos = System.nanoTime() - streamStart;
+        streamBytes = allocatedBytes() - streamBytes;
+
+        System.out.printf("응답 크기: %d bytes, 반복: %d%n", json.length, iterations);
+        System.out.printf("POJO     : %.1f calls/s, %,d bytes/call%n", iterations / (pojoNanos / 1e9), pojoBytes / iterations);
+        System.out.printf("Streaming: %.1f calls/s, %,d bytes/call%n", iterations / (streamNanos / 1e9), streamBytes / iterations);
+    }
+
+    // 변경 전 AlternativeProductService의 파싱 경로 (전체 응답 → POJO → 필터 → 항목마다 정규식 컴파일)
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private static class AlternativeProduct {
+        public String title;
+        public String maker;
+        @JsonProperty("lprice")
+        public String price;
+        public String image;
+        public String link;
+        public String category1;
+        public String category2;
+        public String category3;
+        public String category4;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private static class AlternativeProductResponse {
+        public List<AlternativeProduct> items;
+    }
+
+    private List<AlternativeProductDto> parseWithPojo(byte[] body, String category) throws Exception {
+        AlternativeProductResponse response = MAPPER.readValue(body, AlternativeProductResponse.class);
+        List<AlternativeProductDto> results = new ArrayList<>();
+        for (AlternativeProduct item : response.items) {
+            if (item.maker == null || item.maker.isEmpty() || item.maker.equalsIgnoreCase("UNKNOWN")) continue;
+
+            if (!category.isEmpty()) {
+                if (!(item.category1.contains(category) ||
+                        item.category2.contains(category) ||
+                        item.category3.contains(category) ||
+                        item.category4.contains(category))) continue;
+            }
+
+            AlternativeProductDto dto = new AlternativeProductDto();
+            dto.setTitle(item.title.replaceAll("<[^>]*>", ""));
+            dto.setMaker(item.maker);
+            dto.setPrice(item.price.replaceAll("(\\d)(?=(\\d{3})+$)", "$1,") + "원");
+            dto.setImage(item.image);
+            dto.setLink(item.link);
+            results.add(dto);
+        }
+        return results;
+    }
+
+    private List<String> describe(List<AlternativeProductDto> dtos) {
+        return dtos.stream()
+                .map(d -> String.join("|", d.getTitle(), d.getMaker(), d.getPrice(), d.getImage(), d.getLink()))
+                .toList();
+    }
+
+    private long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private byte[] buildPage(int items) {
+        String[] makers = {"아가방", "꿈비", "UNKNOWN", "", "리틀타익스"};
+        String[] categories = {"유아가구", "유아침구", "완구"};
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"lastBuildDate\":\"Mon, 10 Jun 2024 12:00:00 +0900\",\"total\":1523,\"start\":1,\"display\":")
+                .append(items).append(",\"items\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"title\":\"<b>샘플</b> 유아침대 ").append(i).append("\"")
+                    .append(",\"link\":\"https://search.shopping.naver.com/gate.nhn?id=").append(80000000000L + i).append("\"")
+                    .append(",\"image\":\"https://shopping-phinf.pstatic.net/main_").append(i).append(".jpg\"")
+                    .append(",\"lprice\":\"").append(1_234_000 + i * 1000).append("\",\"hprice\":\"\"")
+                    .append(",\"mallName\":\"네이버\",\"productId\":\"").append(80000000000L + i).append("\",\"productType\":\"1\"")
+                    .append(",\"brand\":\"브랜드\",\"maker\":\"").append(makers[i % makers.length]).append("\"")
+                    .append(",\"category1\":\"출산/육아\",\"category2\":\"").append(categories[i % categories.length]).append("\"")
+                    .append(",\"category3\":\"침대\",\"category4\":\"\"}");
+        }
+        sb.append("]}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,53 @@
+package com.safebuy.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCodeExtractorTest {
+
+    @Test
+    void testGtinCheckDigit() {
+        assertTrue(ProductCodeExtractor.isGtin("8801234567893"));  // EAN-13
+        assertTrue(ProductCodeExtractor.isGtin("036000291452"));   // UPC-A
+        assertTrue(ProductCodeExtractor.isGtin("96385074"));       // EAN-8
+        assertFalse(ProductCodeExtractor.isGtin("8801234567890")); // 체크 디지트 불일치
+        assertFalse(ProductCodeExtractor.isGtin("88012345678"));   // 길이 불일치
+        assertFalse(ProductCodeExtractor.isGtin("88O1234567893")); // 숫자 아님
+    }
+
+    @Test
+    void testExtractFromOcrText() {
+        String text = "MODEL NO. kb-1234a\nMade in Korea 8 801234 567893\nSN 2024 / LOT A1";
+
+        List<String> codes = ProductCodeExtractor.extract(text, 0);
+
+        assertEquals(List.of("8801234567893", "KB-1234A"), codes);
+    }
+
+    @Test
+    void testExtractKeepsOrderAndLimit() {
+        List<String> codes = ProductCodeExtractor.extract("AB12 CD34 AB12 EF56/G", 2);
+
+        assertEquals(List.of("AB12", "CD34"), codes);
+        assertEquals(List.of(), ProductCodeExtractor.extract("유아용 침대 안전", 0));
+    }
+
+    @Test
+    void testGtinVariants() {
+        assertEquals(List.of("036000291452", "0036000291452"), ProductCodeExtractor.gtinVariants("036000291452"));
+        assertEquals(List.of("0036000291452", "036000291452"), ProductCodeExtractor.gtinVariants("0036000291452"));
+        assertEquals(List.of("KB-1234A"), ProductCodeExtractor.gtinVariants("KB-1234A"));
+    }
+
+    @Test
+    void testNormalizedCodesMatchAcrossNotations() {
+        assertEquals(Set.of("KB1234A", "00036000291452"),
+                ProductCodeExtractor.normalizedCodes("모델: kb-1234a (UPC 036000291452)"));
+        assertEquals("00036000291452", ProductCodeExtractor.normalize("0036000291452"));
+        assertEquals("KB1234A", ProductCodeExtractor.normalize("KB-1234A"));
+    }
+}
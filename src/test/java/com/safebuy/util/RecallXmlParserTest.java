@@ -0,0 +1,117 @@
+package com.safebuy.util;
+
+import com.safebuy.entity.RecallProduct;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.*;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecallXmlParserTest {
+
+    private static final int CONTENTS_PER_PAGE = 100;
+
+    @Test
+    void testParseMatchesDomPath() throws Exception {
+        byte[] xml = buildPage(CONTENTS_PER_PAGE);
+
+        List<RecallProduct> stax = new ArrayList<>();
+        int allCnt = RecallXmlParser.parse(new ByteArrayInputStream(xml), stax::add);
+        List<RecallProduct> dom = parseWithDom(xml);
+
+        assertEquals(12345, allCnt);
+        assertEquals(CONTENTS_PER_PAGE, stax.size());
+        assertEquals(dom, stax, "StAX 파싱 결과가 기존 DOM 파싱 결과와 다릅니다.");
+        assertEquals("결함 <0> & 설명", stax.get(0).getShrtcomCn());
+        assertNull(stax.get(0).getBsnmNm());
+    }
+
+    // 기존 DOM 경로와 StAX 경로의 페이지 파싱 처리량 비교 (결과는 콘솔 출력)
+    // 실행: ./gradlew loadTest
+    @Test
+    @Tag("load")
+    void benchmarkStaxAgainstDom() throws Exception {
+        byte[] xml = buildPage(CONTENTS_PER_PAGE);
+        int warmup = 200;
+        int iterations = 1_000;
+
+        for (int i = 0; i < warmup; i++) {
+            parseWithDom(xml);
+            RecallXmlParser.parse(new ByteArrayInputStream(xml), p -> { });
+        }
+
+        long domStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            parseWithDom(xml);
+        }
+        long domNanos = System.nanoTime() - domStart;
+
+        long staxStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            RecallXmlParser.parse(new ByteArrayInputStream(xml), p -> { });
+        }
+        long staxNanos = System.nanoTime() - staxStart;
+
+        System.out.printf("페이지 크기: %d bytes, 반복: %d%n", xml.length, iterations);
+        System.out.printf("DOM : %.1f pages/s%n", iterations / (domNanos / 1e9));
+        System.out.printf("StAX: %.1f pages/s%n", iterations / (staxNanos / 1e9));
+    }
+
+    // 변경 전 RecallService의 파싱 경로 (String 복사 → byte[] 재인코딩 → DOM → 필드별 getElementsByTagName)
+    private List<RecallProduct> parseWithDom(byte[] body) throws Exception {
+        String xmlContent = new String(body, StandardCharsets.UTF_8);
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        DocumentBuilder builder = factory.newDocumentBuilder();
+        Document doc = builder.parse(new ByteArrayInputStream(xmlContent.getBytes(StandardCharsets.UTF_8)));
+        doc.getDocumentElement().normalize();
+
+        NodeList nList = doc.getElementsByTagName("content");
+        List<RecallProduct> products = new ArrayList<>();
+        for (int i = 0; i < nList.getLength(); i++) {
+            Element e = (Element) nList.item(i);
+            RecallProduct product = new RecallProduct();
+            product.setRecallSn(getTagValue("recallSn", e));
+            product.setProductNm(getTagValue("productNm", e));
+            product.setBsnmNm(getTagValue("bsnmNm", e));
+            product.setMakr(getTagValue("makr", e));
+            product.setModlNmInfo(getTagValue("modlNmInfo", e));
+            product.setRecallPublictBgnde(getTagValue("recallPublictBgnde", e));
+            product.setShrtcomCn(getTagValue("shrtcomCn", e));
+            products.add(product);
+        }
+        return products;
+    }
+
+    private String getTagValue(String tag, Element element) {
+        NodeList nodeList = element.getElementsByTagName(tag);
+        if (nodeList.getLength() == 0) return null;
+        Node node = nodeList.item(0).getFirstChild();
+        return node != null ? node.getNodeValue().trim() : null;
+    }
+
+    private byte[] buildPage(int contents) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<response>\n<allCnt>12345</allCnt>\n");
+        for (int i = 0; i < contents; i++) {
+            sb.append("<content>\n")
+                    .append("<recallSn>").append(100000 + i).append("</recallSn>\n")
+                    .append("<productNm> 샘플제품 ").append(i).append(" </productNm>\n")
+                    .append("<bsnmNm/>\n")
+                    .append("<makr>Sample Maker Co., Ltd</makr>\n")
+                    .append("<modlNmInfo>MC").append(i).append(", 880123456789").append(i % 10).append("</modlNmInfo>\n")
+                    .append("<recallPublictBgnde>2024-01-").append(10 + i % 20).append("</recallPublictBgnde>\n")
+                    .append("<shrtcomCn>결함 &lt;").append(i).append("&gt; &amp; 설명</shrtcomCn>\n")
+                    .append("</content>\n");
+        }
+        sb.append("</response>");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
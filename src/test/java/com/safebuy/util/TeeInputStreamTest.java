@@ -0,0 +1,46 @@
+package com.safebuy.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeeInputStreamTest {
+
+    @Test
+    void testAllReadAndSkippedBytesAreCopied() throws Exception {
+        byte[] source = "<response><allCnt>3</allCnt></response>".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream branch = new ByteArrayOutputStream();
+
+        try (InputStream in = new TeeInputStream(new ByteArrayInputStream(source), branch)) {
+            assertEquals('<', in.read());
+            byte[] buf = new byte[8];
+            assertEquals(8, in.read(buf, 0, buf.length));
+            assertEquals(5, in.skip(5));
+            in.transferTo(OutputStream.nullOutputStream());
+            assertEquals(-1, in.read());
+        }
+
+        assertArrayEquals(source, branch.toByteArray(), "읽거나 건너뛴 바이트가 모두 기록되지 않았습니다.");
+    }
+
+    @Test
+    void testCloseDoesNotCloseBranch() throws Exception {
+        boolean[] closed = {false};
+        ByteArrayOutputStream branch = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        new TeeInputStream(new ByteArrayInputStream(new byte[]{1, 2, 3}), branch).close();
+
+        assertFalse(closed[0], "기록 확정/폐기 전에 branch가 닫혔습니다.");
+    }
+}